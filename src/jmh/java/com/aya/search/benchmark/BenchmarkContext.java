@@ -0,0 +1,53 @@
+package com.aya.search.benchmark;
+
+import com.aya.search.SearchApplication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Benchmark Context, the test application on H2 with the Student / Community schema, started once per fork.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private EntityManager entityManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        applicationContext = new SpringApplicationBuilder(SearchApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql=WARN")
+                .run();
+        entityManager = applicationContext.getBean(EntityManagerFactory.class).createEntityManager();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        applicationContext.close();
+    }
+
+    public EntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    public <T> T getBean(final Class<T> type) {
+        return applicationContext.getBean(type);
+    }
+}
@@ -0,0 +1,69 @@
+package com.aya.search.benchmark;
+
+import com.aya.search.model.SortOrder;
+import com.aya.search.util.FieldValueConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link FieldValueConverter#convertFieldValue} per target type.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldValueConverterBenchmark {
+
+    @Param({"SAME_TYPE", "PRIMITIVE", "LONG", "DOUBLE", "BIG_DECIMAL", "LOCAL_DATE", "LOCAL_DATE_TIME", "UUID", "ENUM"})
+    private String conversion;
+
+    private Object value;
+
+    private Class<?> fieldType;
+
+    @Setup
+    public void setUp() {
+        switch (conversion) {
+            case "SAME_TYPE" -> init(42L, Long.class);
+            case "PRIMITIVE" -> init("3.75", double.class);
+            case "LONG" -> init("42", Long.class);
+            case "DOUBLE" -> init(42, Double.class);
+            case "BIG_DECIMAL" -> init("1234.5678", BigDecimal.class);
+            case "LOCAL_DATE" -> init("2001-05-17", LocalDate.class);
+            case "LOCAL_DATE_TIME" -> init("2001-05-17T10:15:30", LocalDateTime.class);
+            case "UUID" -> init("3f2504e0-4f89-11d3-9a0c-0305e82c3301", UUID.class);
+            case "ENUM" -> init("DESC", SortOrder.class);
+            default -> throw new IllegalArgumentException(conversion);
+        }
+    }
+
+    @Benchmark
+    public Object convertFieldValue() {
+        return FieldValueConverter.convertFieldValue(value, fieldType);
+    }
+
+    private void init(final Object value, final Class<?> fieldType) {
+        this.value = value;
+        this.fieldType = fieldType;
+    }
+}
@@ -0,0 +1,78 @@
+package com.aya.search.benchmark;
+
+import com.aya.search.entity.Student;
+import com.aya.search.factory.predicate.PredicateFactory;
+import com.aya.search.factory.predicate.PredicateFactoryProducer;
+import com.aya.search.model.Operation;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link PredicateFactory} of every {@link Operation}, the values are strings
+ * so the conversion to the field type is included.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredicateFactoryBenchmark {
+
+    @Param
+    private Operation operation;
+
+    private PredicateFactory predicateFactory;
+
+    private CriteriaBuilder criteriaBuilder;
+
+    private Path<?> path;
+
+    private Object[] values;
+
+    @Setup
+    public void setUp(final BenchmarkContext context) {
+        predicateFactory = PredicateFactoryProducer.getFactory(operation);
+        criteriaBuilder = context.getEntityManager().getCriteriaBuilder();
+        Root<Student> root = criteriaBuilder.createQuery(Student.class).from(Student.class);
+        switch (operation) {
+            case LIKE, NOT_LIKE, IS_EMPTY_STRING, IS_NOT_EMPTY_STRING, STARTS_WITH, ENDS_WITH, CONTAINS,
+                 STARTS_WITH_IGNORE_CASE, ENDS_WITH_IGNORE_CASE, CONTAINS_IGNORE_CASE, EQUAL_IGNORE_CASE -> path = root.get("firstName");
+            case IS_TRUE, IS_FALSE -> path = root.get("isFullTime");
+            case IS_NULL, IS_NOT_NULL -> path = root.get("additionalInfo");
+            case IN, NOT_IN -> path = root.get("id");
+            default -> path = root.get("gpa");
+        }
+        values = switch (operation) {
+            case BETWEEN -> new Object[]{"2.5", "3.5"};
+            case IN, NOT_IN -> new Object[]{"1", "2", "3", "4", "5", "6", "7", "8"};
+            case IS_NULL, IS_NOT_NULL, IS_TRUE, IS_FALSE, IS_EMPTY_STRING, IS_NOT_EMPTY_STRING -> new Object[0];
+            case LIKE, NOT_LIKE, STARTS_WITH, ENDS_WITH, CONTAINS, STARTS_WITH_IGNORE_CASE, ENDS_WITH_IGNORE_CASE,
+                 CONTAINS_IGNORE_CASE, EQUAL_IGNORE_CASE -> new Object[]{"an"};
+            default -> new Object[]{"3.5"};
+        };
+    }
+
+    @Benchmark
+    public Predicate createPredicate() {
+        return predicateFactory.createPredicate(criteriaBuilder, path, values);
+    }
+}
@@ -0,0 +1,84 @@
+package com.aya.search.benchmark;
+
+import com.aya.search.entity.Student;
+import com.aya.search.executor.SearchExecutor;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Operation;
+import com.aya.search.repository.StudentRepository;
+import com.aya.search.specification.GeneralSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+import static com.aya.search.model.FilterGroup.Filter.and;
+import static com.aya.search.model.FilterGroup.Filter.or;
+import static com.aya.search.model.SortDataModel.Sort.asc;
+import static com.aya.search.model.SortDataModel.Sort.desc;
+
+/**
+ * End-to-end latency of a search on H2 with the Student / Community schema.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({"EQUAL", "JOIN", "NESTED"})
+    private String model;
+
+    private StudentRepository studentRepository;
+
+    private SearchExecutor<Student> searchExecutor;
+
+    private GeneralSpecification<Student> specification;
+
+    @Setup
+    public void setUp(final BenchmarkContext context) {
+        studentRepository = context.getBean(StudentRepository.class);
+        searchExecutor = new SearchExecutor<>(context.getEntityManager(), Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        switch (model) {
+            case "EQUAL" -> dataManipulationModel.setCriteria(condition("gpaLetter", Operation.EQUAL, "A"));
+            case "JOIN" -> {
+                dataManipulationModel.setCriteria(condition("community.teacher", Operation.LIKE, "Mr"));
+                dataManipulationModel.setSortModel(asc("community.className"), desc("gpa"));
+            }
+            case "NESTED" -> {
+                dataManipulationModel.setCriteria(and(condition("gpa", Operation.BETWEEN, 2.5, 4.0),
+                        or(condition("community.id", Operation.IN, 1, 2, 3), condition("firstName", Operation.LIKE, "a")),
+                        condition("isFullTime", Operation.IS_TRUE)));
+                dataManipulationModel.setSortModel(desc("gpa"));
+            }
+            default -> throw new IllegalArgumentException(model);
+        }
+        specification = new GeneralSpecification<>(dataManipulationModel);
+    }
+
+    @Benchmark
+    public List<Student> findAll() {
+        return studentRepository.findAll(specification);
+    }
+
+    @Benchmark
+    public boolean exists() {
+        return searchExecutor.exists(specification);
+    }
+}
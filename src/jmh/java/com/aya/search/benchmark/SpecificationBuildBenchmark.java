@@ -0,0 +1,87 @@
+package com.aya.search.benchmark;
+
+import com.aya.search.entity.Student;
+import com.aya.search.model.Condition;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.FilterGroup;
+import com.aya.search.model.Operation;
+import com.aya.search.specification.GeneralSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+import static com.aya.search.model.SortDataModel.Sort.asc;
+import static com.aya.search.model.SortDataModel.Sort.desc;
+
+/**
+ * Cost of {@link GeneralSpecification#toPredicate} against the depth and the width of the filter tree.
+ * A tree of depth {@code d} and width {@code w} holds {@code w^d} criteria, the groups alternate AND / OR.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecificationBuildBenchmark {
+
+    private static final String[] FIELDS = {"firstName", "lastName", "gpaLetter", "community.teacher", "community.className"};
+
+    @Param({"1", "2", "3"})
+    private int depth;
+
+    @Param({"2", "4", "8"})
+    private int width;
+
+    private GeneralSpecification<Student> specification;
+
+    private CriteriaBuilder criteriaBuilder;
+
+    @Setup
+    public void setUp(final BenchmarkContext context) {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(tree(depth, 0));
+        dataManipulationModel.setSortModel(desc("gpa"), asc("community.className"));
+        specification = new GeneralSpecification<>(dataManipulationModel);
+        criteriaBuilder = context.getEntityManager().getCriteriaBuilder();
+    }
+
+    @Benchmark
+    public Predicate toPredicate() {
+        CriteriaQuery<Student> query = criteriaBuilder.createQuery(Student.class);
+        Root<Student> root = query.from(Student.class);
+        return specification.toPredicate(root, query, criteriaBuilder);
+    }
+
+    private Filter tree(final int level, final int index) {
+        if (level == 0) {
+            return condition(FIELDS[index % FIELDS.length], Operation.EQUAL, "value" + index);
+        }
+        List<Filter> conditions = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            conditions.add(tree(level - 1, index * width + i));
+        }
+        return FilterGroup.Filter.group(level % 2 == 0 ? Condition.AND : Condition.OR, conditions);
+    }
+}
@@ -0,0 +1,223 @@
+package com.aya.search.cache;
+
+import com.aya.search.executor.SearchExecutor;
+import com.aya.search.model.CollectionFilter;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.FilterCriteria;
+import com.aya.search.model.FilterGroup;
+import com.aya.search.model.KeysetCursor;
+import com.aya.search.model.Operation;
+import com.aya.search.model.SortDataModel;
+import com.aya.search.optimizer.FilterOptimizer;
+import com.aya.search.specification.GeneralSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.EqualsAndHashCode;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Cached Search Executor.
+ *
+ * <p>Runs models through a {@link SearchExecutor} and keeps the results in a {@link ResultCache}. The key is the
+ * entity type, the result type, the page and the model after {@link FilterOptimizer}, so filters that only differ
+ * by nesting, duplicates or NOT placement share one result. Values are compared as given, {@code 1} and
+ * {@code "1"} are different keys.</p>
+ *
+ * <p>Pages of entities are cached as the primary keys of their rows and their total, a cache hit loads the rows
+ * by primary key in the order of the page, with their fetch paths, through the entity manager of the caller. So the
+ * entities are never shared between sessions and their associations are read again. Counts and projections are
+ * cached as they are, a hit runs no query, so changes that were not flushed yet are not seen. Once a session
+ * flushed changes, its searches bypass the cache until its transaction ends, see {@link ResultCacheInvalidator}.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public class CachedSearchExecutor<T> {
+
+    private final EntityManager entityManager;
+
+    private final Class<T> domainClass;
+
+    private final SearchExecutor<T> searchExecutor;
+
+    private final ResultCache resultCache;
+
+    /**
+     * create executor.
+     *
+     * @param entityManager entity manager
+     * @param domainClass   entity type
+     * @param resultCache   result cache
+     */
+    public CachedSearchExecutor(final EntityManager entityManager, final Class<T> domainClass, final ResultCache resultCache) {
+        this.entityManager = entityManager;
+        this.domainClass = domainClass;
+        this.searchExecutor = new SearchExecutor<>(entityManager, domainClass);
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * count matching rows {@link SearchExecutor#count(GeneralSpecification)}.
+     *
+     * @param dataManipulationModel model
+     * @return number of matching rows
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public long count(final DataManipulationModel dataManipulationModel) {
+        DataManipulationModel optimized = FilterOptimizer.optimize(entityManager.getMetamodel().managedType(domainClass), dataManipulationModel);
+        return get(new Key(domainClass, Long.class, true, optimized, Pageable.unpaged()), optimized,
+                () -> searchExecutor.count(new GeneralSpecification<>(optimized)));
+    }
+
+    /**
+     * find a page of matching entities {@link SearchExecutor#findAll(GeneralSpecification, Pageable)}, the primary keys
+     * of the page are cached and its entities are loaded again on a cache hit. Entities without a single identifier
+     * attribute are not cached.
+     *
+     * @param dataManipulationModel model
+     * @param pageable              pageable, its sort is ignored
+     * @return page of entities
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public Page<T> findAll(final DataManipulationModel dataManipulationModel, final Pageable pageable) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        DataManipulationModel optimized = FilterOptimizer.optimize(entityType, dataManipulationModel);
+        if (!entityType.hasSingleIdAttribute() || isPending()) {
+            return searchExecutor.findAll(new GeneralSpecification<>(optimized), pageable);
+        }
+        Key key = new Key(domainClass, domainClass, false, optimized, pageable);
+        Page<?> ids = (Page<?>) resultCache.get(key);
+        if (ids != null) {
+            return load(entityType, optimized, ids);
+        }
+        long generation = resultCache.getGeneration();
+        Page<T> page = searchExecutor.findAll(new GeneralSpecification<>(optimized), pageable);
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        resultCache.put(key, page.map(persistenceUnitUtil::getIdentifier), EntityDependencies.of(entityType, optimized), generation);
+        return page;
+    }
+
+    /**
+     * find a page of projections {@link SearchExecutor#findAll(GeneralSpecification, Class, Pageable)}.
+     *
+     * @param dataManipulationModel model
+     * @param resultClass           record or DTO with a constructor matching the projections
+     * @param pageable              pageable, its sort is ignored
+     * @param <R>                   result type
+     * @return page of results
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public <R> Page<R> findAll(final DataManipulationModel dataManipulationModel, final Class<R> resultClass, final Pageable pageable) {
+        DataManipulationModel optimized = FilterOptimizer.optimize(entityManager.getMetamodel().managedType(domainClass), dataManipulationModel);
+        return get(new Key(domainClass, resultClass, false, optimized, pageable), optimized,
+                () -> searchExecutor.findAll(new GeneralSpecification<>(optimized), resultClass, pageable));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> V get(final Key key, final DataManipulationModel optimized, final Supplier<V> loader) {
+        if (isPending()) {
+            return loader.get();
+        }
+        V value = (V) resultCache.get(key);
+        if (value == null) {
+            long generation = resultCache.getGeneration();
+            value = loader.get();
+            resultCache.put(key, value, EntityDependencies.of(entityManager.getMetamodel().managedType(domainClass), optimized), generation);
+        }
+        return value;
+    }
+
+    private boolean isPending() {
+        // the entity manager may be a shared proxy, the pending sessions are the sessions of the events
+        return resultCache.isPending(entityManager.unwrap(SessionImplementor.class).asSessionImplementor());
+    }
+
+    /**
+     * load the entities of cached primary keys in their order, a row deleted meanwhile is skipped.
+     */
+    private Page<T> load(final EntityType<T> entityType, final DataManipulationModel optimized, final Page<?> ids) {
+        if (ids.getContent().isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+        String idField = entityType.getId(entityType.getIdType().getJavaType()).getName();
+        DataManipulationModel page = new DataManipulationModel();
+        page.setCriteria(FilterCriteria.Condition.condition(idField, Operation.IN, ids.getContent().toArray()));
+        page.setFetches(optimized.getFetches());
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        Map<Object, T> entities = new HashMap<>();
+        for (T entity : searchExecutor.findAll(new GeneralSpecification<>(page))) {
+            entities.put(persistenceUnitUtil.getIdentifier(entity), entity);
+        }
+        List<T> content = ids.getContent().stream().map(entities::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+
+    /**
+     * cache key, the criteria, the cursor and the lists of the model are copied so later changes to the model
+     * do not change the key.
+     */
+    @EqualsAndHashCode
+    private static final class Key {
+
+        private final Class<?> domainClass;
+        private final Class<?> resultClass;
+        private final boolean count;
+        private final Filter criteria;
+        private final List<SortDataModel> sortDataModels;
+        private final KeysetCursor cursor;
+        private final List<String> projections;
+        private final List<String> fetches;
+        private final long offset;
+        private final int pageSize;
+
+        Key(final Class<?> domainClass,
+            final Class<?> resultClass,
+            final boolean count,
+            final DataManipulationModel dataManipulationModel,
+            final Pageable pageable) {
+            this.domainClass = domainClass;
+            this.resultClass = resultClass;
+            this.count = count;
+            this.criteria = copy(dataManipulationModel.getCriteria());
+            this.cursor = dataManipulationModel.getCursor() == null ? null : KeysetCursor.of(dataManipulationModel.getCursor().getValues().toArray());
+            // counts ignore the sorting, projections and fetches
+            this.sortDataModels = count ? List.of() : copy(dataManipulationModel.getSortDataModels());
+            this.projections = count ? List.of() : copy(dataManipulationModel.getProjections());
+            this.fetches = count ? List.of() : copy(dataManipulationModel.getFetches());
+            this.offset = pageable.isPaged() ? pageable.getOffset() : -1;
+            this.pageSize = pageable.isPaged() ? pageable.getPageSize() : -1;
+        }
+
+        private static <E> List<E> copy(final List<? extends E> list) {
+            return list == null ? List.of() : List.copyOf(list);
+        }
+
+        /**
+         * copy the values of the leaves and the conditions of the groups, an invalid group is kept as it is,
+         * its search fails and is not cached.
+         */
+        private static Filter copy(final Filter filter) {
+            if (filter instanceof FilterCriteria criteria) {
+                Object[] values = criteria.getFieldValue();
+                return FilterCriteria.Condition.condition(criteria.getFieldName(), criteria.getOperation(), values == null ? null : values.clone());
+            } else if (filter instanceof FilterGroup group && group.getConditions() != null
+                    && group.getConditions().stream().noneMatch(Objects::isNull)) {
+                return FilterGroup.Filter.group(group.getCondition(), group.getConditions().stream().map(Key::copy).toList());
+            } else if (filter instanceof CollectionFilter collectionFilter) {
+                return CollectionFilter.Elements.quantified(collectionFilter.getQuantifier(), collectionFilter.getPath(),
+                        copy(collectionFilter.getFilter()));
+            }
+            return filter;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.aya.search.cache;
+
+import com.aya.search.metamodel.FieldPath;
+import com.aya.search.metamodel.FieldPathRegistry;
+import com.aya.search.model.CollectionFilter;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.FilterCriteria;
+import com.aya.search.model.FilterGroup;
+import com.aya.search.model.SortDataModel;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entity Dependencies, the entity types a model reads: the root type and the targets of the associations
+ * on its filter, sort, projection and fetch paths.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+final class EntityDependencies {
+
+    private EntityDependencies() {
+    }
+
+    static Set<Class<?>> of(final ManagedType<?> managedType, final DataManipulationModel dataManipulationModel) {
+        Set<Class<?>> dependencies = new LinkedHashSet<>();
+        dependencies.add(managedType.getJavaType());
+        addFilter(dependencies, managedType, dataManipulationModel.getCriteria());
+        if (dataManipulationModel.getSortDataModels() != null) {
+            for (SortDataModel sortDataModel : dataManipulationModel.getSortDataModels()) {
+                addPath(dependencies, managedType, sortDataModel.getSortField());
+            }
+        }
+        addPaths(dependencies, managedType, dataManipulationModel.getProjections());
+        addPaths(dependencies, managedType, dataManipulationModel.getFetches());
+        return dependencies;
+    }
+
+    private static void addFilter(final Set<Class<?>> dependencies, final ManagedType<?> managedType, final Filter filter) {
+        if (filter instanceof FilterCriteria filterCriteria) {
+            addPath(dependencies, managedType, filterCriteria.getFieldName());
+        } else if (filter instanceof FilterGroup filterGroup && filterGroup.getConditions() != null) {
+            filterGroup.getConditions().forEach(condition -> addFilter(dependencies, managedType, condition));
+        } else if (filter instanceof CollectionFilter collectionFilter) {
+            FieldPath fieldPath = addPath(dependencies, managedType, collectionFilter.getPath());
+            if (fieldPath.getAttribute() instanceof PluralAttribute<?, ?, ?> pluralAttribute
+                    && pluralAttribute.getElementType() instanceof ManagedType<?> elementType) {
+                addFilter(dependencies, elementType, collectionFilter.getFilter());
+            }
+        }
+    }
+
+    private static void addPaths(final Set<Class<?>> dependencies, final ManagedType<?> managedType, final List<String> paths) {
+        if (paths != null) {
+            paths.forEach(path -> addPath(dependencies, managedType, path));
+        }
+    }
+
+    private static FieldPath addPath(final Set<Class<?>> dependencies, final ManagedType<?> managedType, final String path) {
+        FieldPath fieldPath = FieldPathRegistry.getFieldPath(managedType, path);
+        for (Attribute<?, ?> attribute : fieldPath.getAttributes()) {
+            if (attribute instanceof PluralAttribute<?, ?, ?> pluralAttribute) {
+                dependencies.add(pluralAttribute.getElementType().getJavaType());
+            } else if (attribute.isAssociation()) {
+                dependencies.add(attribute.getJavaType());
+            }
+        }
+        return fieldPath;
+    }
+}
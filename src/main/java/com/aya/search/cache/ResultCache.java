@@ -0,0 +1,132 @@
+package com.aya.search.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Result Cache.
+ *
+ * <p>Bounded store of search results used by {@link CachedSearchExecutor}. Results are evicted when the cache
+ * is full, least recently used first, and when their time to live is over. Every result records the entity
+ * types it was read from, {@link ResultCacheInvalidator} drops the results of an entity type when an entity of
+ * that type is inserted, updated or deleted. One cache may be shared by the executors of several entity types.</p>
+ *
+ * <p>A session that flushed changes it has not committed yet reads its own uncommitted rows, its searches neither
+ * read nor fill the cache until its transaction ends.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public class ResultCache {
+
+    private final int maximumSize;
+
+    private final long timeToLive;
+
+    private final LinkedHashMap<Object, Entry> entries;
+
+    /**
+     * incremented on every invalidation, a result loaded across an invalidation is not cached.
+     */
+    private long generation;
+
+    /**
+     * sessions with flushed changes that are not committed or rolled back yet.
+     */
+    private final Set<Object> pendingSessions = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /**
+     * create cache.
+     *
+     * @param resultCacheOptions result cache options
+     */
+    public ResultCache(final ResultCacheOptions resultCacheOptions) {
+        this.maximumSize = resultCacheOptions.getMaximumSize();
+        this.timeToLive = resultCacheOptions.getTimeToLive().toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Object, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * drop the results read from an entity type or one of its super types.
+     *
+     * @param entityClass entity type
+     */
+    public synchronized void invalidate(final Class<?> entityClass) {
+        generation++;
+        entries.values().removeIf(entry -> entry.dependencies.stream().anyMatch(dependency -> dependency.isAssignableFrom(entityClass)));
+    }
+
+    /**
+     * drop all results.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * get number of cached results, including the expired results not evicted yet.
+     *
+     * @return number of cached results
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized void addPending(final Object session) {
+        pendingSessions.add(session);
+    }
+
+    synchronized void removePending(final Object session) {
+        pendingSessions.remove(session);
+    }
+
+    synchronized boolean isPending(final Object session) {
+        return pendingSessions.contains(session);
+    }
+
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    synchronized Object get(final Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        } else if (System.nanoTime() - entry.loadedAt > timeToLive) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    synchronized void put(final Object key, final Object value, final Set<Class<?>> dependencies, final long loadGeneration) {
+        if (maximumSize > 0 && loadGeneration == generation) {
+            entries.put(key, new Entry(value, dependencies, System.nanoTime()));
+        }
+    }
+
+    /**
+     * cached result.
+     */
+    private static final class Entry {
+
+        private final Object value;
+        private final Set<Class<?>> dependencies;
+        private final long loadedAt;
+
+        Entry(final Object value, final Set<Class<?>> dependencies, final long loadedAt) {
+            this.value = value;
+            this.dependencies = dependencies;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
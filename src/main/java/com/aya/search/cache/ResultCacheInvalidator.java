@@ -0,0 +1,157 @@
+package com.aya.search.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Result Cache Invalidator.
+ *
+ * <p>Hibernate listener that drops the results of an entity type from a {@link ResultCache} when an entity of that
+ * type is inserted, updated or deleted. The results are dropped when the change is flushed, and again when it commits
+ * or rolls back, so results read by other transactions in between are not kept. From the flush until the end of its
+ * transaction the session making the change reads its own uncommitted rows, its searches bypass the cache so they
+ * are neither served stale results nor shared with other transactions. Bulk JPQL statements and changes to join
+ * tables alone fire no entity event, call {@link ResultCache#invalidate(Class)} after them.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public class ResultCacheInvalidator implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final Map<SessionFactoryImplementor, ResultCacheInvalidator> REGISTERED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final List<ResultCache> resultCaches = new CopyOnWriteArrayList<>();
+
+    private final CommitListener commitListener = new CommitListener();
+
+    /**
+     * create invalidator.
+     *
+     * @param resultCache result cache
+     */
+    public ResultCacheInvalidator(final ResultCache resultCache) {
+        this.resultCaches.add(resultCache);
+    }
+
+    /**
+     * register an invalidator of the cache on the insert, update and delete events of a Hibernate session factory.
+     * Hibernate accepts one listener of a class per event, the caches registered on the same factory share
+     * its invalidator.
+     *
+     * @param entityManagerFactory entity manager factory, backed by Hibernate
+     * @param resultCache          result cache
+     * @return registered invalidator
+     */
+    public static ResultCacheInvalidator register(final EntityManagerFactory entityManagerFactory, final ResultCache resultCache) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        synchronized (REGISTERED) {
+            ResultCacheInvalidator registered = REGISTERED.get(sessionFactory);
+            if (registered != null) {
+                registered.resultCaches.add(resultCache);
+                return registered;
+            }
+            ResultCacheInvalidator invalidator = new ResultCacheInvalidator(resultCache);
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_INSERT, invalidator);
+            registry.appendListeners(EventType.POST_UPDATE, invalidator);
+            registry.appendListeners(EventType.POST_DELETE, invalidator);
+            registry.appendListeners(EventType.POST_COMMIT_INSERT, invalidator.commitListener);
+            registry.appendListeners(EventType.POST_COMMIT_UPDATE, invalidator.commitListener);
+            registry.appendListeners(EventType.POST_COMMIT_DELETE, invalidator.commitListener);
+            REGISTERED.put(sessionFactory, invalidator);
+            return invalidator;
+        }
+    }
+
+    @Override
+    public void onPostInsert(final PostInsertEvent event) {
+        flushed(event.getSession(), event.getPersister());
+    }
+
+    @Override
+    public void onPostUpdate(final PostUpdateEvent event) {
+        flushed(event.getSession(), event.getPersister());
+    }
+
+    @Override
+    public void onPostDelete(final PostDeleteEvent event) {
+        flushed(event.getSession(), event.getPersister());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(final EntityPersister persister) {
+        return false;
+    }
+
+    private void flushed(final Object session, final EntityPersister persister) {
+        for (ResultCache resultCache : resultCaches) {
+            resultCache.addPending(session);
+            resultCache.invalidate(persister.getMappedClass());
+        }
+    }
+
+    private void completed(final Object session, final EntityPersister persister) {
+        for (ResultCache resultCache : resultCaches) {
+            resultCache.removePending(session);
+            resultCache.invalidate(persister.getMappedClass());
+        }
+    }
+
+    /**
+     * listener of the end of the transactions, committed or rolled back.
+     */
+    private final class CommitListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(final PostInsertEvent event) {
+            completed(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(final PostInsertEvent event) {
+            completed(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public void onPostUpdate(final PostUpdateEvent event) {
+            completed(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(final PostUpdateEvent event) {
+            completed(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public void onPostDelete(final PostDeleteEvent event) {
+            completed(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(final PostDeleteEvent event) {
+            completed(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(final EntityPersister persister) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.aya.search.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.time.Duration;
+
+/**
+ * Result Cache Options, used by {@link ResultCache}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@Builder
+public final class ResultCacheOptions {
+
+    /**
+     * default options, 1000 results kept for 5 minutes.
+     */
+    public static final ResultCacheOptions DEFAULT = ResultCacheOptions.builder().build();
+
+    /**
+     * maximum number of cached results, the least recently used result is evicted first.
+     */
+    @Builder.Default
+    private final int maximumSize = 1000;
+
+    /**
+     * time a result stays cached after it is loaded.
+     */
+    @Builder.Default
+    private final Duration timeToLive = Duration.ofMinutes(5);
+}
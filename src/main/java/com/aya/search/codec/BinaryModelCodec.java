@@ -0,0 +1,316 @@
+package com.aya.search.codec;
+
+import com.aya.search.exception.ErrorCode;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.model.CollectionFilter;
+import com.aya.search.model.Condition;
+import com.aya.search.model.ConstantFilter;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.FilterCriteria;
+import com.aya.search.model.FilterGroup;
+import com.aya.search.model.KeysetCursor;
+import com.aya.search.model.Operation;
+import com.aya.search.model.Quantifier;
+import com.aya.search.model.SortDataModel;
+import com.aya.search.model.SortOrder;
+import com.aya.search.util.ValueCodec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary Model Codec.
+ *
+ * <p>Compact binary form of a {@link DataManipulationModel} for caches and service to service transport.
+ * A payload starts with the magic bytes {@code AS} and a version, followed by the criteria, the sort models,
+ * the cursor, the projections, the fetches and, since version 2, the facets:</p>
+ * <ul>
+ *     <li>counts, enum ordinals and integers are unsigned varints, signed integers are zigzag encoded,
+ *     enums and lists are written as {@code value + 1} so {@code 0} is null,</li>
+ *     <li>field names and paths are written once and then referenced by their index in a dictionary,</li>
+ *     <li>values carry the type tag of {@link ValueCodec}: null, boolean, int, long, double, string, date, date-time,
+ *     instant, decimal or UUID, enums and characters are written as strings.</li>
+ * </ul>
+ *
+ * <p>Decoding reads the byte array in place, decodes every field name once and sizes each array from its count.
+ * The {@link DecodeLimits} are checked before anything is allocated, so untrusted payloads can be decoded: a truncated
+ * payload, a group without conditions or with a missing condition, an integer out of range, an invalid date or
+ * decimal all throw {@link GenerateSpecificationException}.
+ * The codec is thread safe.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public final class BinaryModelCodec {
+
+    /**
+     * current version of the format, payloads of version 1 are decoded without facets.
+     */
+    public static final int VERSION = 2;
+
+    private static final byte[] MAGIC = {'A', 'S'};
+
+    private static final int FILTER_CRITERIA = 0;
+    private static final int FILTER_GROUP = 1;
+    private static final int FILTER_COLLECTION = 2;
+    private static final int FILTER_ALWAYS_TRUE = 3;
+    private static final int FILTER_ALWAYS_FALSE = 4;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final Condition[] CONDITIONS = Condition.values();
+    private static final Quantifier[] QUANTIFIERS = Quantifier.values();
+    private static final SortOrder[] SORT_ORDERS = SortOrder.values();
+
+    private final DecodeLimits decodeLimits;
+
+    /**
+     * create codec.
+     *
+     * @param decodeLimits limits checked while decoding
+     */
+    public BinaryModelCodec(final DecodeLimits decodeLimits) {
+        this.decodeLimits = decodeLimits;
+    }
+
+    /**
+     * encode model.
+     *
+     * @param dataManipulationModel model
+     * @return payload
+     * @throws GenerateSpecificationException if a value has no type tag
+     */
+    public byte[] encode(final DataManipulationModel dataManipulationModel) {
+        Writer writer = new Writer();
+        writer.writeBytes(MAGIC);
+        writer.writeVarint(VERSION);
+        writer.writeFilter(dataManipulationModel.getCriteria());
+        List<SortDataModel> sortDataModels = dataManipulationModel.getSortDataModels();
+        writer.writeVarint(sortDataModels == null ? 0 : sortDataModels.size() + 1);
+        if (sortDataModels != null) {
+            for (SortDataModel sortDataModel : sortDataModels) {
+                writer.writeName(sortDataModel.getSortField());
+                writer.writeEnum(sortDataModel.getSortOrder());
+            }
+        }
+        KeysetCursor cursor = dataManipulationModel.getCursor();
+        writer.writeVarint(cursor == null ? 0 : cursor.getValues().size() + 1);
+        if (cursor != null) {
+            cursor.getValues().forEach(writer::writeValue);
+        }
+        writer.writeNames(dataManipulationModel.getProjections());
+        writer.writeNames(dataManipulationModel.getFetches());
+        writer.writeNames(dataManipulationModel.getFacets());
+        return writer.toByteArray();
+    }
+
+    /**
+     * decode model.
+     *
+     * @param payload payload
+     * @return model
+     * @throws GenerateSpecificationException if the payload is invalid or exceeds the limits
+     */
+    public DataManipulationModel decode(final byte[] payload) {
+        Reader reader = new Reader(payload);
+        if (payload.length < MAGIC.length || payload[0] != MAGIC[0] || payload[1] != MAGIC[1]) {
+            throw reader.invalid("missing magic bytes");
+        }
+        reader.setPosition(MAGIC.length);
+        int version = reader.readVarint();
+        if (version < 1 || version > VERSION) {
+            throw reader.invalid("unsupported version " + version);
+        }
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(reader.readFilter(1));
+        int sortCount = reader.readCount();
+        if (sortCount >= 0) {
+            SortDataModel[] sortDataModels = new SortDataModel[sortCount];
+            for (int i = 0; i < sortCount; i++) {
+                String sortField = reader.readName();
+                SortOrder sortOrder = reader.readEnum(SORT_ORDERS);
+                sortDataModels[i] = sortOrder == SortOrder.DESC ? SortDataModel.Sort.desc(sortField) : SortDataModel.Sort.asc(sortField);
+            }
+            dataManipulationModel.setSortDataModels(Arrays.asList(sortDataModels));
+        }
+        int cursorCount = reader.readCount();
+        if (cursorCount >= 0) {
+            dataManipulationModel.setCursor(KeysetCursor.of(reader.readValues(cursorCount)));
+        }
+        dataManipulationModel.setProjections(reader.readNames());
+        dataManipulationModel.setFetches(reader.readNames());
+        if (version > 1) {
+            dataManipulationModel.setFacets(reader.readNames());
+        }
+        if (reader.getPosition() != payload.length) {
+            throw reader.invalid("unexpected bytes after the model");
+        }
+        return dataManipulationModel;
+    }
+
+    /**
+     * writer of one payload, the dictionary maps a name to its index.
+     */
+    private static final class Writer extends ValueCodec.Writer {
+
+        private final Map<String, Integer> dictionary = new HashMap<>();
+
+        void writeFilter(final Filter filter) {
+            if (filter == null) {
+                writeVarint(0);
+            } else if (filter instanceof FilterCriteria filterCriteria) {
+                writeVarint(FILTER_CRITERIA + 1);
+                writeName(filterCriteria.getFieldName());
+                writeEnum(filterCriteria.getOperation());
+                Object[] values = filterCriteria.getFieldValue();
+                writeVarint(values == null ? 0 : values.length + 1);
+                if (values != null) {
+                    for (Object value : values) {
+                        writeValue(value);
+                    }
+                }
+            } else if (filter instanceof FilterGroup filterGroup) {
+                writeVarint(FILTER_GROUP + 1);
+                writeEnum(filterGroup.getCondition());
+                List<Filter> conditions = filterGroup.getConditions();
+                writeVarint(conditions == null ? 0 : conditions.size() + 1);
+                if (conditions != null) {
+                    conditions.forEach(this::writeFilter);
+                }
+            } else if (filter instanceof CollectionFilter collectionFilter) {
+                writeVarint(FILTER_COLLECTION + 1);
+                writeEnum(collectionFilter.getQuantifier());
+                writeName(collectionFilter.getPath());
+                writeFilter(collectionFilter.getFilter());
+            } else {
+                writeVarint((filter == ConstantFilter.ALWAYS_FALSE ? FILTER_ALWAYS_FALSE : FILTER_ALWAYS_TRUE) + 1);
+            }
+        }
+
+        /**
+         * a name is written as {@code index << 1 | 1} if it is in the dictionary, else as {@code length << 1} and its bytes.
+         */
+        void writeName(final String name) {
+            if (name == null) {
+                writeVarint(0);
+                return;
+            }
+            Integer index = dictionary.get(name);
+            if (index != null) {
+                writeVarint((long) index << 1 | 1);
+                return;
+            }
+            dictionary.put(name, dictionary.size());
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            writeVarint((long) (bytes.length + 1) << 1);
+            writeBytes(bytes);
+        }
+
+        void writeNames(final List<String> names) {
+            writeVarint(names == null ? 0 : names.size() + 1);
+            if (names != null) {
+                names.forEach(this::writeName);
+            }
+        }
+
+        void writeEnum(final Enum<?> value) {
+            writeVarint(value == null ? 0 : value.ordinal() + 1);
+        }
+    }
+
+    /**
+     * reader of one payload, the dictionary holds the names in the order they were first read.
+     */
+    private final class Reader extends ValueCodec.Reader {
+
+        private final List<String> dictionary = new ArrayList<>();
+
+        private int filters;
+
+        Reader(final byte[] payload) {
+            super(payload, decodeLimits.getMaxValues(), decodeLimits.getMaxStringLength());
+        }
+
+        Filter readFilter(final int depth) {
+            int kind = readVarint() - 1;
+            if (kind < 0) {
+                return null;
+            } else if (kind == FILTER_ALWAYS_TRUE || kind == FILTER_ALWAYS_FALSE) {
+                return kind == FILTER_ALWAYS_TRUE ? ConstantFilter.ALWAYS_TRUE : ConstantFilter.ALWAYS_FALSE;
+            } else if (depth > decodeLimits.getMaxDepth()) {
+                throw new GenerateSpecificationException(ErrorCode.PAYLOAD_LIMIT_EXCEEDED, "depth", decodeLimits.getMaxDepth());
+            } else if (++filters > decodeLimits.getMaxFilters()) {
+                throw new GenerateSpecificationException(ErrorCode.PAYLOAD_LIMIT_EXCEEDED, "filters", decodeLimits.getMaxFilters());
+            }
+            switch (kind) {
+                case FILTER_CRITERIA -> {
+                    String fieldName = readName();
+                    Operation operation = readEnum(OPERATIONS);
+                    int count = readCount();
+                    return FilterCriteria.Condition.condition(fieldName, operation, count < 0 ? null : readValues(count));
+                }
+                case FILTER_GROUP -> {
+                    Condition condition = readEnum(CONDITIONS);
+                    int count = readCount();
+                    if (count < 0) {
+                        throw invalid("a group should have conditions");
+                    }
+                    Filter[] conditions = new Filter[count];
+                    for (int i = 0; i < count; i++) {
+                        conditions[i] = readFilter(depth + 1);
+                        if (conditions[i] == null) {
+                            throw invalid("a group should not have a null condition");
+                        }
+                    }
+                    return FilterGroup.Filter.group(condition, Arrays.asList(conditions));
+                }
+                case FILTER_COLLECTION -> {
+                    Quantifier quantifier = readEnum(QUANTIFIERS);
+                    String path = readName();
+                    return CollectionFilter.Elements.quantified(quantifier, path, readFilter(depth + 1));
+                }
+                default -> throw invalid("unknown filter kind " + kind);
+            }
+        }
+
+        String readName() {
+            long header = readVarintLong();
+            if (header == 0) {
+                return null;
+            } else if ((header & 1) == 1) {
+                long index = header >>> 1;
+                if (index >= dictionary.size()) {
+                    throw invalid("unknown name reference " + index);
+                }
+                return dictionary.get((int) index);
+            }
+            String name = readUtf8(checkLength((header >>> 1) - 1));
+            dictionary.add(name);
+            return name;
+        }
+
+        List<String> readNames() {
+            int count = readCount();
+            if (count < 0) {
+                return null;
+            }
+            String[] names = new String[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = readName();
+            }
+            return Arrays.asList(names);
+        }
+
+        <E extends Enum<E>> E readEnum(final E[] values) {
+            int ordinal = readVarint() - 1;
+            if (ordinal >= values.length) {
+                throw invalid("unknown ordinal " + ordinal);
+            }
+            return ordinal < 0 ? null : values[ordinal];
+        }
+
+    }
+}
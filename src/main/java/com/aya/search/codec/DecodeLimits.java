@@ -0,0 +1,45 @@
+package com.aya.search.codec;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Decode Limits, checked by {@link JsonModelDecoder} while it reads a payload so oversized payloads are
+ * rejected before their model is built.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@Builder
+public final class DecodeLimits {
+
+    /**
+     * default limits.
+     */
+    public static final DecodeLimits DEFAULT = DecodeLimits.builder().build();
+
+    /**
+     * maximum nesting depth of the filter tree, a single leaf has depth 1.
+     */
+    @Builder.Default
+    private final int maxDepth = 16;
+
+    /**
+     * maximum number of filters in the tree, leaves and groups.
+     */
+    @Builder.Default
+    private final int maxFilters = 256;
+
+    /**
+     * maximum number of values of one criteria, e.g. of an IN list, and of the sort, projection and fetch lists.
+     */
+    @Builder.Default
+    private final int maxValues = 1000;
+
+    /**
+     * maximum length of a string value or field name.
+     */
+    @Builder.Default
+    private final int maxStringLength = 4096;
+}
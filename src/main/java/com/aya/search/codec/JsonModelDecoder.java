@@ -0,0 +1,351 @@
+package com.aya.search.codec;
+
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+
+import com.aya.search.exception.ErrorCode;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.model.CollectionFilter;
+import com.aya.search.model.Condition;
+import com.aya.search.model.ConstantFilter;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.FilterGroup;
+import com.aya.search.model.KeysetCursor;
+import com.aya.search.model.Operation;
+import com.aya.search.model.Quantifier;
+import com.aya.search.model.SortDataModel;
+import com.aya.search.model.SortOrder;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Json Model Decoder.
+ *
+ * <p>Reads a {@link DataManipulationModel} from JSON with the streaming {@link JsonParser}, without a databind tree.
+ * The property names are the names of the model getters, so a model written by an {@code ObjectMapper} is read back:</p>
+ * <pre>
+ * {
+ *   "criteria": {"condition": "AND", "conditions": [
+ *     {"fieldName": "gpa", "operation": "GREATER_THAN", "fieldValue": [3.5]},
+ *     {"quantifier": "ANY", "path": "students", "filter": {"fieldName": "id", "operation": "IN", "fieldValue": [1, 2]}}
+ *   ]},
+ *   "sortDataModels": [{"sortField": "gpa", "sortOrder": "DESC"}],
+ *   "cursor": "encoded keyset cursor",
+ *   "projections": ["firstName"],
+ *   "fetches": ["community"],
+ *   "facets": ["gpaLetter"]
+ * }
+ * </pre>
+ *
+ * <p>The properties of the model are optional and may be null, unknown properties are rejected. A criteria needs
+ * a field name and an operation, a group a condition and its conditions, a NOT group exactly one, and a collection
+ * filter a quantifier, a path and a filter, a sort a sort field. Numbers are read as
+ * {@link Integer}, {@link Long}, {@link java.math.BigInteger} or {@link Double} like an {@code ObjectMapper} reads
+ * them. The {@link DecodeLimits} are checked as the tokens are read. The decoder is thread safe.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public final class JsonModelDecoder {
+
+    private static final Set<String> MODEL_PROPERTIES = Set.of("criteria", "sortDataModels", "cursor", "projections", "fetches", "facets");
+
+    private static final Set<String> FILTER_PROPERTIES = Set.of("fieldName", "operation", "fieldValue",
+            "condition", "conditions", "quantifier", "path", "filter");
+
+    private final JsonFactory jsonFactory;
+
+    private final DecodeLimits decodeLimits;
+
+    /**
+     * create decoder.
+     *
+     * @param decodeLimits decode limits
+     */
+    public JsonModelDecoder(final DecodeLimits decodeLimits) {
+        this.decodeLimits = decodeLimits;
+        this.jsonFactory = JsonFactory.builder()
+                .streamReadConstraints(StreamReadConstraints.builder()
+                        .maxStringLength(decodeLimits.getMaxStringLength())
+                        .maxNestingDepth(2 * decodeLimits.getMaxDepth() + 4)
+                        .build())
+                .build();
+    }
+
+    /**
+     * decode model.
+     *
+     * @param json json
+     * @return model
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     * @throws UncheckedIOException           UncheckedIOException
+     */
+    public DataManipulationModel decode(final String json) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return decode(parser);
+        } catch (StreamConstraintsException e) {
+            throw limitExceeded(e);
+        } catch (JsonProcessingException e) {
+            throw invalid(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * decode model, the stream is not closed.
+     *
+     * @param inputStream json
+     * @return model
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     * @throws UncheckedIOException           if the stream can not be read
+     */
+    public DataManipulationModel decode(final InputStream inputStream) {
+        try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+            return decode(parser);
+        } catch (StreamConstraintsException e) {
+            throw limitExceeded(e);
+        } catch (JsonProcessingException e) {
+            throw invalid(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private DataManipulationModel decode(final JsonParser parser) throws IOException {
+        DataManipulationModel dataManipulationModel = new Reader(parser).readModel();
+        if (parser.nextToken() != null) {
+            throw invalid(parser, "unexpected content after the model");
+        }
+        return dataManipulationModel;
+    }
+
+    /**
+     * map a violated constraint of the parser to the limit it enforces, like the limits checked by the reader.
+     */
+    private GenerateSpecificationException limitExceeded(final StreamConstraintsException e) {
+        String message = e.getOriginalMessage();
+        if (message.startsWith("String length")) {
+            return new GenerateSpecificationException(ErrorCode.PAYLOAD_LIMIT_EXCEEDED, "string length", decodeLimits.getMaxStringLength());
+        } else if (message.startsWith("Depth")) {
+            return new GenerateSpecificationException(ErrorCode.PAYLOAD_LIMIT_EXCEEDED, "depth", decodeLimits.getMaxDepth());
+        } else if (message.startsWith("Number length")) {
+            return new GenerateSpecificationException(ErrorCode.PAYLOAD_LIMIT_EXCEEDED, "number length",
+                    jsonFactory.streamReadConstraints().getMaxNumberLength());
+        }
+        return invalid(e);
+    }
+
+    private static GenerateSpecificationException invalid(final JsonProcessingException e) {
+        return new GenerateSpecificationException(ErrorCode.INVALID_PAYLOAD,
+                e.getLocation() == null ? "?" : e.getLocation().offsetDescription(), e.getOriginalMessage());
+    }
+
+    private static GenerateSpecificationException invalid(final JsonParser parser, final String message) {
+        return new GenerateSpecificationException(ErrorCode.INVALID_PAYLOAD, parser.currentTokenLocation().offsetDescription(), message);
+    }
+
+    /**
+     * reader of one payload, counts the filters.
+     */
+    private final class Reader {
+
+        private final JsonParser parser;
+
+        private int filters;
+
+        Reader(final JsonParser parser) {
+            this.parser = parser;
+        }
+
+        DataManipulationModel readModel() throws IOException {
+            DataManipulationModel dataManipulationModel = new DataManipulationModel();
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = property(MODEL_PROPERTIES);
+                if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (name) {
+                    case "criteria" -> dataManipulationModel.setCriteria(readFilter(1));
+                    case "sortDataModels" -> dataManipulationModel.setSortDataModels(readSortDataModels());
+                    case "cursor" -> dataManipulationModel.setCursor(KeysetCursor.decode(readString()));
+                    case "projections" -> dataManipulationModel.setProjections(readStrings());
+                    case "fetches" -> dataManipulationModel.setFetches(readStrings());
+                    case "facets" -> dataManipulationModel.setFacets(readStrings());
+                    default -> throw invalid(parser, "unknown property " + name);
+                }
+            }
+            return dataManipulationModel;
+        }
+
+        private Filter readFilter(final int depth) throws IOException {
+            if (depth > decodeLimits.getMaxDepth()) {
+                throw new GenerateSpecificationException(ErrorCode.PAYLOAD_LIMIT_EXCEEDED, "depth", decodeLimits.getMaxDepth());
+            } else if (++filters > decodeLimits.getMaxFilters()) {
+                throw new GenerateSpecificationException(ErrorCode.PAYLOAD_LIMIT_EXCEEDED, "filters", decodeLimits.getMaxFilters());
+            } else if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                return readEnum(ConstantFilter.class);
+            }
+            expect(parser.currentToken(), JsonToken.START_OBJECT);
+            String fieldName = null;
+            Operation operation = null;
+            Object[] fieldValue = null;
+            Condition condition = null;
+            List<Filter> conditions = null;
+            Quantifier quantifier = null;
+            String path = null;
+            Filter filter = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = property(FILTER_PROPERTIES);
+                if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (name) {
+                    case "fieldName" -> fieldName = readString();
+                    case "operation" -> operation = readOperation();
+                    case "fieldValue" -> fieldValue = readValues();
+                    case "condition" -> condition = readEnum(Condition.class);
+                    case "conditions" -> conditions = readFilters(depth + 1);
+                    case "quantifier" -> quantifier = readEnum(Quantifier.class);
+                    case "path" -> path = readString();
+                    case "filter" -> filter = readFilter(depth + 1);
+                    default -> throw invalid(parser, "unknown property " + name);
+                }
+            }
+            boolean criteria = fieldName != null || operation != null || fieldValue != null;
+            boolean group = condition != null || conditions != null;
+            boolean collection = quantifier != null || path != null || filter != null;
+            if (criteria && !group && !collection) {
+                require(fieldName != null && operation != null, "a criteria should have a fieldName and an operation");
+                return condition(fieldName, operation, fieldValue == null ? new Object[0] : fieldValue);
+            } else if (group && !criteria && !collection) {
+                require(condition != null && conditions != null, "a group should have a condition and conditions");
+                require(condition != Condition.NOT || conditions.size() == 1, "a NOT group should have exactly one condition");
+                return FilterGroup.Filter.group(condition, conditions);
+            } else if (collection && !criteria && !group) {
+                require(quantifier != null && path != null && filter != null, "a collection filter should have a quantifier, a path and a filter");
+                return CollectionFilter.Elements.quantified(quantifier, path, filter);
+            }
+            throw invalid(parser, "a filter should have the properties of one criteria, group or collection filter");
+        }
+
+        private List<Filter> readFilters(final int depth) throws IOException {
+            expect(parser.currentToken(), JsonToken.START_ARRAY);
+            List<Filter> conditions = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                conditions.add(readFilter(depth));
+            }
+            return conditions;
+        }
+
+        private Object[] readValues() throws IOException {
+            expect(parser.currentToken(), JsonToken.START_ARRAY);
+            List<Object> values = new ArrayList<>();
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                checkSize(values.size());
+                values.add(switch (token) {
+                    case VALUE_STRING -> parser.getText();
+                    case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+                    case VALUE_TRUE -> Boolean.TRUE;
+                    case VALUE_FALSE -> Boolean.FALSE;
+                    case VALUE_NULL -> null;
+                    default -> throw invalid(parser, "a field value should be a string, number, boolean or null");
+                });
+            }
+            return values.toArray();
+        }
+
+        private List<SortDataModel> readSortDataModels() throws IOException {
+            expect(parser.currentToken(), JsonToken.START_ARRAY);
+            List<SortDataModel> sortDataModels = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                checkSize(sortDataModels.size());
+                expect(parser.currentToken(), JsonToken.START_OBJECT);
+                String sortField = null;
+                SortOrder sortOrder = SortOrder.ASC;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    switch (name) {
+                        case "sortField" -> sortField = readString();
+                        case "sortOrder" -> sortOrder = readEnum(SortOrder.class);
+                        default -> throw invalid(parser, "unknown property " + name);
+                    }
+                }
+                require(sortField != null, "a sort should have a sortField");
+                sortDataModels.add(sortOrder == SortOrder.DESC ? SortDataModel.Sort.desc(sortField) : SortDataModel.Sort.asc(sortField));
+            }
+            return sortDataModels;
+        }
+
+        private List<String> readStrings() throws IOException {
+            expect(parser.currentToken(), JsonToken.START_ARRAY);
+            List<String> strings = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                checkSize(strings.size());
+                strings.add(readString());
+            }
+            return strings;
+        }
+
+        private String readString() throws IOException {
+            expect(parser.currentToken(), JsonToken.VALUE_STRING);
+            return parser.getText();
+        }
+
+        private Operation readOperation() throws IOException {
+            String name = readString();
+            try {
+                return Operation.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_OPERATION, name);
+            }
+        }
+
+        private <E extends Enum<E>> E readEnum(final Class<E> type) throws IOException {
+            String name = readString();
+            try {
+                return Enum.valueOf(type, name);
+            } catch (IllegalArgumentException e) {
+                throw invalid(parser, "unknown " + type.getSimpleName() + " " + name);
+            }
+        }
+
+        private String property(final Set<String> properties) throws IOException {
+            String name = parser.currentName();
+            if (!properties.contains(name)) {
+                throw invalid(parser, "unknown property " + name);
+            }
+            return name;
+        }
+
+        private void checkSize(final int size) {
+            if (size >= decodeLimits.getMaxValues()) {
+                throw new GenerateSpecificationException(ErrorCode.PAYLOAD_LIMIT_EXCEEDED, "values", decodeLimits.getMaxValues());
+            }
+        }
+
+        private void require(final boolean valid, final String message) {
+            if (!valid) {
+                throw invalid(parser, message);
+            }
+        }
+
+        private void expect(final JsonToken token, final JsonToken expected) {
+            if (token != expected) {
+                throw invalid(parser, "expected " + expected + " but found " + token);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.aya.search.cost;
+
+import com.aya.search.model.DataManipulationModel;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Admission, the search to run as admitted by {@link AdmissionGuard}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public final class Admission {
+
+    /**
+     * model to run, the given model unless it was downgraded.
+     */
+    private final DataManipulationModel dataManipulationModel;
+
+    /**
+     * pageable to run, the given pageable unless it was capped.
+     */
+    private final Pageable pageable;
+
+    /**
+     * cost of the model to run.
+     */
+    private final QueryCost cost;
+
+    /**
+     * policy applied to the search, null if it was admitted as it is.
+     */
+    private final AdmissionOptions.Policy appliedPolicy;
+}
@@ -0,0 +1,111 @@
+package com.aya.search.cost;
+
+import com.aya.search.exception.ErrorCode;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.metamodel.FieldPathRegistry;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.SortDataModel;
+import jakarta.persistence.metamodel.ManagedType;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Admission Guard.
+ *
+ * <p>Estimates a search with a {@link QueryCostEstimator} before it is turned into a query and rejects, caps or
+ * downgrades it following {@link AdmissionOptions} when it costs too much. A rejected search throws
+ * {@link ErrorCode#QUERY_TOO_EXPENSIVE}.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public class AdmissionGuard {
+
+    private final QueryCostEstimator queryCostEstimator;
+
+    private final AdmissionOptions admissionOptions;
+
+    /**
+     * guard estimating with {@code costOptions}.
+     *
+     * @param costOptions      cost options
+     * @param admissionOptions admission options
+     */
+    public AdmissionGuard(final CostOptions costOptions, final AdmissionOptions admissionOptions) {
+        this.queryCostEstimator = new QueryCostEstimator(costOptions);
+        this.admissionOptions = admissionOptions;
+    }
+
+    /**
+     * admit a search.
+     *
+     * @param managedType           managed type the paths start from, e.g. {@code metamodel.managedType(Student.class)}
+     * @param dataManipulationModel model
+     * @param pageable              pageable
+     * @return admitted search
+     * @throws GenerateSpecificationException GenerateSpecificationException if the search is rejected or a path is invalid
+     */
+    public Admission admit(final ManagedType<?> managedType, final DataManipulationModel dataManipulationModel, final Pageable pageable) {
+        QueryCost cost = queryCostEstimator.estimate(managedType, dataManipulationModel);
+        double maxCost = admissionOptions.getMaxCost();
+        if (cost.getScore() <= maxCost) {
+            return new Admission(dataManipulationModel, pageable, cost, null);
+        }
+        AdmissionOptions.Policy policy = admissionOptions.getPolicy();
+        if (policy == AdmissionOptions.Policy.REJECT) {
+            throw rejected(cost, maxCost);
+        }
+        DataManipulationModel admitted = dataManipulationModel;
+        if (policy == AdmissionOptions.Policy.DOWNGRADE) {
+            admitted = downgrade(managedType, dataManipulationModel);
+            cost = queryCostEstimator.estimate(managedType, admitted);
+        }
+        if (cost.getScore() > admissionOptions.getRejectCost()) {
+            throw rejected(cost, admissionOptions.getRejectCost());
+        }
+        return new Admission(admitted, cost.getScore() > maxCost ? cap(pageable) : pageable, cost, policy);
+    }
+
+    private DataManipulationModel downgrade(final ManagedType<?> managedType, final DataManipulationModel dataManipulationModel) {
+        DataManipulationModel downgraded = new DataManipulationModel();
+        downgraded.setCriteria(dataManipulationModel.getCriteria());
+        downgraded.setCursor(dataManipulationModel.getCursor());
+        downgraded.setProjections(dataManipulationModel.getProjections());
+        downgraded.setFacets(dataManipulationModel.getFacets());
+        List<SortDataModel> sortDataModels = dataManipulationModel.getSortDataModels();
+        if (sortDataModels != null && dataManipulationModel.getCursor() == null) {
+            sortDataModels = sortDataModels.stream()
+                    .filter(sortDataModel -> !queryCostEstimator.isUnindexed(managedType, sortDataModel.getSortField()))
+                    .collect(Collectors.toList());
+        }
+        downgraded.setSortDataModels(sortDataModels);
+        if (dataManipulationModel.getFetches() != null) {
+            downgraded.setFetches(dataManipulationModel.getFetches().stream()
+                    .filter(fetch -> !FieldPathRegistry.getFieldPath(managedType, fetch).isToMany())
+                    .collect(Collectors.toList()));
+        }
+        return downgraded;
+    }
+
+    /**
+     * cap the page size, the capped page is the one holding the first row of the requested page.
+     */
+    private Pageable cap(final Pageable pageable) {
+        int cappedPageSize = admissionOptions.getCappedPageSize();
+        if (pageable.isUnpaged()) {
+            return PageRequest.of(0, cappedPageSize);
+        }
+        if (pageable.getPageSize() <= cappedPageSize) {
+            return pageable;
+        }
+        return PageRequest.of((int) (pageable.getOffset() / cappedPageSize), cappedPageSize, pageable.getSort());
+    }
+
+    private static GenerateSpecificationException rejected(final QueryCost cost, final double limit) {
+        return new GenerateSpecificationException(ErrorCode.QUERY_TOO_EXPENSIVE,
+                String.format(Locale.ROOT, "%.1f", cost.getScore()), String.format(Locale.ROOT, "%.1f", limit));
+    }
+}
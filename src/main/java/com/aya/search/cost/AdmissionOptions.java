@@ -0,0 +1,66 @@
+package com.aya.search.cost;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Admission Options, used by {@link AdmissionGuard}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@Builder
+public final class AdmissionOptions {
+
+    /**
+     * default options, searches costing more than 500 are rejected.
+     */
+    public static final AdmissionOptions DEFAULT = AdmissionOptions.builder().build();
+
+    /**
+     * cost above which the policy applies.
+     */
+    @Builder.Default
+    private final double maxCost = 500;
+
+    /**
+     * what to do with a search costing more than {@link #maxCost}.
+     */
+    @Builder.Default
+    private final Policy policy = Policy.REJECT;
+
+    /**
+     * cost above which a capped or downgraded search is still rejected.
+     */
+    @Builder.Default
+    private final double rejectCost = 5000;
+
+    /**
+     * page size of capped searches.
+     */
+    @Builder.Default
+    private final int cappedPageSize = 20;
+
+    /**
+     * Policy.
+     */
+    public enum Policy {
+
+        /**
+         * reject the search.
+         */
+        REJECT,
+
+        /**
+         * keep the model and cap the page size.
+         */
+        CAP,
+
+        /**
+         * drop the to-many fetches and the sort fields without an index, the sort fields are kept when a cursor is set.
+         * If the search still costs more than the limit, its page size is capped.
+         */
+        DOWNGRADE
+    }
+}
@@ -0,0 +1,64 @@
+package com.aya.search.cost;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.Set;
+
+/**
+ * Cost Options, the weights used by {@link QueryCostEstimator}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@Builder
+public final class CostOptions {
+
+    /**
+     * default weights, without declared indexes.
+     */
+    public static final CostOptions DEFAULT = CostOptions.builder().build();
+
+    /**
+     * cost of each criteria.
+     */
+    @Builder.Default
+    private final double leafCost = 1;
+
+    /**
+     * cost of each joined association, a path joined by several criteria is counted once per query.
+     */
+    @Builder.Default
+    private final double joinCost = 5;
+
+    /**
+     * cost of each collection traversal, i.e. each {@code EXISTS} subquery and each to-many fetch query.
+     */
+    @Builder.Default
+    private final double toManyCost = 25;
+
+    /**
+     * cost of each IN and NOT_IN value.
+     */
+    @Builder.Default
+    private final double inValueCost = 0.1;
+
+    /**
+     * cost of each string match that can not use an index: LIKE, NOT_LIKE, the suffix and contains matches, and the
+     * prefix matches and case-insensitive equalities on a path not in {@link #indexedPaths}.
+     */
+    @Builder.Default
+    private final double scanCost = 100;
+
+    /**
+     * cost of each sort field not in {@link #indexedPaths}.
+     */
+    @Builder.Default
+    private final double unindexedSortCost = 50;
+
+    /**
+     * dotted paths with an index, identifiers are always indexed. When empty no path is considered unindexed.
+     */
+    @Builder.Default
+    private final Set<String> indexedPaths = Set.of();
+}
@@ -0,0 +1,71 @@
+package com.aya.search.cost;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Query Cost, the estimated cost of a model and its parts, see {@link QueryCostEstimator}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@ToString
+public final class QueryCost {
+
+    /**
+     * weighted sum of the parts.
+     */
+    private final double score;
+
+    /**
+     * number of criteria.
+     */
+    private final int leaves;
+
+    /**
+     * number of joined associations.
+     */
+    private final int joins;
+
+    /**
+     * number of collection traversals.
+     */
+    private final int toManyTraversals;
+
+    /**
+     * number of IN and NOT_IN values.
+     */
+    private final int inValues;
+
+    /**
+     * number of string matches that can not use an index.
+     */
+    private final int scans;
+
+    /**
+     * number of sort fields without an index.
+     */
+    private final int unindexedSorts;
+
+    QueryCost(final CostOptions costOptions,
+              final int leaves,
+              final int joins,
+              final int toManyTraversals,
+              final int inValues,
+              final int scans,
+              final int unindexedSorts) {
+        this.leaves = leaves;
+        this.joins = joins;
+        this.toManyTraversals = toManyTraversals;
+        this.inValues = inValues;
+        this.scans = scans;
+        this.unindexedSorts = unindexedSorts;
+        this.score = leaves * costOptions.getLeafCost()
+                + joins * costOptions.getJoinCost()
+                + toManyTraversals * costOptions.getToManyCost()
+                + inValues * costOptions.getInValueCost()
+                + scans * costOptions.getScanCost()
+                + unindexedSorts * costOptions.getUnindexedSortCost();
+    }
+}
@@ -0,0 +1,188 @@
+package com.aya.search.cost;
+
+import com.aya.search.exception.ErrorCode;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.metamodel.FieldPath;
+import com.aya.search.metamodel.FieldPathRegistry;
+import com.aya.search.model.CollectionFilter;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.FilterCriteria;
+import com.aya.search.model.FilterGroup;
+import com.aya.search.model.Operation;
+import com.aya.search.model.SortDataModel;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Query Cost Estimator.
+ *
+ * <p>Scores a model before any query is built from it: the criteria, the associations joined by the dotted paths,
+ * the collection traversals, the IN values, the string matches that can not use an index and the sort fields without
+ * an index. The paths are resolved with {@link FieldPathRegistry}, so an invalid path fails here as it would in
+ * {@link com.aya.search.specification.GeneralSpecification}.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public class QueryCostEstimator {
+
+    private final CostOptions costOptions;
+
+    /**
+     * estimator with the weights of {@code costOptions}.
+     *
+     * @param costOptions cost options
+     */
+    public QueryCostEstimator(final CostOptions costOptions) {
+        this.costOptions = costOptions;
+    }
+
+    /**
+     * estimate the cost of a model.
+     *
+     * @param managedType           managed type the paths start from, e.g. {@code metamodel.managedType(Student.class)}
+     * @param dataManipulationModel model
+     * @return cost
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public QueryCost estimate(final ManagedType<?> managedType, final DataManipulationModel dataManipulationModel) {
+        Estimate estimate = new Estimate();
+        Set<String> joins = new HashSet<>();
+        estimate.visit(managedType, "", joins, dataManipulationModel.getCriteria());
+        List<SortDataModel> sortDataModels = dataManipulationModel.getSortDataModels();
+        if (sortDataModels != null) {
+            for (SortDataModel sortDataModel : sortDataModels) {
+                FieldPath fieldPath = FieldPathRegistry.getFieldPath(managedType, sortDataModel.getSortField());
+                estimate.join(joins, fieldPath);
+                if (!isIndexed(fieldPath.getPath(), fieldPath)) {
+                    estimate.unindexedSorts++;
+                }
+            }
+        }
+        List<String> fetches = dataManipulationModel.getFetches();
+        if (fetches != null) {
+            for (String fetch : fetches) {
+                FieldPath fieldPath = FieldPathRegistry.getFieldPath(managedType, fetch);
+                if (fieldPath.isToMany()) {
+                    estimate.toManyTraversals++;
+                } else {
+                    joins.addAll(fieldPath.getPrefixes());
+                    joins.add(fieldPath.getPath());
+                }
+            }
+        }
+        estimate.joins += joins.size();
+        return new QueryCost(costOptions, estimate.leaves, estimate.joins, estimate.toManyTraversals,
+                estimate.inValues, estimate.scans, estimate.unindexedSorts);
+    }
+
+    /**
+     * check if a sort field has no index.
+     *
+     * @param managedType managed type the path starts from
+     * @param sortField   dotted sort field
+     * @return true if an index set is declared and the field is neither in it nor an identifier
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public boolean isUnindexed(final ManagedType<?> managedType, final String sortField) {
+        return !isIndexed(sortField, FieldPathRegistry.getFieldPath(managedType, sortField));
+    }
+
+    private boolean isIndexed(final String path, final FieldPath fieldPath) {
+        Set<String> indexedPaths = costOptions.getIndexedPaths();
+        return indexedPaths.isEmpty() || indexedPaths.contains(path)
+                || fieldPath.getAttribute() instanceof SingularAttribute<?, ?> attribute && attribute.isId();
+    }
+
+    /**
+     * counters of one estimate, the joins are counted per query scope.
+     */
+    private final class Estimate {
+
+        private int leaves;
+
+        private int joins;
+
+        private int toManyTraversals;
+
+        private int inValues;
+
+        private int scans;
+
+        private int unindexedSorts;
+
+        private void visit(final ManagedType<?> managedType, final String scope, final Set<String> scopeJoins, final Filter filter) {
+            if (filter instanceof FilterCriteria filterCriteria) {
+                visitCriteria(managedType, scope, scopeJoins, filterCriteria);
+            } else if (filter instanceof FilterGroup filterGroup && filterGroup.getConditions() != null) {
+                for (Filter condition : filterGroup.getConditions()) {
+                    visit(managedType, scope, scopeJoins, condition);
+                }
+            } else if (filter instanceof CollectionFilter collectionFilter) {
+                FieldPath collectionPath = FieldPathRegistry.getFieldPath(managedType, collectionFilter.getPath());
+                if (!(collectionPath.getAttribute() instanceof PluralAttribute<?, ?, ?> pluralAttribute)
+                        || !(pluralAttribute.getElementType() instanceof ManagedType<?> elementType)) {
+                    throw new GenerateSpecificationException(ErrorCode.INVALID_COLLECTION_FIELD, collectionFilter.getPath());
+                }
+                toManyTraversals++;
+                join(scopeJoins, collectionPath);
+                Set<String> elementJoins = new HashSet<>();
+                visit(elementType, scope + collectionFilter.getPath() + ".", elementJoins, collectionFilter.getFilter());
+                joins += elementJoins.size();
+            }
+        }
+
+        private void visitCriteria(final ManagedType<?> managedType,
+                                   final String scope,
+                                   final Set<String> scopeJoins,
+                                   final FilterCriteria filterCriteria) {
+            leaves++;
+            FieldPath fieldPath = FieldPathRegistry.getFieldPath(managedType, filterCriteria.getFieldName());
+            if (fieldPath.isToMany()) {
+                toManyTraversals++;
+            } else {
+                join(scopeJoins, fieldPath);
+            }
+            Operation operation = filterCriteria.getOperation();
+            Object[] fieldValues = filterCriteria.getFieldValue();
+            if ((operation == Operation.IN || operation == Operation.NOT_IN) && fieldValues != null) {
+                inValues += fieldValues.length;
+            } else if (operation != null && isScan(operation, scope + fieldPath.getPath(), fieldPath)) {
+                scans++;
+            }
+        }
+
+        /**
+         * LIKE, NOT_LIKE and the suffix and contains matches have a leading wildcard, a prefix match
+         * and a case-insensitive equality can use an index of the path.
+         */
+        private boolean isScan(final Operation operation, final String path, final FieldPath fieldPath) {
+            return switch (operation) {
+                case LIKE, NOT_LIKE, ENDS_WITH, CONTAINS, ENDS_WITH_IGNORE_CASE, CONTAINS_IGNORE_CASE -> true;
+                case STARTS_WITH, STARTS_WITH_IGNORE_CASE, EQUAL_IGNORE_CASE -> !isIndexed(path, fieldPath);
+                default -> false;
+            };
+        }
+
+        /**
+         * add the associations joined to reach the path, a path ending with the identifier of a to-one
+         * association is read from the foreign key without joining it.
+         */
+        private void join(final Set<String> scopeJoins, final FieldPath fieldPath) {
+            List<String> prefixes = fieldPath.getPrefixes();
+            List<Attribute<?, ?>> attributes = fieldPath.getAttributes();
+            int joined = fieldPath.isForeignKey() ? prefixes.size() - 1 : prefixes.size();
+            for (int i = 0; i < joined; i++) {
+                if (attributes.get(i).isAssociation() || attributes.get(i).isCollection()) {
+                    scopeJoins.add(prefixes.get(i));
+                }
+            }
+        }
+    }
+}
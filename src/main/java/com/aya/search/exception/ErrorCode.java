@@ -17,7 +17,20 @@ public enum ErrorCode {
     INVALID_FIELD_VALUE_NUMBERS("AYA-004", "The number of field values [{1}] are not compatible with operation {0}"),
     INVALID_FIELD_NAME("AYA-005","Could not resolve attribute {0} of {1}."),
     EMPTY_CONDITIONS("AYA-006", "The number of conditions can not be zero."),
-    INVALID_CONDITIONS_NUMBER("AYA-007", "Invalid conditions number for condition {0}, Should be {1}.");
+    INVALID_CONDITIONS_NUMBER("AYA-007", "Invalid conditions number for condition {0}, Should be {1}."),
+    INVALID_CURSOR("AYA-008", "Invalid cursor {0}, it should hold the non null sort values followed by the primary key."),
+    INVALID_PROJECTION_FIELD("AYA-009", "Invalid projection field {0}"),
+    INVALID_FETCH_FIELD("AYA-010", "Invalid fetch field {0}, it should be a path of associations."),
+    INVALID_COLLECTION_FIELD("AYA-011", "Invalid collection field {0}, it should end with a collection of entities or embeddables."),
+    INVALID_PAYLOAD("AYA-012", "Invalid search payload at {0}: {1}"),
+    PAYLOAD_LIMIT_EXCEEDED("AYA-013", "The search payload exceeds the {0} limit of {1}."),
+    QUERY_TOO_EXPENSIVE("AYA-014", "The search is too expensive, its cost {0} exceeds the limit of {1}."),
+    INVALID_FACET_FIELD("AYA-015",
+            "Invalid facet field {0}, it should be a path of to-one associations ending with a field or a to-one association."),
+    INVALID_AGGREGATE_FIELD("AYA-016", "Invalid aggregate field {0}, it should not cross a collection and should suit the function {1}."),
+    UNKNOWN_ENTITY("AYA-017", "The entity {0} is not part of the search schema."),
+    INVALID_GROUP_BY_FIELD("AYA-018",
+            "Invalid group by field {0}, it should be a path of to-one associations ending with a field or a to-one association.");
 
 
     /**
@@ -0,0 +1,30 @@
+package com.aya.search.executor;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.concurrent.Executor;
+
+/**
+ * Async Options, used by {@link AsyncSearchExecutor}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@Builder
+public final class AsyncOptions {
+
+    /**
+     * executor of the queries, required. A query is executed once it has a permit and blocks its thread while it runs,
+     * so use a dedicated bounded thread pool, or {@code Executors.newVirtualThreadPerTaskExecutor()} on Java 21,
+     * not the common pool shared by the parallel streams and the async tasks of the JVM.
+     */
+    private final Executor executor;
+
+    /**
+     * maximum number of queries running at a time against one entity manager factory, shared by all the
+     * executors of the factory, which should all use the same limit.
+     */
+    @Builder.Default
+    private final int maxConcurrency = 8;
+}
@@ -0,0 +1,252 @@
+package com.aya.search.executor;
+
+import com.aya.search.specification.GeneralSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Async Search Executor.
+ *
+ * <p>Runs the queries of a search concurrently, each with its own {@link EntityManager} created from the factory
+ * and closed once the query ends, so a page costs about its slowest query instead of the sum of its queries.
+ * The entities are returned detached, the fetch paths are loaded before the entity manager is closed.
+ * The number of queries running at a time is capped per entity manager factory, see {@link AsyncOptions}.</p>
+ *
+ * <p>Cancelling a returned future cancels its queries: the waiting ones are skipped and the running ones are
+ * cancelled through {@link Session#cancelQuery()}.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Slf4j
+public class AsyncSearchExecutor<T> {
+
+    private static final Map<EntityManagerFactory, Limiter> LIMITERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final Class<T> domainClass;
+
+    private final Executor executor;
+
+    private final Limiter limiter;
+
+    /**
+     * async executor of the searches of {@code domainClass}.
+     *
+     * @param entityManagerFactory entity manager factory
+     * @param domainClass          domain class
+     * @param asyncOptions         async options
+     * @throws NullPointerException     if the options have no executor
+     * @throws IllegalArgumentException if another executor of the factory was created with another maximum concurrency
+     */
+    public AsyncSearchExecutor(final EntityManagerFactory entityManagerFactory, final Class<T> domainClass, final AsyncOptions asyncOptions) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.domainClass = domainClass;
+        this.executor = Objects.requireNonNull(asyncOptions.getExecutor(), "AsyncOptions.executor is required");
+        Limiter limiter = LIMITERS.computeIfAbsent(entityManagerFactory, key -> new Limiter(asyncOptions.getMaxConcurrency()));
+        if (limiter.maxConcurrency != asyncOptions.getMaxConcurrency()) {
+            throw new IllegalArgumentException("The maximum concurrency of the entity manager factory is " + limiter.maxConcurrency
+                    + ", not " + asyncOptions.getMaxConcurrency());
+        }
+        this.limiter = limiter;
+    }
+
+    /**
+     * find a page of matching entities, the content and the count queries run concurrently.
+     * An unpaged request is not counted.
+     *
+     * @param specification specification
+     * @param pageable      pageable, its sort is ignored
+     * @return page of entities, completed exceptionally with the first failure of the queries
+     */
+    public CompletableFuture<Page<T>> findAll(final GeneralSpecification<T> specification, final Pageable pageable) {
+        if (specification.isAlwaysFalse()) {
+            return CompletableFuture.completedFuture(Page.empty(pageable));
+        }
+        CompletableFuture<Slice<T>> content = submit(searchExecutor -> searchExecutor.findSlice(specification, pageable));
+        if (pageable.isUnpaged()) {
+            return cancelling(content.thenApply(slice -> new PageImpl<>(slice.getContent())), List.of(content));
+        }
+        CompletableFuture<Long> total = submit(searchExecutor -> searchExecutor.count(specification));
+        return cancelling(content.thenCombine(total, (slice, count) -> new PageImpl<>(slice.getContent(), pageable, count)),
+                List.of(content, total));
+    }
+
+    /**
+     * count matching rows.
+     *
+     * @param specification specification
+     * @return number of matching rows
+     */
+    public CompletableFuture<Long> count(final GeneralSpecification<T> specification) {
+        return submit(searchExecutor -> searchExecutor.count(specification));
+    }
+
+    /**
+     * count the matching rows per value of each facet of the model, one group by query per facet, concurrently,
+     * see {@link SearchExecutor#findFacets(GeneralSpecification, FacetOptions)}. The mode of the options is ignored.
+     *
+     * @param specification specification
+     * @param facetOptions  facet options
+     * @return counts per value of each facet in model order, completed exceptionally with the first failure of the queries
+     */
+    public CompletableFuture<Map<String, Map<Object, Long>>> findFacets(final GeneralSpecification<T> specification,
+                                                                        final FacetOptions facetOptions) {
+        List<String> facets = specification.getFacets();
+        List<CompletableFuture<Map<Object, Long>>> futures = facets.stream()
+                .map(facet -> submit(searchExecutor -> searchExecutor.findFacet(specification, facet, facetOptions)))
+                .toList();
+        CompletableFuture<Map<String, Map<Object, Long>>> counts = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    Map<String, Map<Object, Long>> facetCounts = new LinkedHashMap<>();
+                    for (int i = 0; i < facets.size(); i++) {
+                        facetCounts.put(facets.get(i), futures.get(i).join());
+                    }
+                    return facetCounts;
+                });
+        return cancelling(counts, futures);
+    }
+
+    /**
+     * run a search with a {@link SearchExecutor} of its own entity manager, within the concurrency limit,
+     * e.g. an additional query of a page.
+     *
+     * @param search search
+     * @param <R>    result type
+     * @return result of the search
+     */
+    public <R> CompletableFuture<R> submit(final Function<SearchExecutor<T>, R> search) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        AtomicReference<EntityManager> running = new AtomicReference<>();
+        limiter.submit(future, () -> run(search, future, running), executor);
+        future.whenComplete((result, throwable) -> {
+            EntityManager entityManager = running.get();
+            if (future.isCancelled() && entityManager != null) {
+                cancel(entityManager);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * cancel the queries of a result when it is cancelled or one of them fails.
+     */
+    private static <R> CompletableFuture<R> cancelling(final CompletableFuture<R> result, final List<? extends CompletableFuture<?>> queries) {
+        result.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                queries.forEach(query -> query.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    private <R> void run(final Function<SearchExecutor<T>, R> search,
+                         final CompletableFuture<R> future,
+                         final AtomicReference<EntityManager> running) {
+        try {
+            if (future.isDone()) {
+                return;
+            }
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            try {
+                running.set(entityManager);
+                // the search may have been cancelled before the entity manager was visible to the cancellation
+                if (!future.isCancelled()) {
+                    future.complete(search.apply(new SearchExecutor<>(entityManager, domainClass)));
+                }
+            } finally {
+                running.set(null);
+                entityManager.close();
+            }
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        } finally {
+            limiter.release();
+        }
+    }
+
+    /**
+     * permits of the queries of an entity manager factory. A query is handed to its executor with a permit only,
+     * the queries over the limit wait in the queue without a thread and take the permit of the next query that ends.
+     */
+    private static final class Limiter {
+
+        private final int maxConcurrency;
+
+        private final Queue<Waiting> waiting = new ArrayDeque<>();
+
+        private int available;
+
+        Limiter(final int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            this.available = maxConcurrency;
+        }
+
+        void submit(final CompletableFuture<?> future, final Runnable task, final Executor executor) {
+            synchronized (this) {
+                if (available == 0) {
+                    waiting.add(new Waiting(future, task, executor));
+                    return;
+                }
+                available--;
+            }
+            execute(new Waiting(future, task, executor));
+        }
+
+        void release() {
+            Waiting next;
+            synchronized (this) {
+                // the cancelled queries are dropped without running
+                do {
+                    next = waiting.poll();
+                } while (next != null && next.future().isDone());
+                if (next == null) {
+                    available++;
+                    return;
+                }
+            }
+            execute(next);
+        }
+
+        private void execute(final Waiting query) {
+            try {
+                query.executor().execute(query.task());
+            } catch (RuntimeException e) {
+                // e.g. a rejected execution, the permit goes to the next query
+                query.future().completeExceptionally(e);
+                release();
+            }
+        }
+
+        private record Waiting(CompletableFuture<?> future, Runnable task, Executor executor) {
+        }
+    }
+
+    private static void cancel(final EntityManager entityManager) {
+        try {
+            entityManager.unwrap(Session.class).cancelQuery();
+        } catch (RuntimeException e) {
+            // the query ended and its entity manager was closed meanwhile
+            log.debug("Could not cancel the query", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.aya.search.executor;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Facet Options, used by
+ * {@link SearchExecutor#findFacets(com.aya.search.specification.GeneralSpecification, FacetOptions)}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@Builder
+public final class FacetOptions {
+
+    /**
+     * default options, the facets are counted by one UNION ALL query for the whole criteria.
+     */
+    public static final FacetOptions DEFAULT = FacetOptions.builder().build();
+
+    /**
+     * how the facet queries run {@link Mode}.
+     */
+    @Builder.Default
+    private final Mode mode = Mode.UNION_ALL;
+
+    /**
+     * count each facet without the criteria on its own path, for multi-select facets. Only the top-level AND
+     * conditions whose criteria are all on the facet path are left out, e.g. {@code gpaLetter IN (A, B)}.
+     */
+    @Builder.Default
+    private final boolean excludeOwnFilters = false;
+
+    /**
+     * Mode.
+     */
+    public enum Mode {
+
+        /**
+         * one query, the union of one group by query per facet.
+         */
+        UNION_ALL,
+
+        /**
+         * one group by query per facet, see {@link AsyncSearchExecutor} to run them concurrently.
+         */
+        SEPARATE
+    }
+}
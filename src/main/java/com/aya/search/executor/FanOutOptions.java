@@ -0,0 +1,51 @@
+package com.aya.search.executor;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.concurrent.Executor;
+
+/**
+ * Fan Out Options, used by
+ * {@link SearchExecutor#findAllFanOut(com.aya.search.specification.GeneralSpecification, org.springframework.data.domain.Pageable, FanOutOptions)}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@Builder
+public final class FanOutOptions {
+
+    /**
+     * default options, the branches run as one UNION ALL query.
+     */
+    public static final FanOutOptions DEFAULT = FanOutOptions.builder().build();
+
+    /**
+     * how the branches run {@link Mode}.
+     */
+    @Builder.Default
+    private final Mode mode = Mode.UNION_ALL;
+
+    /**
+     * executor of the {@link Mode#CONCURRENT} branches, each branch runs with its own entity manager, e.g.
+     * a bounded thread pool, or {@code Executors.newVirtualThreadPerTaskExecutor()} on Java 21.
+     * Without executor the branches run one after the other with the entity manager of the executor.
+     */
+    private final Executor executor;
+
+    /**
+     * Mode.
+     */
+    public enum Mode {
+
+        /**
+         * one query, the union of the branch queries.
+         */
+        UNION_ALL,
+
+        /**
+         * one query per branch, run on {@link #executor}.
+         */
+        CONCURRENT
+    }
+}
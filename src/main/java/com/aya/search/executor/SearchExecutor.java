@@ -0,0 +1,838 @@
+package com.aya.search.executor;
+
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.instrumentation.SearchEvent;
+import com.aya.search.instrumentation.SearchInstrumentation;
+import com.aya.search.instrumentation.SearchStage;
+import com.aya.search.memory.FieldAccessor;
+import com.aya.search.metamodel.FieldPath;
+import com.aya.search.model.AggregationModel;
+import com.aya.search.model.Condition;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.FilterCriteria;
+import com.aya.search.model.FilterGroup;
+import com.aya.search.model.KeysetCursor;
+import com.aya.search.model.Operation;
+import com.aya.search.model.SortDataModel;
+import com.aya.search.model.SortOrder;
+import com.aya.search.specification.GeneralSpecification;
+import com.aya.search.specification.JoinRegistry;
+import com.aya.search.specification.ParameterBindings;
+import com.aya.search.util.FieldValueConverter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Search Executor.
+ *
+ * <p>Runs a {@link GeneralSpecification} directly against an {@link EntityManager}
+ * for the queries a Spring Data repository can not express cheaply.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public class SearchExecutor<T> {
+
+    private final EntityManager entityManager;
+
+    private final Class<T> domainClass;
+
+    public SearchExecutor(final EntityManager entityManager, final Class<T> domainClass) {
+        this.entityManager = entityManager;
+        this.domainClass = domainClass;
+    }
+
+    /**
+     * check if any row matches the specification, the query stops at the first row.
+     *
+     * @param specification specification
+     * @return true if at least one row matches
+     */
+    public boolean exists(final GeneralSpecification<T> specification) {
+        return countUpTo(specification, 1) > 0;
+    }
+
+    /**
+     * count matching rows, the query stops after {@code limit} rows. The values are bound as parameters.
+     *
+     * @param specification specification
+     * @param limit         maximum count
+     * @return number of matching rows, at most {@code limit}
+     */
+    public long countUpTo(final GeneralSpecification<T> specification, final int limit) {
+        if (limit <= 0 || specification.isAlwaysFalse()) {
+            return 0;
+        }
+        SearchEvent searchEvent = SearchInstrumentation.begin(domainClass);
+        try {
+            CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Integer> query = criteriaBuilder.createQuery(Integer.class);
+            Root<T> root = query.from(domainClass);
+            ParameterBindings bindings = new ParameterBindings();
+            query.select(criteriaBuilder.literal(1))
+                    .where(specification.toFilterPredicate(root, query, criteriaBuilder, bindings));
+            return getResultList(createQuery(query, bindings).setMaxResults(limit)).size();
+        } finally {
+            SearchInstrumentation.end(searchEvent);
+        }
+    }
+
+    /**
+     * count matching rows, the keyset cursor of the model is ignored so the count is the total of every page.
+     *
+     * @param specification specification
+     * @return number of matching rows
+     */
+    public long count(final GeneralSpecification<T> specification) {
+        if (specification.isAlwaysFalse()) {
+            return 0;
+        }
+        SearchEvent searchEvent = SearchInstrumentation.begin(domainClass);
+        try {
+            CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+            Root<T> root = query.from(domainClass);
+            ParameterBindings bindings = new ParameterBindings();
+            query.select(criteriaBuilder.count(root))
+                    .where(specification.toTotalPredicate(root, query, criteriaBuilder, bindings));
+            TypedQuery<Long> typedQuery = createQuery(query, bindings);
+            return SearchInstrumentation.time(SearchStage.EXECUTE, typedQuery::getSingleResult);
+        } finally {
+            SearchInstrumentation.end(searchEvent);
+        }
+    }
+
+    /**
+     * select the projections of the model as tuples, the elements are aliased by their dotted paths.
+     *
+     * @param specification specification
+     * @return tuples
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public List<Tuple> findTuples(final GeneralSpecification<T> specification) {
+        return findTuples(specification, Pageable.unpaged()).getContent();
+    }
+
+    /**
+     * select a page of the projections of the model as tuples, the elements are aliased by their dotted paths.
+     * The sort of the pageable is ignored, the rows are ordered by the sort models.
+     *
+     * @param specification specification
+     * @param pageable      pageable
+     * @return page of tuples
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public Page<Tuple> findTuples(final GeneralSpecification<T> specification, final Pageable pageable) {
+        SearchEvent searchEvent = SearchInstrumentation.begin(domainClass);
+        try {
+            ParameterBindings bindings = new ParameterBindings();
+            CriteriaQuery<Tuple> query = specification.toTupleQuery(entityManager.getCriteriaBuilder(), domainClass, bindings);
+            return findPage(specification, query, bindings, pageable);
+        } finally {
+            SearchInstrumentation.end(searchEvent);
+        }
+    }
+
+    /**
+     * compute the aggregates of {@code aggregationModel} over the matching rows with one query, no entity is loaded.
+     * See {@link GeneralSpecification#toAggregateQuery(CriteriaBuilder, Class, AggregationModel, ParameterBindings)}
+     * for the tuple elements, e.g. {@code tuple.get("avg(gpa)", Double.class)}. The values are bound as parameters.
+     *
+     * @param specification    specification
+     * @param aggregationModel aggregation model
+     * @return one tuple per group, or one tuple without group by fields
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public List<Tuple> aggregate(final GeneralSpecification<T> specification, final AggregationModel aggregationModel) {
+        SearchEvent searchEvent = SearchInstrumentation.begin(domainClass);
+        try {
+            ParameterBindings bindings = new ParameterBindings();
+            CriteriaQuery<Tuple> query = specification.toAggregateQuery(entityManager.getCriteriaBuilder(), domainClass, aggregationModel, bindings);
+            return getResultList(createQuery(query, bindings));
+        } finally {
+            SearchInstrumentation.end(searchEvent);
+        }
+    }
+
+    /**
+     * find matching entities with their fetch paths, to-one paths are fetch joined and every to-many
+     * path is loaded for all the entities with one more query.
+     *
+     * @param specification specification
+     * @return entities
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public List<T> findAll(final GeneralSpecification<T> specification) {
+        return findAll(specification, Pageable.unpaged()).getContent();
+    }
+
+    /**
+     * find a page of matching entities with their fetch paths, to-one paths are fetch joined and every
+     * to-many path is loaded for the entities of the page with one more query.
+     * The sort of the pageable is ignored, the rows are ordered by the sort models.
+     *
+     * @param specification specification
+     * @param pageable      pageable
+     * @return page of entities
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public Page<T> findAll(final GeneralSpecification<T> specification, final Pageable pageable) {
+        SearchEvent searchEvent = SearchInstrumentation.begin(domainClass);
+        try {
+            CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<T> query = criteriaBuilder.createQuery(domainClass);
+            Root<T> root = query.from(domainClass);
+            ParameterBindings bindings = new ParameterBindings();
+            query.select(root).where(specification.toPredicate(root, query, criteriaBuilder, bindings));
+            Page<T> page = findPage(specification, query, bindings, pageable);
+            for (String fetch : specification.getFetches()) {
+                FieldPath fieldPath = GeneralSpecification.getFetchPath(root.getModel(), fetch);
+                if (fieldPath.isToMany()) {
+                    fetchCollection(fieldPath, page.getContent());
+                }
+            }
+            return page;
+        } finally {
+            SearchInstrumentation.end(searchEvent);
+        }
+    }
+
+    /**
+     * select the projections of the model into a record or DTO through its constructor.
+     *
+     * @param specification specification
+     * @param resultClass   record or DTO with a constructor matching the projections
+     * @param <R>           result type
+     * @return results
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public <R> List<R> findAll(final GeneralSpecification<T> specification, final Class<R> resultClass) {
+        return findAll(specification, resultClass, Pageable.unpaged()).getContent();
+    }
+
+    /**
+     * select a page of the projections of the model into a record or DTO through its constructor.
+     * The sort of the pageable is ignored, the rows are ordered by the sort models.
+     *
+     * @param specification specification
+     * @param resultClass   record or DTO with a constructor matching the projections
+     * @param pageable      pageable
+     * @param <R>           result type
+     * @return page of results
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public <R> Page<R> findAll(final GeneralSpecification<T> specification, final Class<R> resultClass, final Pageable pageable) {
+        SearchEvent searchEvent = SearchInstrumentation.begin(domainClass);
+        try {
+            ParameterBindings bindings = new ParameterBindings();
+            CriteriaQuery<R> query = specification.toProjectionQuery(entityManager.getCriteriaBuilder(), domainClass, resultClass, bindings);
+            return findPage(specification, query, bindings, pageable);
+        } finally {
+            SearchInstrumentation.end(searchEvent);
+        }
+    }
+
+    /**
+     * stream matching entities with default options {@link StreamOptions#DEFAULT}.
+     *
+     * @param specification specification
+     * @return entities, the stream must be closed
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public Stream<T> stream(final GeneralSpecification<T> specification) {
+        return stream(specification, StreamOptions.DEFAULT);
+    }
+
+    /**
+     * stream matching entities from a forward only cursor, so the rows are never all in memory.
+     * The rows are read in batches, the to-many fetch paths are loaded once per batch and the entities of a batch
+     * are released when the next batch is read, the rows run out or the stream is closed. The stream holds a connection, it must be consumed
+     * inside a transaction and closed, e.g. with try-with-resources. The search event ends when the stream is closed,
+     * reading the rows of the batches is timed as {@link SearchStage#EXECUTE} and loading their fetch paths as
+     * {@link SearchStage#FETCH}.
+     *
+     * @param specification specification
+     * @param streamOptions stream options
+     * @return entities, the stream must be closed
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public Stream<T> stream(final GeneralSpecification<T> specification, final StreamOptions streamOptions) {
+        if (specification.isAlwaysFalse()) {
+            return Stream.empty();
+        }
+        SearchEvent searchEvent = SearchInstrumentation.begin(domainClass);
+        try {
+            return openStream(specification, streamOptions, searchEvent).onClose(() -> SearchInstrumentation.end(searchEvent));
+        } catch (RuntimeException e) {
+            SearchInstrumentation.end(searchEvent);
+            throw e;
+        } finally {
+            // the rows are read after the stream is returned, maybe on another thread
+            SearchInstrumentation.release(searchEvent);
+        }
+    }
+
+    private Stream<T> openStream(final GeneralSpecification<T> specification,
+                                 final StreamOptions streamOptions,
+                                 final SearchEvent searchEvent) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        ParameterBindings bindings = new ParameterBindings();
+        query.select(root).where(specification.toPredicate(root, query, criteriaBuilder, bindings));
+        List<FieldPath> collections = new ArrayList<>();
+        for (String fetch : specification.getFetches()) {
+            FieldPath fieldPath = GeneralSpecification.getFetchPath(root.getModel(), fetch);
+            if (fieldPath.isToMany()) {
+                collections.add(fieldPath);
+            }
+        }
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        Set<Object> managed = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (streamOptions.getReleaseMode() == StreamOptions.ReleaseMode.DETACH) {
+            // the entities managed before the stream stay managed
+            session.getPersistenceContextInternal().managedEntitiesIterator().forEachRemaining(managed::add);
+        }
+        TypedQuery<T> typedQuery = createQuery(query, bindings)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamOptions.getFetchSize())
+                .setHint(HibernateHints.HINT_READ_ONLY, streamOptions.isReadOnly());
+        Stream<T> rows = SearchInstrumentation.time(SearchStage.EXECUTE, typedQuery::getResultStream);
+        Iterator<T> iterator = rows.iterator();
+        List<T> batch = new ArrayList<>(streamOptions.getBatchSize());
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+
+            private int position;
+
+            @Override
+            public boolean tryAdvance(final Consumer<? super T> action) {
+                if (position == batch.size()) {
+                    release(session, managed, batch, streamOptions.getReleaseMode());
+                    batch.clear();
+                    position = 0;
+                    long start = System.nanoTime();
+                    while (batch.size() < Math.max(streamOptions.getBatchSize(), 1) && iterator.hasNext()) {
+                        batch.add(iterator.next());
+                    }
+                    long read = System.nanoTime();
+                    collections.forEach(fieldPath -> fetchCollection(fieldPath, batch));
+                    if (searchEvent != null) {
+                        searchEvent.addStageNanos(SearchStage.EXECUTE, read - start);
+                        searchEvent.addStageNanos(SearchStage.FETCH, System.nanoTime() - read);
+                        searchEvent.addRows(batch.size());
+                    }
+                }
+                if (position == batch.size()) {
+                    return false;
+                }
+                action.accept(batch.get(position++));
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                // a stream closed before its rows run out releases its last batch
+                release(session, managed, batch, streamOptions.getReleaseMode());
+            } finally {
+                rows.close();
+            }
+        });
+    }
+
+    /**
+     * count the matching rows per value of each facet of the model, see {@link FacetOptions}. The rows with a null
+     * value or without the association are counted under a null key.
+     *
+     * @param specification specification
+     * @param facetOptions  facet options
+     * @return counts per value of each facet in model order, the values in descending count order
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public Map<String, Map<Object, Long>> findFacets(final GeneralSpecification<T> specification, final FacetOptions facetOptions) {
+        specification.validate(domainClass);
+        List<String> facets = specification.getFacets();
+        Map<String, Map<Object, Long>> counts = new LinkedHashMap<>();
+        if (specification.isAlwaysFalse()) {
+            facets.forEach(facet -> counts.put(facet, Map.of()));
+            return counts;
+        }
+        SearchEvent searchEvent = SearchInstrumentation.begin(domainClass);
+        try {
+            if (facetOptions.getMode() == FacetOptions.Mode.UNION_ALL && facets.size() > 1
+                    && entityManager.getCriteriaBuilder() instanceof HibernateCriteriaBuilder criteriaBuilder) {
+                return findUnionFacets(criteriaBuilder, specification, facets, facetOptions);
+            }
+            for (String facet : facets) {
+                counts.put(facet, queryFacet(specification, facet, facetOptions));
+            }
+            return counts;
+        } finally {
+            SearchInstrumentation.end(searchEvent);
+        }
+    }
+
+    /**
+     * count the matching rows per value of one facet path with one group by query, see {@link FacetOptions}.
+     *
+     * @param specification specification
+     * @param facet         dotted facet path
+     * @param facetOptions  facet options
+     * @return counts per value, in descending count order
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public Map<Object, Long> findFacet(final GeneralSpecification<T> specification, final String facet, final FacetOptions facetOptions) {
+        specification.validate(domainClass);
+        if (specification.isAlwaysFalse()) {
+            return Map.of();
+        }
+        SearchEvent searchEvent = SearchInstrumentation.begin(domainClass);
+        try {
+            return queryFacet(specification, facet, facetOptions);
+        } finally {
+            SearchInstrumentation.end(searchEvent);
+        }
+    }
+
+    private Map<Object, Long> queryFacet(final GeneralSpecification<T> specification, final String facet, final FacetOptions facetOptions) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        FieldPath facetPath = GeneralSpecification.getFacetPath(entityType, facet);
+        GeneralSpecification<T> facetSpecification = getFacetSpecification(specification, entityType, facetPath, facetOptions);
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<T> root = query.from(domainClass);
+        ParameterBindings bindings = new ParameterBindings();
+        JoinRegistry joinRegistry = new JoinRegistry(root);
+        Predicate predicate = facetSpecification.toFilterPredicate(root, query, criteriaBuilder, bindings, joinRegistry);
+        // a left join unless the filter joined it already, the rows without the association are counted under null
+        Path<?> value = joinRegistry.resolve(facetPath, JoinType.LEFT);
+        query.multiselect(value, criteriaBuilder.count(root)).where(predicate).groupBy(value);
+        Map<Object, Long> counts = new HashMap<>();
+        for (Tuple tuple : getResultList(createQuery(query, bindings))) {
+            counts.put(tuple.get(0), tuple.get(1, Long.class));
+        }
+        return sortCounts(counts);
+    }
+
+    /**
+     * count all the facets with one query, every facet has its own column so the values keep their types,
+     * the first column is the index of the facet of the row.
+     */
+    private Map<String, Map<Object, Long>> findUnionFacets(final HibernateCriteriaBuilder criteriaBuilder,
+                                                            final GeneralSpecification<T> specification,
+                                                            final List<String> facets,
+                                                            final FacetOptions facetOptions) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+        List<FieldPath> facetPaths = facets.stream().map(facet -> GeneralSpecification.getFacetPath(entityType, facet)).toList();
+        List<JpaCriteriaQuery<Tuple>> queries = new ArrayList<>(facets.size());
+        // one set of bindings for all the facet queries, the parameter names stay unique in the union query
+        ParameterBindings bindings = new ParameterBindings();
+        for (int i = 0; i < facets.size(); i++) {
+            GeneralSpecification<T> facetSpecification = getFacetSpecification(specification, entityType, facetPaths.get(i), facetOptions);
+            JpaCriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+            Root<T> root = query.from(domainClass);
+            JoinRegistry joinRegistry = new JoinRegistry(root);
+            final Predicate predicate = facetSpecification.toFilterPredicate(root, query, criteriaBuilder, bindings, joinRegistry);
+            Path<?> value = joinRegistry.resolve(facetPaths.get(i), JoinType.LEFT);
+            List<Selection<?>> selections = new ArrayList<>(facets.size() + 2);
+            selections.add(criteriaBuilder.literal(i));
+            for (int j = 0; j < facets.size(); j++) {
+                selections.add(j == i ? value : criteriaBuilder.nullLiteral(FieldValueConverter.wrap(facetPaths.get(j).getJavaType())));
+            }
+            selections.add(criteriaBuilder.count(root));
+            query.multiselect(selections).where(predicate).groupBy(value);
+            queries.add(query);
+        }
+        CriteriaQuery<?>[] others = queries.subList(1, queries.size()).toArray(new CriteriaQuery<?>[0]);
+        JpaCriteriaQuery<Tuple> union = criteriaBuilder.unionAll(queries.get(0), others);
+        List<Map<Object, Long>> counts = facets.stream().map(facet -> (Map<Object, Long>) new HashMap<Object, Long>()).toList();
+        for (Tuple tuple : getResultList(createQuery(union, bindings))) {
+            int index = tuple.get(0, Integer.class);
+            counts.get(index).put(tuple.get(index + 1), tuple.get(facets.size() + 1, Long.class));
+        }
+        Map<String, Map<Object, Long>> facetCounts = new LinkedHashMap<>();
+        for (int i = 0; i < facets.size(); i++) {
+            facetCounts.put(facets.get(i), sortCounts(counts.get(i)));
+        }
+        return facetCounts;
+    }
+
+    /**
+     * get the specification a facet is counted with, without the keyset cursor of the page and without the
+     * top-level AND conditions on the facet path when {@link FacetOptions#isExcludeOwnFilters()}.
+     */
+    private GeneralSpecification<T> getFacetSpecification(final GeneralSpecification<T> specification,
+                                                          final EntityType<T> entityType,
+                                                          final FieldPath facetPath,
+                                                          final FacetOptions facetOptions) {
+        DataManipulationModel dataManipulationModel = specification.getDataManipulationModel();
+        Filter criteria = dataManipulationModel.getCriteria();
+        if (facetOptions.isExcludeOwnFilters() && criteria != null) {
+            List<Filter> conditions = criteria instanceof FilterGroup filterGroup && filterGroup.getCondition() == Condition.AND
+                    && filterGroup.getConditions() != null ? filterGroup.getConditions() : List.of(criteria);
+            List<Filter> kept = conditions.stream().filter(condition -> !isOwnFilter(entityType, facetPath, condition)).toList();
+            if (kept.size() != conditions.size()) {
+                criteria = kept.isEmpty() ? null : kept.size() == 1 ? kept.get(0) : FilterGroup.Filter.group(Condition.AND, kept);
+            }
+        }
+        if (criteria == dataManipulationModel.getCriteria() && dataManipulationModel.getCursor() == null) {
+            return specification;
+        }
+        DataManipulationModel facetModel = new DataManipulationModel();
+        facetModel.setCriteria(criteria);
+        return new GeneralSpecification<>(facetModel);
+    }
+
+    private static boolean isOwnFilter(final EntityType<?> entityType, final FieldPath facetPath, final Filter filter) {
+        if (filter instanceof FilterCriteria filterCriteria) {
+            try {
+                return GeneralSpecification.getFacetPath(entityType, filterCriteria.getFieldName()).getPath().equals(facetPath.getPath());
+            } catch (GenerateSpecificationException e) {
+                return false;
+            }
+        }
+        return filter instanceof FilterGroup filterGroup && filterGroup.getConditions() != null && !filterGroup.getConditions().isEmpty()
+                && filterGroup.getConditions().stream().allMatch(condition -> isOwnFilter(entityType, facetPath, condition));
+    }
+
+    private static Map<Object, Long> sortCounts(final Map<Object, Long> counts) {
+        List<Map.Entry<Object, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Map.Entry.<Object, Long>comparingByValue().reversed());
+        Map<Object, Long> sorted = new LinkedHashMap<>();
+        entries.forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    /**
+     * find a slice of matching entities, a top-level OR of the criteria is run as one query per branch, so each branch
+     * can use its own index. Every branch selects the primary keys of its first {@code offset + size + 1} rows in
+     * the order of the sort models, as one UNION ALL query or as concurrent queries, see {@link FanOutOptions}.
+     * The entities of the slice are then loaded by primary key, deduplicated and ordered by the sort models, with
+     * their fetch paths. The primary key is the last sort field. Criteria without a top-level OR are run as one query.
+     *
+     * @param specification specification
+     * @param pageable      pageable, its sort is ignored
+     * @param fanOutOptions fan out options
+     * @return slice of entities
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public Slice<T> findAllFanOut(final GeneralSpecification<T> specification, final Pageable pageable, final FanOutOptions fanOutOptions) {
+        // the branches and the page are built from new specifications
+        specification.validate(domainClass);
+        if (specification.isAlwaysFalse()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        SearchEvent searchEvent = SearchInstrumentation.begin(domainClass);
+        try {
+            DataManipulationModel dataManipulationModel = specification.getDataManipulationModel();
+            EntityType<T> entityType = entityManager.getMetamodel().entity(domainClass);
+            if (!(dataManipulationModel.getCriteria() instanceof FilterGroup filterGroup) || filterGroup.getCondition() != Condition.OR
+                    || filterGroup.getConditions() == null || filterGroup.getConditions().size() < 2 || !entityType.hasSingleIdAttribute()) {
+                return querySlice(specification, pageable);
+            }
+            String idField = entityType.getId(entityType.getIdType().getJavaType()).getName();
+            List<SortDataModel> sortDataModels = withIdSort(dataManipulationModel.getSortDataModels(), idField);
+            int limit = pageable.isUnpaged() ? -1 : (int) pageable.getOffset() + pageable.getPageSize() + 1;
+            List<GeneralSpecification<T>> branches = new ArrayList<>(filterGroup.getConditions().size());
+            for (Filter condition : filterGroup.getConditions()) {
+                DataManipulationModel branch = new DataManipulationModel();
+                branch.setCriteria(condition);
+                branch.setSortDataModels(sortDataModels);
+                branch.setCursor(dataManipulationModel.getCursor());
+                branches.add(new GeneralSpecification<>(branch));
+            }
+            Set<Object> ids = new LinkedHashSet<>();
+            if (fanOutOptions.getMode() == FanOutOptions.Mode.UNION_ALL
+                    && entityManager.getCriteriaBuilder() instanceof HibernateCriteriaBuilder criteriaBuilder) {
+                ids.addAll(findUnionIds(criteriaBuilder, branches, idField, limit));
+            } else {
+                ids.addAll(findBranchIds(branches, idField, limit, fanOutOptions.getExecutor()));
+            }
+            if (ids.isEmpty()) {
+                return new SliceImpl<>(List.of(), pageable, false);
+            }
+            DataManipulationModel page = new DataManipulationModel();
+            page.setCriteria(FilterCriteria.Condition.condition(idField, Operation.IN, ids.toArray()));
+            page.setSortDataModels(sortDataModels);
+            page.setFetches(dataManipulationModel.getFetches());
+            return querySlice(new GeneralSpecification<>(page), pageable);
+        } finally {
+            SearchInstrumentation.end(searchEvent);
+        }
+    }
+
+    /**
+     * find a slice of matching entities without counting them, one more row is read to know if a next slice exists.
+     * The to-many fetch paths are loaded as in {@link #findAll(GeneralSpecification, Pageable)}.
+     *
+     * @param specification specification
+     * @param pageable      pageable, its sort is ignored
+     * @return slice of entities
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public Slice<T> findSlice(final GeneralSpecification<T> specification, final Pageable pageable) {
+        if (specification.isAlwaysFalse()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        SearchEvent searchEvent = SearchInstrumentation.begin(domainClass);
+        try {
+            return querySlice(specification, pageable);
+        } finally {
+            SearchInstrumentation.end(searchEvent);
+        }
+    }
+
+    private Slice<T> querySlice(final GeneralSpecification<T> specification, final Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        ParameterBindings bindings = new ParameterBindings();
+        query.select(root).where(specification.toPredicate(root, query, criteriaBuilder, bindings));
+        TypedQuery<T> typedQuery = createQuery(query, bindings);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize() + 1);
+        }
+        List<T> content = getResultList(typedQuery);
+        boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        for (String fetch : specification.getFetches()) {
+            FieldPath fieldPath = GeneralSpecification.getFetchPath(root.getModel(), fetch);
+            if (fieldPath.isToMany()) {
+                fetchCollection(fieldPath, content);
+            }
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    private List<Object> findUnionIds(final HibernateCriteriaBuilder criteriaBuilder,
+                                      final List<GeneralSpecification<T>> branches,
+                                      final String idField,
+                                      final int limit) {
+        List<JpaCriteriaQuery<Object>> queries = new ArrayList<>(branches.size());
+        // one set of bindings for all the branches, the parameter names stay unique in the union query
+        ParameterBindings bindings = new ParameterBindings();
+        for (GeneralSpecification<T> branch : branches) {
+            JpaCriteriaQuery<Object> query = criteriaBuilder.createQuery(Object.class);
+            Root<T> root = query.from(domainClass);
+            // built before the selection, a query selecting the Long identifier is taken for a count query without ordering
+            Predicate predicate = branch.toPredicate(root, query, criteriaBuilder, bindings);
+            query.select(root.get(idField)).where(predicate);
+            if (limit >= 0) {
+                query.fetch(limit);
+            }
+            queries.add(query);
+        }
+        CriteriaQuery<?>[] others = queries.subList(1, queries.size()).toArray(new CriteriaQuery<?>[0]);
+        JpaCriteriaQuery<Object> union = criteriaBuilder.unionAll(queries.get(0), others);
+        return getResultList(createQuery(union, bindings));
+    }
+
+    private List<Object> findBranchIds(final List<GeneralSpecification<T>> branches,
+                                       final String idField,
+                                       final int limit,
+                                       final Executor executor) {
+        List<Object> ids = new ArrayList<>();
+        if (executor == null) {
+            for (GeneralSpecification<T> branch : branches) {
+                ids.addAll(findIds(entityManager, branch, idField, limit));
+            }
+            return ids;
+        }
+        EntityManagerFactory entityManagerFactory = entityManager.getEntityManagerFactory();
+        List<CompletableFuture<List<Object>>> futures = branches.stream()
+                .map(branch -> CompletableFuture.supplyAsync(() -> {
+                    EntityManager branchEntityManager = entityManagerFactory.createEntityManager();
+                    try {
+                        return findIds(branchEntityManager, branch, idField, limit);
+                    } finally {
+                        branchEntityManager.close();
+                    }
+                }, executor))
+                .collect(Collectors.toList());
+        try {
+            long start = System.nanoTime();
+            for (CompletableFuture<List<Object>> future : futures) {
+                ids.addAll(future.join());
+            }
+            SearchEvent searchEvent = SearchInstrumentation.current();
+            if (searchEvent != null) {
+                searchEvent.addStageNanos(SearchStage.EXECUTE, System.nanoTime() - start);
+                searchEvent.addRows(ids.size());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return ids;
+    }
+
+    private List<Object> findIds(final EntityManager branchEntityManager,
+                                 final GeneralSpecification<T> branch,
+                                 final String idField,
+                                 final int limit) {
+        CriteriaBuilder criteriaBuilder = branchEntityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = criteriaBuilder.createQuery(Object.class);
+        Root<T> root = query.from(domainClass);
+        ParameterBindings bindings = new ParameterBindings();
+        // built before the selection, a query selecting the Long identifier is taken for a count query without ordering
+        Predicate predicate = branch.toPredicate(root, query, criteriaBuilder, bindings);
+        query.select(root.get(idField)).where(predicate);
+        TypedQuery<Object> typedQuery = bindings.bind(branchEntityManager.createQuery(query));
+        if (limit >= 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * add the primary key as the last sort field, so the branches and the page share one total order.
+     */
+    private static List<SortDataModel> withIdSort(final List<SortDataModel> sortDataModels, final String idField) {
+        List<SortDataModel> sorted = sortDataModels == null ? new ArrayList<>() : new ArrayList<>(sortDataModels);
+        if (sorted.stream().noneMatch(sortDataModel -> sortDataModel.getSortField().equals(idField))) {
+            boolean descending = !sorted.isEmpty() && sorted.get(sorted.size() - 1).getSortOrder() == SortOrder.DESC;
+            sorted.add(descending ? SortDataModel.Sort.desc(idField) : SortDataModel.Sort.asc(idField));
+        }
+        return sorted;
+    }
+
+    private <R> Page<R> findPage(final GeneralSpecification<T> specification,
+                                 final CriteriaQuery<R> query,
+                                 final ParameterBindings bindings,
+                                 final Pageable pageable) {
+        if (specification.isAlwaysFalse()) {
+            return Page.empty(pageable);
+        }
+        TypedQuery<R> typedQuery = createQuery(query, bindings);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(getResultList(typedQuery));
+        }
+        typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        KeysetCursor cursor = specification.getDataManipulationModel().getCursor();
+        if (cursor != null && !cursor.isFirst()) {
+            // the rows after the cursor are not an offset into the total, which is always counted
+            List<R> content = getResultList(typedQuery);
+            return new PageImpl<>(content, pageable, count(specification));
+        }
+        return PageableExecutionUtils.getPage(getResultList(typedQuery), pageable, () -> count(specification));
+    }
+
+    private <R> TypedQuery<R> createQuery(final CriteriaQuery<R> query, final ParameterBindings bindings) {
+        return SearchInstrumentation.time(SearchStage.TRANSLATE, () -> bindings.bind(entityManager.createQuery(query)));
+    }
+
+    private static <R> List<R> getResultList(final TypedQuery<R> typedQuery) {
+        List<R> rows = SearchInstrumentation.time(SearchStage.EXECUTE, typedQuery::getResultList);
+        SearchEvent searchEvent = SearchInstrumentation.current();
+        if (searchEvent != null) {
+            searchEvent.addRows(rows.size());
+        }
+        return rows;
+    }
+
+    /**
+     * release a batch, detach the entities loaded since the stream was opened: the entities of the batch, the elements
+     * of their fetched collections and their eager associations, or clear the persistence context.
+     */
+    private static void release(final SessionImplementor session,
+                                final Set<Object> managed,
+                                final List<?> batch,
+                                final StreamOptions.ReleaseMode releaseMode) {
+        if (batch.isEmpty() || !session.isOpen()) {
+            return;
+        }
+        switch (releaseMode) {
+            case DETACH -> {
+                for (Map.Entry<Object, EntityEntry> entry : session.getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+                    if (!managed.contains(entry.getKey())) {
+                        session.detach(entry.getKey());
+                    }
+                }
+            }
+            case CLEAR -> session.clear();
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * load the first collection of the path and the associations after it for all entities with one query,
+     * the entities are managed so the loaded collections are set on them.
+     */
+    private void fetchCollection(final FieldPath fieldPath, final List<T> entities) {
+        int index = 0;
+        while (!(fieldPath.getAttributes().get(index) instanceof PluralAttribute<?, ?, ?>)) {
+            index++;
+        }
+        Set<Object> owners = new LinkedHashSet<>();
+        FieldAccessor ownerAccessor = index == 0 ? null : FieldAccessor.of(domainClass, fieldPath.getPrefixes().get(index - 1));
+        for (T entity : entities) {
+            Object owner = ownerAccessor == null ? entity : ownerAccessor.read(entity);
+            if (owner != null) {
+                owners.add(owner);
+            }
+        }
+        if (!owners.isEmpty()) {
+            int collectionIndex = index;
+            Class<?> ownerClass = fieldPath.getAttributes().get(index).getDeclaringType().getJavaType();
+            SearchInstrumentation.time(SearchStage.FETCH, () -> fetchCollection(fieldPath, collectionIndex, ownerClass, owners));
+        }
+    }
+
+    private <O> List<O> fetchCollection(final FieldPath fieldPath, final int index, final Class<O> ownerClass, final Set<Object> owners) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<O> query = criteriaBuilder.createQuery(ownerClass);
+        Root<O> owner = query.from(ownerClass);
+        Fetch<?, ?> fetch = owner.fetch(fieldPath.getSegments().get(index), JoinType.LEFT);
+        for (int i = index + 1; i < fieldPath.size(); i++) {
+            fetch = fetch.fetch(fieldPath.getSegments().get(i), JoinType.LEFT);
+        }
+        query.select(owner).where(owner.in(owners));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
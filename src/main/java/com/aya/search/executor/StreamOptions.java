@@ -0,0 +1,68 @@
+package com.aya.search.executor;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Stream Options, used by {@link SearchExecutor#stream(com.aya.search.specification.GeneralSpecification, StreamOptions)}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@Builder
+public final class StreamOptions {
+
+    /**
+     * default options, batches of 500 rows read 500 at a time, detached after use and loaded read only.
+     */
+    public static final StreamOptions DEFAULT = StreamOptions.builder().build();
+
+    /**
+     * JDBC fetch size, the number of rows the driver reads per round trip.
+     * Some drivers need a vendor value to stream, e.g. {@code Integer.MIN_VALUE} for MySQL.
+     */
+    @Builder.Default
+    private final int fetchSize = 500;
+
+    /**
+     * number of rows read ahead, the to-many fetch paths are loaded once per batch and
+     * the entities of a batch are released when the next batch is read, the rows run out or the stream is closed.
+     */
+    @Builder.Default
+    private final int batchSize = 500;
+
+    /**
+     * how the entities of a batch are released {@link ReleaseMode}.
+     */
+    @Builder.Default
+    private final ReleaseMode releaseMode = ReleaseMode.DETACH;
+
+    /**
+     * load the entities read only, Hibernate keeps no snapshot of their state for dirty checking.
+     */
+    @Builder.Default
+    private final boolean readOnly = true;
+
+    /**
+     * Release Mode.
+     */
+    public enum ReleaseMode {
+
+        /**
+         * detach the entities loaded since the stream was opened, the entities of the batch with the elements of
+         * their fetched collections and their eager associations. The entities managed before the stream stay managed.
+         */
+        DETACH,
+
+        /**
+         * clear the persistence context, unflushed changes of other entities are discarded.
+         */
+        CLEAR,
+
+        /**
+         * keep the entities managed.
+         */
+        NONE
+    }
+}
@@ -0,0 +1,70 @@
+package com.aya.search.factory.predicate;
+
+import jakarta.persistence.metamodel.Attribute;
+import lombok.Builder;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Case Insensitive Options, used by the case-insensitive string matching predicate factories.
+ *
+ * <p>By default the lower cased value is compared with {@code lower(column)}, which an index on
+ * {@code lower(column)} can serve. An attribute holding the lower cased value, e.g. a generated column
+ * with a plain index, can be declared as the normalized attribute of a field, it is then compared without
+ * any function.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Builder
+public final class CaseInsensitiveOptions {
+
+    /**
+     * default options, no normalized attributes.
+     */
+    public static final CaseInsensitiveOptions DEFAULT = CaseInsensitiveOptions.builder().build();
+
+    /**
+     * normalized attribute names by declaring class name and attribute name.
+     */
+    private final Map<String, String> normalizedAttributes;
+
+    /**
+     * get the normalized attribute of an attribute.
+     *
+     * @param attribute attribute
+     * @return normalized attribute name or null
+     */
+    public String getNormalizedAttribute(final Attribute<?, ?> attribute) {
+        if (normalizedAttributes == null) {
+            return null;
+        }
+        return normalizedAttributes.get(key(attribute.getDeclaringType().getJavaType(), attribute.getName()));
+    }
+
+    private static String key(final Class<?> type, final String attribute) {
+        return type.getName() + "#" + attribute;
+    }
+
+    /**
+     * Case Insensitive Options Builder.
+     */
+    public static class CaseInsensitiveOptionsBuilder {
+
+        /**
+         * declare the attribute holding the lower cased value of a field, both of the same entity or embeddable.
+         *
+         * @param type                class declaring the field
+         * @param attribute           field
+         * @param normalizedAttribute attribute holding the lower cased value of the field
+         * @return builder
+         */
+        public CaseInsensitiveOptionsBuilder normalizedAttribute(final Class<?> type, final String attribute, final String normalizedAttribute) {
+            if (normalizedAttributes == null) {
+                normalizedAttributes = new HashMap<>();
+            }
+            normalizedAttributes.put(key(type, attribute), normalizedAttribute);
+            return this;
+        }
+    }
+}
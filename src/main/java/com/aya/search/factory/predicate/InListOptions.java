@@ -0,0 +1,44 @@
+package com.aya.search.factory.predicate;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * In List Options, used by the IN and NOT_IN predicate factories.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@Builder
+public final class InListOptions {
+
+    /**
+     * default options, padding enabled and chunks of 1000 values.
+     */
+    public static final InListOptions DEFAULT = InListOptions.builder().build();
+
+    /**
+     * pad the list to the next power of two by repeating the last value,
+     * so lists of similar length share one SQL statement and one execution plan.
+     */
+    @Builder.Default
+    private final boolean padding = true;
+
+    /**
+     * maximum number of values in one IN list, longer lists are split into OR'd chunks.
+     */
+    @Builder.Default
+    private final int chunkSize = 1000;
+
+    /**
+     * lists longer than this threshold are passed to {@link #largeListHandler}, if one is configured.
+     */
+    @Builder.Default
+    private final int largeListThreshold = Integer.MAX_VALUE;
+
+    /**
+     * handler for lists longer than {@link #largeListThreshold}.
+     */
+    private final LargeInListHandler largeListHandler;
+}
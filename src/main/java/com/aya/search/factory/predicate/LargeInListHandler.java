@@ -0,0 +1,30 @@
+package com.aya.search.factory.predicate;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.util.List;
+
+/**
+ * Large In List Handler.
+ *
+ * <p>Builds the membership predicate for IN lists above {@link InListOptions#getLargeListThreshold()},
+ * e.g. by loading the values into a temporary table or binding them as one array parameter
+ * with a dialect specific function.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@FunctionalInterface
+public interface LargeInListHandler {
+
+    /**
+     * create in predicate.
+     *
+     * @param criteriaBuilder criteriaBuilder
+     * @param fieldPath       fieldPath
+     * @param values          distinct values, already converted to the field type
+     * @return Predicate
+     */
+    Predicate createPredicate(CriteriaBuilder criteriaBuilder, Path<?> fieldPath, List<Object> values);
+}
@@ -19,9 +19,11 @@ import com.aya.search.factory.predicate.impl.LikePredicateFactory;
 import com.aya.search.factory.predicate.impl.NotEqualPredicateFactory;
 import com.aya.search.factory.predicate.impl.NotInPredicateFactory;
 import com.aya.search.factory.predicate.impl.NotLikePredicateFactory;
+import com.aya.search.factory.predicate.impl.StringMatchPredicateFactory;
 import com.aya.search.model.Operation;
-import java.util.HashMap;
+import com.aya.search.util.StringMatch;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Predicate Factory Producer.
@@ -30,7 +32,7 @@ import java.util.Map;
  * @since 05/25/2024
  */
 public class PredicateFactoryProducer {
-    private static final Map<Operation, PredicateFactory> FACTORY_MAP = new HashMap<>();
+    private static final Map<Operation, PredicateFactory> FACTORY_MAP = new ConcurrentHashMap<>();
 
     static {
         FACTORY_MAP.put(Operation.EQUAL, new EqualPredicateFactory());
@@ -50,6 +52,35 @@ public class PredicateFactoryProducer {
         FACTORY_MAP.put(Operation.NOT_LIKE, new NotLikePredicateFactory());
         FACTORY_MAP.put(Operation.NOT_IN, new NotInPredicateFactory());
         FACTORY_MAP.put(Operation.LIKE, new LikePredicateFactory());
+        for (Operation operation : Operation.values()) {
+            if (StringMatch.isStringMatch(operation)) {
+                FACTORY_MAP.put(operation, new StringMatchPredicateFactory(operation));
+            }
+        }
+    }
+
+    /**
+     * register predicate factory, replacing the current factory of the operation.
+     * e.g. {@code register(Operation.IN, new InPredicateFactory(options))} to configure IN lists.
+     *
+     * @param operation        operation
+     * @param predicateFactory predicateFactory
+     */
+    public static void register(final Operation operation, final PredicateFactory predicateFactory) {
+        FACTORY_MAP.put(operation, predicateFactory);
+    }
+
+    /**
+     * configure the case-insensitive string matching operations.
+     *
+     * @param options case insensitive options
+     */
+    public static void register(final CaseInsensitiveOptions options) {
+        for (Operation operation : Operation.values()) {
+            if (StringMatch.isIgnoreCase(operation)) {
+                FACTORY_MAP.put(operation, new StringMatchPredicateFactory(operation, options));
+            }
+        }
     }
 
     /**
@@ -6,6 +6,7 @@ import com.aya.search.factory.predicate.PredicateFactory;
 import com.aya.search.model.Operation;
 import com.aya.search.util.FieldValueConverter;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import java.util.Arrays;
@@ -28,8 +29,11 @@ public class BetweenPredicateFactory implements PredicateFactory {
                     Arrays.stream(values).map(Object::toString).collect(Collectors.joining(", ")));
         }
 
-        Comparable from = (Comparable) FieldValueConverter.convertFieldValue(String.valueOf(values[0]), fieldPath.getJavaType());
-        Comparable to = (Comparable) FieldValueConverter.convertFieldValue(String.valueOf(values[1]), fieldPath.getJavaType());
-        return criteriaBuilder.between((Path<Comparable>) fieldPath, from, to);
+        Object from = FieldValueConverter.convertFieldValue(values[0], fieldPath.getJavaType());
+        Object to = FieldValueConverter.convertFieldValue(values[1], fieldPath.getJavaType());
+        if (from instanceof Expression<?> && to instanceof Expression<?>) {
+            return criteriaBuilder.between((Path<Comparable>) fieldPath, (Expression<Comparable>) from, (Expression<Comparable>) to);
+        }
+        return criteriaBuilder.between((Path<Comparable>) fieldPath, (Comparable) from, (Comparable) to);
     }
 }
\ No newline at end of file
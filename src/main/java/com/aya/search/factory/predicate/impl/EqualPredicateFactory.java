@@ -28,6 +28,6 @@ public class EqualPredicateFactory implements PredicateFactory {
                     Arrays.stream(values).map(Object::toString).collect(Collectors.joining(", ")));
         }
 
-        return criteriaBuilder.equal(fieldPath, FieldValueConverter.convertFieldValue(String.valueOf(values[0]), fieldPath.getJavaType()));
+        return criteriaBuilder.equal(fieldPath, FieldValueConverter.convertFieldValue(values[0], fieldPath.getJavaType()));
     }
 }
\ No newline at end of file
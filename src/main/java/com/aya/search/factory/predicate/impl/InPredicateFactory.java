@@ -1,21 +1,103 @@
 package com.aya.search.factory.predicate.impl;
 
+import com.aya.search.factory.predicate.InListOptions;
 import com.aya.search.factory.predicate.PredicateFactory;
+import com.aya.search.util.FieldValueConverter;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * In Predicate.
  *
+ * <p>The values are converted to the field type once and deduplicated, then the list is padded to
+ * a power of two and split into chunks of {@link InListOptions#getChunkSize()} values,
+ * or passed to the {@link InListOptions#getLargeListHandler()} above the large list threshold.</p>
+ *
  * @author Ayah Alrefai
  * @since 05/25/2024
  */
 public class InPredicateFactory implements PredicateFactory {
+
+    private final InListOptions options;
+
+    public InPredicateFactory() {
+        this(InListOptions.DEFAULT);
+    }
+
+    public InPredicateFactory(final InListOptions options) {
+        this.options = options;
+    }
+
     @Override
     public Predicate createPredicate(final CriteriaBuilder criteriaBuilder,
                                      final Path<?> fieldPath,
-                                     final Object[] values) {        // TODO
-        return fieldPath.in(values);
+                                     final Object[] values) {
+        List<Object> convertedValues = convertValues(fieldPath, values);
+        if (convertedValues.isEmpty()) {
+            return criteriaBuilder.disjunction();
+        }
+        if (options.getLargeListHandler() != null && convertedValues.size() > options.getLargeListThreshold()) {
+            return options.getLargeListHandler().createPredicate(criteriaBuilder, fieldPath, convertedValues);
+        }
+        int chunkSize = Math.max(1, options.getChunkSize());
+        if (convertedValues.size() <= chunkSize) {
+            return in(fieldPath, convertedValues, chunkSize);
+        }
+        List<Predicate> chunks = new ArrayList<>(convertedValues.size() / chunkSize + 1);
+        for (int from = 0; from < convertedValues.size(); from += chunkSize) {
+            chunks.add(in(fieldPath, convertedValues.subList(from, Math.min(from + chunkSize, convertedValues.size())), chunkSize));
+        }
+        return criteriaBuilder.or(chunks.toArray(new Predicate[0]));
+    }
+
+    /**
+     * get the number of values rendered for a list of distinct non-null values, after padding and chunking.
+     * Lists rendering the same number of values render the same SQL text.
+     *
+     * @param size number of distinct non-null values
+     * @return rendered values, or {@code size} for lists passed to the large list handler
+     */
+    public int getRenderedSize(final int size) {
+        if (size == 0 || options.getLargeListHandler() != null && size > options.getLargeListThreshold()) {
+            return size;
+        }
+        int chunkSize = Math.max(1, options.getChunkSize());
+        int remainder = size % chunkSize;
+        return size - remainder + (remainder == 0 ? 0 : paddedSize(remainder, chunkSize));
+    }
+
+    private int paddedSize(final int size, final int chunkSize) {
+        if (!options.isPadding() || size < 2) {
+            return size;
+        }
+        return Math.max(size, Math.min(Integer.highestOneBit(size - 1) << 1, chunkSize));
+    }
+
+    private Predicate in(final Path<?> fieldPath, final List<Object> values, final int chunkSize) {
+        int size = values.size();
+        int paddedSize = paddedSize(size, chunkSize);
+        if (paddedSize == size) {
+            return fieldPath.in(values.toArray());
+        }
+        Object[] paddedValues = values.toArray(new Object[paddedSize]);
+        Arrays.fill(paddedValues, size, paddedValues.length, values.get(size - 1));
+        return fieldPath.in(paddedValues);
+    }
+
+    private static List<Object> convertValues(final Path<?> fieldPath, final Object[] values) {
+        Set<Object> convertedValues = new LinkedHashSet<>(values.length);
+        for (Object value : values) {
+            // null never matches an IN list
+            if (value != null) {
+                convertedValues.add(FieldValueConverter.convertFieldValue(value, fieldPath.getJavaType()));
+            }
+        }
+        return new ArrayList<>(convertedValues);
     }
-}
\ No newline at end of file
+}
@@ -6,6 +6,7 @@ import com.aya.search.factory.predicate.PredicateFactory;
 import com.aya.search.model.Operation;
 import com.aya.search.util.FieldValueConverter;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import java.util.Arrays;
@@ -28,7 +29,10 @@ public class LessThanOrEqualPredicateFactory implements PredicateFactory {
                     Arrays.stream(values).map(Object::toString).collect(Collectors.joining(", ")));
         }
 
-        return criteriaBuilder.lessThanOrEqualTo((Path<Comparable>) fieldPath,
-                (Comparable) FieldValueConverter.convertFieldValue(String.valueOf(values[0]), fieldPath.getJavaType()));
+        Object value = FieldValueConverter.convertFieldValue(values[0], fieldPath.getJavaType());
+        if (value instanceof Expression<?>) {
+            return criteriaBuilder.lessThanOrEqualTo((Path<Comparable>) fieldPath, (Expression<Comparable>) value);
+        }
+        return criteriaBuilder.lessThanOrEqualTo((Path<Comparable>) fieldPath, (Comparable) value);
     }
 }
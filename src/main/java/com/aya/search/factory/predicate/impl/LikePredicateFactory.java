@@ -6,6 +6,7 @@ import com.aya.search.factory.predicate.PredicateFactory;
 import com.aya.search.model.Operation;
 import com.aya.search.util.FieldValueConverter;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import java.util.Arrays;
@@ -29,7 +30,11 @@ public class LikePredicateFactory implements PredicateFactory {
                     Arrays.stream(values).map(Object::toString).collect(Collectors.joining(", ")));
         }
 
-        return criteriaBuilder.like((Path<String>) fieldPath,
-                "%" + FieldValueConverter.convertFieldValue(String.valueOf(values[0]), fieldPath.getJavaType()) + "%");
+        Object value = FieldValueConverter.convertFieldValue(values[0], fieldPath.getJavaType());
+        if (value instanceof Expression<?>) {
+            // a bound parameter already holds the whole pattern
+            return criteriaBuilder.like((Path<String>) fieldPath, (Expression<String>) value);
+        }
+        return criteriaBuilder.like((Path<String>) fieldPath, "%" + value + "%");
     }
 }
\ No newline at end of file
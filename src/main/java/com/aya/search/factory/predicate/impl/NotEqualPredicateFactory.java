@@ -29,6 +29,6 @@ public class NotEqualPredicateFactory implements PredicateFactory {
         }
 
         return criteriaBuilder.notEqual(fieldPath,
-                FieldValueConverter.convertFieldValue(String.valueOf(values[0]), fieldPath.getJavaType()));
+                FieldValueConverter.convertFieldValue(values[0], fieldPath.getJavaType()));
     }
 }
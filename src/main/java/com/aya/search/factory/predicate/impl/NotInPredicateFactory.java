@@ -1,21 +1,43 @@
 package com.aya.search.factory.predicate.impl;
 
+import com.aya.search.factory.predicate.InListOptions;
 import com.aya.search.factory.predicate.PredicateFactory;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 
 /**
- * Not In Predicate.
+ * Not In Predicate, the negation of {@link InPredicateFactory} with the same list options.
  *
  * @author Ayah Alrefai
  * @since 05/25/2024
  */
 public class NotInPredicateFactory implements PredicateFactory {
+
+    private final InPredicateFactory inPredicateFactory;
+
+    public NotInPredicateFactory() {
+        this(InListOptions.DEFAULT);
+    }
+
+    public NotInPredicateFactory(final InListOptions options) {
+        this.inPredicateFactory = new InPredicateFactory(options);
+    }
+
     @Override
     public Predicate createPredicate(final CriteriaBuilder criteriaBuilder,
                                      final Path<?> fieldPath,
-                                     final Object[] values) {        // TODO
-        return criteriaBuilder.not(fieldPath.in(values));
+                                     final Object[] values) {
+        return criteriaBuilder.not(inPredicateFactory.createPredicate(criteriaBuilder, fieldPath, values));
+    }
+
+    /**
+     * get the number of values rendered for a list of distinct non-null values, see {@link InPredicateFactory#getRenderedSize(int)}.
+     *
+     * @param size number of distinct non-null values
+     * @return rendered values
+     */
+    public int getRenderedSize(final int size) {
+        return inPredicateFactory.getRenderedSize(size);
     }
-}
\ No newline at end of file
+}
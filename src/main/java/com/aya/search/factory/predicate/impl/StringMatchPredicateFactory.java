@@ -0,0 +1,86 @@
+package com.aya.search.factory.predicate.impl;
+
+import com.aya.search.exception.ErrorCode;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.factory.predicate.CaseInsensitiveOptions;
+import com.aya.search.factory.predicate.PredicateFactory;
+import com.aya.search.model.Operation;
+import com.aya.search.util.FieldValueConverter;
+import com.aya.search.util.StringMatch;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.metamodel.Attribute;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * String Match Predicate, for STARTS_WITH, ENDS_WITH, CONTAINS, EQUAL_IGNORE_CASE and their case-insensitive variants.
+ *
+ * <p>The value is matched with an escaped pattern, see {@link StringMatch}, so a prefix match is a
+ * {@code LIKE 'value%'} an index can serve. The case-insensitive operations compare with the normalized attribute
+ * of the field when {@link CaseInsensitiveOptions} declares one, otherwise with {@code lower(field)}.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public class StringMatchPredicateFactory implements PredicateFactory {
+
+    private final Operation operation;
+
+    private final CaseInsensitiveOptions options;
+
+    public StringMatchPredicateFactory(final Operation operation) {
+        this(operation, CaseInsensitiveOptions.DEFAULT);
+    }
+
+    public StringMatchPredicateFactory(final Operation operation, final CaseInsensitiveOptions options) {
+        this.operation = operation;
+        this.options = options;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Predicate createPredicate(final CriteriaBuilder criteriaBuilder,
+                                     final Path<?> fieldPath,
+                                     final Object[] values) {
+        if (values.length != 1) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_VALUE_NUMBERS,
+                    operation.name(),
+                    Arrays.stream(values).map(String::valueOf).collect(Collectors.joining(", ")));
+        }
+        Expression<String> field = target(criteriaBuilder, fieldPath);
+        if (values[0] instanceof Expression<?>) {
+            // a bound parameter already holds the whole pattern
+            Expression<String> pattern = (Expression<String>) values[0];
+            return operation == Operation.EQUAL_IGNORE_CASE
+                    ? criteriaBuilder.equal(field, pattern)
+                    : criteriaBuilder.like(field, pattern, StringMatch.ESCAPE);
+        }
+        Object value = FieldValueConverter.convertFieldValue(values[0], fieldPath.getJavaType());
+        if (value == null) {
+            // matching null is unknown, also under NOT, as it is for a bound null pattern
+            Expression<String> nullPattern = criteriaBuilder.nullLiteral(String.class);
+            return operation == Operation.EQUAL_IGNORE_CASE
+                    ? criteriaBuilder.equal(field, nullPattern)
+                    : criteriaBuilder.like(field, nullPattern, StringMatch.ESCAPE);
+        }
+        String pattern = StringMatch.pattern(operation, value.toString());
+        return operation == Operation.EQUAL_IGNORE_CASE
+                ? criteriaBuilder.equal(field, pattern)
+                : criteriaBuilder.like(field, pattern, StringMatch.ESCAPE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Expression<String> target(final CriteriaBuilder criteriaBuilder, final Path<?> fieldPath) {
+        Expression<String> field = (Expression<String>) fieldPath;
+        if (!StringMatch.isIgnoreCase(operation)) {
+            return field;
+        }
+        String normalizedAttribute = fieldPath.getModel() instanceof Attribute<?, ?> attribute
+                ? options.getNormalizedAttribute(attribute)
+                : null;
+        return normalizedAttribute != null ? fieldPath.getParentPath().get(normalizedAttribute) : criteriaBuilder.lower(field);
+    }
+}
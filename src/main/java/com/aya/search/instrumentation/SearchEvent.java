@@ -0,0 +1,167 @@
+package com.aya.search.instrumentation;
+
+import com.aya.search.model.CollectionFilter;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.FilterCriteria;
+import com.aya.search.model.FilterGroup;
+import com.aya.search.model.Operation;
+import com.aya.search.specification.QueryShape;
+import jakarta.persistence.metamodel.ManagedType;
+import lombok.Getter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search Event, the timings and the filter statistics of one search.
+ *
+ * <p>An event is started by an executor, or by {@link com.aya.search.specification.GeneralSpecification} when it is
+ * used without one, e.g. by a Spring Data repository, and then it only holds the build stages. It is filled by the
+ * thread running the search and handed to the {@link SearchListener}s once the search is done.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+public final class SearchEvent {
+
+    /**
+     * entity type of the search.
+     */
+    private final Class<?> domainClass;
+
+    /**
+     * shape of the model, null if no query was built, e.g. for a contradiction.
+     */
+    private QueryShape shape;
+
+    /**
+     * criteria of the model as given.
+     */
+    private Filter criteria;
+
+    /**
+     * depth of the filter tree, a single leaf has depth 1.
+     */
+    private int depth;
+
+    /**
+     * number of criteria.
+     */
+    private int leaves;
+
+    /**
+     * number of criteria per operation.
+     */
+    private Map<Operation, Integer> operationCounts = Collections.emptyMap();
+
+    /**
+     * number of values of each IN and NOT_IN criteria.
+     */
+    private List<Integer> inListSizes = Collections.emptyList();
+
+    /**
+     * number of rows read.
+     */
+    private long rows;
+
+    /**
+     * time of the whole search in nanoseconds.
+     */
+    private long totalNanos;
+
+    private final long[] stageNanos = new long[SearchStage.values().length];
+
+    private final long startNanos = System.nanoTime();
+
+    SearchEvent(final Class<?> domainClass) {
+        this.domainClass = domainClass;
+    }
+
+    /**
+     * get time of a stage in nanoseconds.
+     *
+     * @param searchStage stage
+     * @return nanoseconds
+     */
+    public long getStageNanos(final SearchStage searchStage) {
+        return stageNanos[searchStage.ordinal()];
+    }
+
+    /**
+     * add time to a stage.
+     *
+     * @param searchStage stage
+     * @param nanos       nanoseconds
+     */
+    public void addStageNanos(final SearchStage searchStage, final long nanos) {
+        stageNanos[searchStage.ordinal()] += nanos;
+    }
+
+    /**
+     * add read rows.
+     *
+     * @param count number of rows
+     */
+    public void addRows(final long count) {
+        rows += count;
+    }
+
+    /**
+     * record the shape and the filter statistics of the model, only the first model of the search is recorded.
+     *
+     * @param dataManipulationModel model
+     */
+    public void describe(final DataManipulationModel dataManipulationModel) {
+        describe(dataManipulationModel, null);
+    }
+
+    /**
+     * record the shape and the filter statistics of the model of an entity, only the first model of the search is recorded.
+     *
+     * @param dataManipulationModel model
+     * @param managedType           managed type the paths start from, see {@link QueryShape#of(DataManipulationModel, ManagedType)}
+     */
+    public void describe(final DataManipulationModel dataManipulationModel, final ManagedType<?> managedType) {
+        if (shape != null) {
+            return;
+        }
+        shape = QueryShape.of(dataManipulationModel, managedType);
+        criteria = dataManipulationModel.getCriteria();
+        operationCounts = new EnumMap<>(Operation.class);
+        inListSizes = new ArrayList<>();
+        depth = visit(criteria);
+        operationCounts = Collections.unmodifiableMap(operationCounts);
+        inListSizes = Collections.unmodifiableList(inListSizes);
+    }
+
+    void finish() {
+        totalNanos = System.nanoTime() - startNanos;
+    }
+
+    private int visit(final Filter filter) {
+        if (filter instanceof FilterCriteria filterCriteria) {
+            leaves++;
+            Operation operation = filterCriteria.getOperation();
+            if (operation != null) {
+                operationCounts.merge(operation, 1, Integer::sum);
+            }
+            if ((operation == Operation.IN || operation == Operation.NOT_IN) && filterCriteria.getFieldValue() != null) {
+                inListSizes.add(filterCriteria.getFieldValue().length);
+            }
+            return 1;
+        } else if (filter instanceof FilterGroup filterGroup && filterGroup.getConditions() != null) {
+            int childDepth = 0;
+            for (Filter condition : filterGroup.getConditions()) {
+                childDepth = Math.max(childDepth, visit(condition));
+            }
+            return childDepth + 1;
+        } else if (filter instanceof CollectionFilter collectionFilter) {
+            return visit(collectionFilter.getFilter()) + 1;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,132 @@
+package com.aya.search.instrumentation;
+
+import lombok.extern.slf4j.Slf4j;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Search Instrumentation.
+ *
+ * <p>Registry of the {@link SearchListener}s, filled with the listeners declared in
+ * {@code META-INF/services/com.aya.search.instrumentation.SearchListener} and the listeners added at runtime.
+ * Without listeners no event is created and the searches are not timed. The event of the running search is
+ * held per thread, a search started while another one runs on the same thread joins it.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Slf4j
+public final class SearchInstrumentation {
+
+    private static final List<SearchListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static final ThreadLocal<SearchEvent> CURRENT = new ThreadLocal<>();
+
+    private static volatile boolean enabled;
+
+    static {
+        ServiceLoader.load(SearchListener.class).forEach(SearchInstrumentation::addListener);
+    }
+
+    private SearchInstrumentation() {
+    }
+
+    /**
+     * add listener.
+     *
+     * @param searchListener listener
+     */
+    public static void addListener(final SearchListener searchListener) {
+        LISTENERS.add(searchListener);
+        enabled = true;
+    }
+
+    /**
+     * remove listener.
+     *
+     * @param searchListener listener
+     */
+    public static void removeListener(final SearchListener searchListener) {
+        LISTENERS.remove(searchListener);
+        enabled = !LISTENERS.isEmpty();
+    }
+
+    /**
+     * start the event of a search, unless no listener is registered or a search is already running on this thread.
+     *
+     * @param domainClass entity type
+     * @return started event, to be passed to {@link #end(SearchEvent)}, or null
+     */
+    public static SearchEvent begin(final Class<?> domainClass) {
+        if (!enabled || CURRENT.get() != null) {
+            return null;
+        }
+        SearchEvent searchEvent = new SearchEvent(domainClass);
+        CURRENT.set(searchEvent);
+        return searchEvent;
+    }
+
+    /**
+     * release the event returned by {@link #begin(Class)} from this thread without ending it, for a search that goes on
+     * after it returns, e.g. a stream. The event is ended later with {@link #end(SearchEvent)}, on any thread.
+     *
+     * @param searchEvent started event or null
+     */
+    public static void release(final SearchEvent searchEvent) {
+        if (searchEvent != null && CURRENT.get() == searchEvent) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * end the event returned by {@link #begin(Class)} and pass it to the listeners, a listener failure is logged.
+     *
+     * @param searchEvent started event or null
+     */
+    public static void end(final SearchEvent searchEvent) {
+        if (searchEvent == null) {
+            return;
+        }
+        release(searchEvent);
+        searchEvent.finish();
+        for (SearchListener listener : LISTENERS) {
+            try {
+                listener.onSearch(searchEvent);
+            } catch (RuntimeException e) {
+                log.warn("Search listener {} failed", listener, e);
+            }
+        }
+    }
+
+    /**
+     * get the event of the search running on this thread.
+     *
+     * @return event or null
+     */
+    public static SearchEvent current() {
+        return enabled ? CURRENT.get() : null;
+    }
+
+    /**
+     * run a step and add its time to a stage of the running search.
+     *
+     * @param searchStage stage
+     * @param step        step
+     * @param <R>         result type
+     * @return result of the step
+     */
+    public static <R> R time(final SearchStage searchStage, final Supplier<R> step) {
+        SearchEvent searchEvent = current();
+        if (searchEvent == null) {
+            return step.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return step.get();
+        } finally {
+            searchEvent.addStageNanos(searchStage, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.aya.search.instrumentation;
+
+/**
+ * Search Listener.
+ *
+ * <p>Receives an event for every search once it is done, see {@link SearchInstrumentation} for the registration.
+ * It is called on the thread that ran the search, so it should be quick and thread safe.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@FunctionalInterface
+public interface SearchListener {
+
+    /**
+     * search done.
+     *
+     * @param searchEvent event of the search
+     */
+    void onSearch(SearchEvent searchEvent);
+}
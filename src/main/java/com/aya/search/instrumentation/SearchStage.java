@@ -0,0 +1,36 @@
+package com.aya.search.instrumentation;
+
+/**
+ * Search Stage, the parts of a search timed by {@link SearchEvent}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public enum SearchStage {
+
+    /**
+     * resolving dotted paths against the metamodel.
+     */
+    RESOLVE,
+
+    /**
+     * building predicates, joins and orders, without {@link #RESOLVE}.
+     */
+    BUILD,
+
+    /**
+     * creating the Hibernate query from the criteria query and binding its parameters. Hibernate translates
+     * the query to SQL on its first execution unless the plan of the shape is cached, that part is in {@link #EXECUTE}.
+     */
+    TRANSLATE,
+
+    /**
+     * executing the statements and reading the rows.
+     */
+    EXECUTE,
+
+    /**
+     * loading the to-many fetch paths.
+     */
+    FETCH
+}
@@ -0,0 +1,188 @@
+package com.aya.search.instrumentation;
+
+import com.aya.search.specification.QueryShape;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Shape Histogram Listener.
+ *
+ * <p>Keeps a latency histogram of the whole search per {@link QueryShape} in memory. The histograms have
+ * log-linear buckets, eight per power of two, so a percentile is at most 12.5% above the recorded time.
+ * At most {@code maxShapes} shapes are kept, the searches of the other shapes are only counted in
+ * {@link #getDropped()}.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public class ShapeHistogramListener implements SearchListener {
+
+    /**
+     * default maximum number of shapes.
+     */
+    public static final int DEFAULT_MAX_SHAPES = 1000;
+
+    private final Map<QueryShape, Histogram> histograms = new ConcurrentHashMap<>();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final int maxShapes;
+
+    /**
+     * keep at most {@link #DEFAULT_MAX_SHAPES} shapes.
+     */
+    public ShapeHistogramListener() {
+        this(DEFAULT_MAX_SHAPES);
+    }
+
+    /**
+     * keep at most {@code maxShapes} shapes.
+     *
+     * @param maxShapes maximum number of shapes
+     */
+    public ShapeHistogramListener(final int maxShapes) {
+        this.maxShapes = maxShapes;
+    }
+
+    @Override
+    public void onSearch(final SearchEvent searchEvent) {
+        QueryShape shape = searchEvent.getShape();
+        if (shape == null) {
+            return;
+        }
+        Histogram histogram = histograms.get(shape);
+        if (histogram == null) {
+            if (histograms.size() >= maxShapes) {
+                dropped.incrementAndGet();
+                return;
+            }
+            histogram = histograms.computeIfAbsent(shape, key -> new Histogram());
+        }
+        histogram.record(searchEvent.getTotalNanos());
+    }
+
+    /**
+     * get the histogram of a shape.
+     *
+     * @param shape shape
+     * @return histogram or null
+     */
+    public Histogram getHistogram(final QueryShape shape) {
+        return histograms.get(shape);
+    }
+
+    /**
+     * get the histograms of all shapes.
+     *
+     * @return histograms by shape
+     */
+    public Map<QueryShape, Histogram> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * get number of searches not recorded because the maximum number of shapes is reached.
+     *
+     * @return dropped searches
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * remove all histograms.
+     */
+    public void reset() {
+        histograms.clear();
+        dropped.set(0);
+    }
+
+    /**
+     * Histogram of times in nanoseconds.
+     */
+    public static final class Histogram {
+
+        private static final int SUB_BUCKET_BITS = 3;
+
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray((Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS);
+
+        private final AtomicLong count = new AtomicLong();
+
+        private final AtomicLong max = new AtomicLong();
+
+        /**
+         * record a time.
+         *
+         * @param nanos nanoseconds
+         */
+        public void record(final long nanos) {
+            long value = Math.max(nanos, 0);
+            buckets.incrementAndGet(index(value));
+            count.incrementAndGet();
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        /**
+         * get number of recorded times.
+         *
+         * @return count
+         */
+        public long getCount() {
+            return count.get();
+        }
+
+        /**
+         * get the largest recorded time.
+         *
+         * @return nanoseconds
+         */
+        public long getMax() {
+            return max.get();
+        }
+
+        /**
+         * get a percentile, the upper bound of the bucket holding it.
+         *
+         * @param percentile percentile between 0 and 100
+         * @return nanoseconds, 0 if nothing is recorded
+         */
+        public long getPercentile(final double percentile) {
+            long total = count.get();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max((long) Math.ceil(Math.min(percentile, 100) / 100 * total), 1);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        private static int index(final long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        private static long upperBound(final int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int shift = index / SUB_BUCKETS - 1;
+            long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+            return lower + (1L << shift) - 1;
+        }
+    }
+}
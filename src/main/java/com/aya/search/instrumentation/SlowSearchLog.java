@@ -0,0 +1,72 @@
+package com.aya.search.instrumentation;
+
+import com.aya.search.optimizer.FilterOptimizer;
+import lombok.extern.slf4j.Slf4j;
+import java.time.Duration;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Slow Search Log.
+ *
+ * <p>Writes a line for every search slower than the threshold with its stage timings and its normalized filter.
+ * The filter is written as its {@link com.aya.search.specification.QueryShape}, without the values, unless
+ * {@code includeValues} is set, then the optimized filter is written with its values.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Slf4j
+public class SlowSearchLog implements SearchListener {
+
+    private final long thresholdNanos;
+
+    private final boolean includeValues;
+
+    private final Consumer<String> sink;
+
+    /**
+     * write the slow searches to the log as warnings, without the values.
+     *
+     * @param threshold threshold
+     */
+    public SlowSearchLog(final Duration threshold) {
+        this(threshold, false, log::warn);
+    }
+
+    /**
+     * write the slow searches to a sink.
+     *
+     * @param threshold     threshold
+     * @param includeValues write the values of the filter
+     * @param sink          sink
+     */
+    public SlowSearchLog(final Duration threshold, final boolean includeValues, final Consumer<String> sink) {
+        this.thresholdNanos = threshold.toNanos();
+        this.includeValues = includeValues;
+        this.sink = sink;
+    }
+
+    @Override
+    public void onSearch(final SearchEvent searchEvent) {
+        if (searchEvent.getTotalNanos() < thresholdNanos) {
+            return;
+        }
+        StringJoiner stages = new StringJoiner(", ", "[", "]");
+        for (SearchStage searchStage : SearchStage.values()) {
+            stages.add(searchStage + "=" + TimeUnit.NANOSECONDS.toMicros(searchEvent.getStageNanos(searchStage)) + "us");
+        }
+        String filter;
+        if (searchEvent.getShape() == null) {
+            filter = "-";
+        } else if (includeValues) {
+            filter = String.valueOf(FilterOptimizer.optimize(searchEvent.getCriteria()));
+        } else {
+            filter = searchEvent.getShape().getCanonical();
+        }
+        sink.accept(String.format("Slow search of %s took %d ms %s rows=%d shape=%016x filter=%s",
+                searchEvent.getDomainClass().getSimpleName(), TimeUnit.NANOSECONDS.toMillis(searchEvent.getTotalNanos()), stages,
+                searchEvent.getRows(), searchEvent.getShape() == null ? 0 : searchEvent.getShape().getHash(), filter));
+    }
+}
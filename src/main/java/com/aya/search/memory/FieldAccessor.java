@@ -0,0 +1,204 @@
+package com.aya.search.memory;
+
+import com.aya.search.exception.ErrorCode;
+import com.aya.search.exception.GenerateSpecificationException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Field Accessor.
+ *
+ * <p>Reads a dotted field path from in-memory objects through one {@link MethodHandle} per segment.
+ * The handles are resolved once per {@code (class, path)} and cached, at most
+ * {@link #MAX_PATHS_PER_TYPE} paths per class. A segment holding a {@link Collection} makes the path
+ * to-many, its values are read from every element.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+public final class FieldAccessor {
+
+    /**
+     * maximum number of cached paths per class.
+     */
+    public static final int MAX_PATHS_PER_TYPE = 1024;
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<Map<String, FieldAccessor>> CACHE = new ClassValue<>() {
+        @Override
+        protected Map<String, FieldAccessor> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * dotted field path.
+     */
+    private final String path;
+
+    /**
+     * type of the last segment, the element type for collections.
+     */
+    private final Class<?> javaType;
+
+    /**
+     * true if a segment of the path is a collection.
+     */
+    private final boolean toMany;
+
+    @Getter(AccessLevel.NONE)
+    private final MethodHandle[] getters;
+
+    private FieldAccessor(final String path, final Class<?> javaType, final boolean toMany, final MethodHandle[] getters) {
+        this.path = path;
+        this.javaType = javaType;
+        this.toMany = toMany;
+        this.getters = getters;
+    }
+
+    /**
+     * get field accessor.
+     *
+     * @param type class the path starts from
+     * @param path dotted field name
+     * @return field accessor
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public static FieldAccessor of(final Class<?> type, final String path) {
+        Map<String, FieldAccessor> accessors = CACHE.get(type);
+        FieldAccessor accessor = accessors.get(path);
+        if (accessor == null) {
+            accessor = resolve(type, path);
+            if (accessors.size() < MAX_PATHS_PER_TYPE) {
+                accessors.putIfAbsent(path, accessor);
+            }
+        }
+        return accessor;
+    }
+
+    /**
+     * read the value of a path that is not to-many, null if an association on the path is null.
+     *
+     * @param object object
+     * @return value
+     */
+    public Object read(final Object object) {
+        Object value = object;
+        for (MethodHandle getter : getters) {
+            if (value == null) {
+                return null;
+            }
+            value = get(getter, value);
+        }
+        return value;
+    }
+
+    /**
+     * read the values of a path from every element of its collections. A null association or an empty
+     * collection gives one null value, like the left join of the query does.
+     *
+     * @param object object
+     * @return values
+     */
+    public List<Object> readAll(final Object object) {
+        List<Object> values = new ArrayList<>();
+        readAll(object, 0, values);
+        return values;
+    }
+
+    private void readAll(final Object object, final int index, final List<Object> values) {
+        if (object instanceof Collection<?> collection) {
+            if (collection.isEmpty()) {
+                values.add(null);
+            }
+            for (Object element : collection) {
+                readAll(element, index, values);
+            }
+        } else if (object == null || index == getters.length) {
+            values.add(object);
+        } else {
+            readAll(get(getters[index], object), index + 1, values);
+        }
+    }
+
+    private Object get(final MethodHandle getter, final Object object) {
+        try {
+            return getter.invokeExact(object instanceof HibernateProxy ? Hibernate.unproxy(object) : object);
+        } catch (ClassCastException | WrongMethodTypeException e) {
+            // the object is not of the type the path was resolved against
+            throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_NAME, path, object.getClass().toString());
+        } catch (RuntimeException | Error e) {
+            // e.g. a detached proxy that can not be initialized
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static FieldAccessor resolve(final Class<?> type, final String path) {
+        List<MethodHandle> getters = new ArrayList<>();
+        Class<?> javaType = type;
+        boolean toMany = false;
+        int start = 0;
+        while (start >= 0) {
+            int end = path.indexOf('.', start);
+            String segment = end < 0 ? path.substring(start) : path.substring(start, end);
+            Field field = findField(javaType, segment);
+            if (field == null) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_NAME, segment, javaType.toString());
+            }
+            try {
+                getters.add(MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                        .unreflectGetter(field)
+                        .asType(GETTER_TYPE));
+            } catch (IllegalAccessException e) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_NAME, segment, javaType.toString());
+            }
+            if (Collection.class.isAssignableFrom(field.getType())) {
+                toMany = true;
+                javaType = elementType(field);
+            } else {
+                javaType = field.getType();
+            }
+            start = end < 0 ? end : end + 1;
+        }
+        return new FieldAccessor(path, javaType, toMany, getters.toArray(new MethodHandle[0]));
+    }
+
+    private static Class<?> elementType(final Field field) {
+        Type genericType = field.getGenericType();
+        if (genericType instanceof ParameterizedType parameterizedType
+                && parameterizedType.getActualTypeArguments()[0] instanceof Class<?> elementType) {
+            return elementType;
+        }
+        return Object.class;
+    }
+
+    private static Field findField(final Class<?> type, final String name) {
+        Class<?> current = type;
+        while (current != null && current != Object.class) {
+            try {
+                return current.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                current = current.getSuperclass();
+            }
+        }
+        return null;
+    }
+}
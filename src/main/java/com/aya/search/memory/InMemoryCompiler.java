@@ -0,0 +1,338 @@
+package com.aya.search.memory;
+
+import com.aya.search.exception.ErrorCode;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.model.CollectionFilter;
+import com.aya.search.model.Condition;
+import com.aya.search.model.ConstantFilter;
+import com.aya.search.model.Filter;
+import com.aya.search.model.FilterCriteria;
+import com.aya.search.model.FilterGroup;
+import com.aya.search.model.Operation;
+import com.aya.search.model.Quantifier;
+import com.aya.search.model.SortDataModel;
+import com.aya.search.model.SortOrder;
+import com.aya.search.util.FieldValueConverter;
+import com.aya.search.util.StringMatch;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In Memory Compiler.
+ *
+ * <p>Compiles filter trees into {@link Predicate}s and sort models into {@link Comparator}s over
+ * in-memory objects, with the semantics of the JPA path:</p>
+ * <ul>
+ *     <li>comparisons with null are unknown and NOT keeps them unknown, like SQL three-valued logic,</li>
+ *     <li>values are converted to the field type by {@link FieldValueConverter},</li>
+ *     <li>LIKE matches {@code %value%} with {@code %} and {@code _} wildcards, case sensitive,</li>
+ *     <li>the string matching operations match the value literally, the case-insensitive ones after lower casing,</li>
+ *     <li>a criteria on a to-many path matches if any element matches, NOT_IN and IS_NULL if none of the
+ *     elements matches IN or IS_NOT_NULL, like the {@code EXISTS} subqueries of the JPA path,</li>
+ *     <li>nulls sort first in ascending and last in descending order.</li>
+ * </ul>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public final class InMemoryCompiler {
+
+    private InMemoryCompiler() {
+    }
+
+    /**
+     * compile filter.
+     *
+     * @param type   type of the filtered objects
+     * @param filter filter, null matches every object
+     * @param <T>    type of the filtered objects
+     * @return predicate
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public static <T> Predicate<T> compileFilter(final Class<T> type, final Filter filter) {
+        Evaluator evaluator = compile(type, filter);
+        return object -> evaluator.evaluate(object) == Boolean.TRUE;
+    }
+
+    /**
+     * compile sort models.
+     *
+     * @param type           type of the sorted objects
+     * @param sortDataModels sort models, null or empty keeps the order
+     * @param <T>            type of the sorted objects
+     * @return comparator
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Comparator<T> compileSort(final Class<T> type, final List<SortDataModel> sortDataModels) {
+        Comparator<T> comparator = (first, second) -> 0;
+        if (sortDataModels == null) {
+            return comparator;
+        }
+        for (SortDataModel sortDataModel : sortDataModels) {
+            FieldAccessor accessor;
+            try {
+                accessor = FieldAccessor.of(type, sortDataModel.getSortField());
+            } catch (GenerateSpecificationException e) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_SORTING_FIELD, sortDataModel.getSortField());
+            }
+            if (accessor.isToMany()) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_SORTING_FIELD, sortDataModel.getSortField());
+            }
+            Comparator<T> fieldComparator = Comparator.comparing(object -> (Comparable) accessor.read(object),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(sortDataModel.getSortOrder() == SortOrder.DESC
+                    ? fieldComparator.reversed()
+                    : fieldComparator);
+        }
+        return comparator;
+    }
+
+    /**
+     * three-valued evaluation, null is unknown.
+     */
+    @FunctionalInterface
+    private interface Evaluator {
+        Boolean evaluate(Object object);
+    }
+
+    /**
+     * three-valued test of one field value, null is unknown.
+     */
+    @FunctionalInterface
+    private interface ValueTest {
+        Boolean test(Object value);
+    }
+
+    private static Evaluator compile(final Class<?> type, final Filter filter) {
+        if (filter instanceof FilterCriteria filterCriteria) {
+            return compileCriteria(type, filterCriteria);
+        } else if (filter instanceof FilterGroup filterGroup) {
+            return compileGroup(type, filterGroup);
+        } else if (filter instanceof CollectionFilter collectionFilter) {
+            return compileCollection(type, collectionFilter);
+        } else if (filter == ConstantFilter.ALWAYS_FALSE) {
+            return object -> Boolean.FALSE;
+        }
+        return object -> Boolean.TRUE;
+    }
+
+    private static Evaluator compileCriteria(final Class<?> type, final FilterCriteria filterCriteria) {
+        FieldAccessor accessor = FieldAccessor.of(type, filterCriteria.getFieldName());
+        Object[] values = filterCriteria.getFieldValue() == null ? new Object[0] : filterCriteria.getFieldValue();
+        Operation operation = filterCriteria.getOperation();
+        if (!accessor.isToMany()) {
+            ValueTest valueTest = compileTest(accessor.getJavaType(), operation, values);
+            return object -> valueTest.test(accessor.read(object));
+        }
+        boolean none = operation == Operation.NOT_IN || operation == Operation.IS_NULL;
+        Operation elementOperation = switch (operation) {
+            case NOT_IN -> Operation.IN;
+            case IS_NULL -> Operation.IS_NOT_NULL;
+            default -> operation;
+        };
+        ValueTest valueTest = compileTest(accessor.getJavaType(), elementOperation, values);
+        return object -> {
+            boolean matched = accessor.readAll(object).stream().anyMatch(value -> valueTest.test(value) == Boolean.TRUE);
+            return matched != none;
+        };
+    }
+
+    private static Evaluator compileCollection(final Class<?> type, final CollectionFilter collectionFilter) {
+        FieldAccessor accessor = FieldAccessor.of(type, collectionFilter.getPath());
+        if (!accessor.isToMany()) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_COLLECTION_FIELD, collectionFilter.getPath());
+        }
+        Evaluator evaluator = compile(accessor.getJavaType(), collectionFilter.getFilter());
+        Quantifier quantifier = collectionFilter.getQuantifier();
+        // ALL looks for an element that fails the filter, unknown does not fail it
+        Boolean counted = quantifier == Quantifier.ALL ? Boolean.FALSE : Boolean.TRUE;
+        return object -> {
+            boolean found = accessor.readAll(object).stream()
+                    .anyMatch(element -> element != null && evaluator.evaluate(element) == counted);
+            return quantifier == Quantifier.ANY ? found : !found;
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ValueTest compileTest(final Class<?> fieldType, final Operation operation, final Object[] values) {
+        switch (operation) {
+            case EQUAL, NOT_EQUAL -> {
+                requireValues(operation, values, 1);
+                Object expected = FieldValueConverter.convertFieldValue(values[0], fieldType);
+                boolean equal = operation == Operation.EQUAL;
+                return value -> value == null || expected == null ? null : isEqual(value, expected) == equal;
+            }
+            case LESS_THAN, LESS_THAN_EQUAL, GREATER_THAN, GREATER_THAN_EQUAL -> {
+                requireValues(operation, values, 1);
+                Comparable expected = (Comparable) FieldValueConverter.convertFieldValue(values[0], fieldType);
+                return value -> {
+                    if (value == null || expected == null) {
+                        return null;
+                    }
+                    int comparison = ((Comparable) value).compareTo(expected);
+                    return switch (operation) {
+                        case LESS_THAN -> comparison < 0;
+                        case LESS_THAN_EQUAL -> comparison <= 0;
+                        case GREATER_THAN -> comparison > 0;
+                        default -> comparison >= 0;
+                    };
+                };
+            }
+            case BETWEEN -> {
+                requireValues(operation, values, 2);
+                Comparable from = (Comparable) FieldValueConverter.convertFieldValue(values[0], fieldType);
+                Comparable to = (Comparable) FieldValueConverter.convertFieldValue(values[1], fieldType);
+                return value -> value == null || from == null || to == null
+                        ? null
+                        : from.compareTo(value) <= 0 && to.compareTo(value) >= 0;
+            }
+            case LIKE, NOT_LIKE -> {
+                requireValues(operation, values, 1);
+                Pattern pattern = likePattern("%" + FieldValueConverter.convertFieldValue(values[0], fieldType) + "%");
+                boolean like = operation == Operation.LIKE;
+                return value -> value == null ? null : pattern.matcher(String.valueOf(value)).matches() == like;
+            }
+            case STARTS_WITH, ENDS_WITH, CONTAINS, EQUAL_IGNORE_CASE, STARTS_WITH_IGNORE_CASE, ENDS_WITH_IGNORE_CASE,
+                 CONTAINS_IGNORE_CASE -> {
+                requireValues(operation, values, 1);
+                Object expected = FieldValueConverter.convertFieldValue(values[0], fieldType);
+                return value -> value == null || expected == null
+                        ? null
+                        : StringMatch.matches(operation, String.valueOf(value), expected.toString());
+            }
+            case IN, NOT_IN -> {
+                Set<Object> expected = new HashSet<>();
+                for (Object fieldValue : values) {
+                    // null never matches an IN list
+                    if (fieldValue != null) {
+                        expected.add(normalize(FieldValueConverter.convertFieldValue(fieldValue, fieldType)));
+                    }
+                }
+                boolean in = operation == Operation.IN;
+                if (expected.isEmpty()) {
+                    return value -> !in;
+                }
+                return value -> value == null ? null : expected.contains(normalize(value)) == in;
+            }
+            case IS_NULL -> {
+                requireValues(operation, values, 0);
+                return value -> value == null;
+            }
+            case IS_NOT_NULL -> {
+                requireValues(operation, values, 0);
+                return value -> value != null;
+            }
+            case IS_TRUE, IS_FALSE -> {
+                requireValues(operation, values, 0);
+                Boolean expected = operation == Operation.IS_TRUE;
+                return value -> value == null ? null : expected.equals(value);
+            }
+            case IS_EMPTY_STRING, IS_NOT_EMPTY_STRING -> {
+                requireValues(operation, values, 0);
+                boolean empty = operation == Operation.IS_EMPTY_STRING;
+                return value -> value == null ? null : "".equals(value) == empty;
+            }
+            default -> throw new GenerateSpecificationException(ErrorCode.INVALID_OPERATION, operation);
+        }
+    }
+
+    private static Evaluator compileGroup(final Class<?> type, final FilterGroup filterGroup) {
+        validateConditions(filterGroup);
+        Evaluator[] evaluators = filterGroup.getConditions().stream()
+                .map(condition -> compile(type, condition))
+                .toArray(Evaluator[]::new);
+        return switch (filterGroup.getCondition()) {
+            case AND -> object -> {
+                Boolean result = Boolean.TRUE;
+                for (Evaluator evaluator : evaluators) {
+                    Boolean matched = evaluator.evaluate(object);
+                    if (matched == Boolean.FALSE) {
+                        return Boolean.FALSE;
+                    } else if (matched == null) {
+                        result = null;
+                    }
+                }
+                return result;
+            };
+            case OR -> object -> {
+                Boolean result = Boolean.FALSE;
+                for (Evaluator evaluator : evaluators) {
+                    Boolean matched = evaluator.evaluate(object);
+                    if (matched == Boolean.TRUE) {
+                        return Boolean.TRUE;
+                    } else if (matched == null) {
+                        result = null;
+                    }
+                }
+                return result;
+            };
+            case NOT -> object -> {
+                Boolean matched = evaluators[0].evaluate(object);
+                return matched == null ? null : !matched;
+            };
+        };
+    }
+
+    private static void validateConditions(final FilterGroup filterGroup) {
+        if (filterGroup.getConditions() == null || filterGroup.getConditions().isEmpty()) {
+            throw new GenerateSpecificationException(ErrorCode.EMPTY_CONDITIONS);
+        }
+        if (filterGroup.getCondition() == Condition.NOT && filterGroup.getConditions().size() > 1) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_CONDITIONS_NUMBER, filterGroup.getCondition(), "equal to 1");
+        } else if (filterGroup.getCondition() != Condition.NOT && filterGroup.getConditions().size() < 2) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_CONDITIONS_NUMBER, filterGroup.getCondition(), "greater than or equal 2");
+        }
+    }
+
+    private static void requireValues(final Operation operation, final Object[] values, final int count) {
+        if (values.length != count) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_VALUE_NUMBERS,
+                    operation.name(),
+                    Arrays.stream(values).map(String::valueOf).collect(Collectors.joining(", ")));
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static boolean isEqual(final Object value, final Object expected) {
+        if (value instanceof BigDecimal && expected instanceof BigDecimal) {
+            return ((Comparable) value).compareTo(expected) == 0;
+        }
+        return value.equals(expected);
+    }
+
+    /**
+     * BigDecimal values that only differ in scale are equal in SQL.
+     */
+    private static Object normalize(final Object value) {
+        return value instanceof BigDecimal decimal ? decimal.stripTrailingZeros() : value;
+    }
+
+    private static Pattern likePattern(final String like) {
+        StringBuilder regex = new StringBuilder(like.length() + 8);
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < like.length(); i++) {
+            char c = like.charAt(i);
+            if (c == '%' || c == '_') {
+                if (!literal.isEmpty()) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '%' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
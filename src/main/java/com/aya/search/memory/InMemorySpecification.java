@@ -0,0 +1,65 @@
+package com.aya.search.memory;
+
+import com.aya.search.model.DataManipulationModel;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In Memory Specification.
+ *
+ * <p>Filters and sorts in-memory collections with the same {@link DataManipulationModel} a
+ * {@link com.aya.search.specification.GeneralSpecification} turns into a query. The model is
+ * compiled once by {@link InMemoryCompiler}, the keyset cursor is not applied.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public class InMemorySpecification<T> implements Predicate<T> {
+
+    private final Predicate<T> predicate;
+
+    private final Comparator<T> comparator;
+
+    private final boolean sorted;
+
+    /**
+     * compile the criteria and the sort models of the model.
+     *
+     * @param domainClass           type of the filtered objects
+     * @param dataManipulationModel model
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public InMemorySpecification(final Class<T> domainClass, final DataManipulationModel dataManipulationModel) {
+        this.predicate = InMemoryCompiler.compileFilter(domainClass, dataManipulationModel.getCriteria());
+        this.comparator = InMemoryCompiler.compileSort(domainClass, dataManipulationModel.getSortDataModels());
+        this.sorted = dataManipulationModel.getSortDataModels() != null && !dataManipulationModel.getSortDataModels().isEmpty();
+    }
+
+    @Override
+    public boolean test(final T object) {
+        return predicate.test(object);
+    }
+
+    /**
+     * get comparator of the sort models.
+     *
+     * @return comparator
+     */
+    public Comparator<T> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * filter and sort objects.
+     *
+     * @param objects objects
+     * @return matching objects in sort order
+     */
+    public List<T> apply(final Collection<T> objects) {
+        Stream<T> stream = objects.stream().filter(predicate);
+        return (sorted ? stream.sorted(comparator) : stream).toList();
+    }
+}
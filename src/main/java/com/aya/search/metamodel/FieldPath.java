@@ -0,0 +1,91 @@
+package com.aya.search.metamodel;
+
+import jakarta.persistence.metamodel.Attribute;
+import lombok.Getter;
+import java.util.List;
+
+/**
+ * Field Path, an immutable descriptor of a dotted field name resolved against the JPA Metamodel.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+public final class FieldPath {
+
+    /**
+     * the dotted field name, e.g. community.className.
+     */
+    private final String path;
+
+    /**
+     * the attribute names of the path.
+     */
+    private final List<String> segments;
+
+    /**
+     * the dotted prefixes of the path that must be joined, one per segment except the last one.
+     */
+    private final List<String> prefixes;
+
+    /**
+     * the resolved attribute chain, one per segment.
+     */
+    private final List<Attribute<?, ?>> attributes;
+
+    /**
+     * java type of the last attribute, the element type for collections.
+     */
+    private final Class<?> javaType;
+
+    /**
+     * true if the path crosses a collection attribute.
+     */
+    private final boolean toMany;
+
+    /**
+     * true if the path can be used as a sort field, i.e. it does not cross a collection attribute.
+     */
+    private final boolean sortable;
+
+    /**
+     * true if the path ends with the identifier of a to-one association,
+     * which can be read from the foreign key column without joining the association.
+     */
+    private final boolean foreignKey;
+
+    FieldPath(final String path,
+              final List<String> segments,
+              final List<String> prefixes,
+              final List<Attribute<?, ?>> attributes,
+              final Class<?> javaType,
+              final boolean toMany,
+              final boolean foreignKey) {
+        this.path = path;
+        this.segments = List.copyOf(segments);
+        this.prefixes = List.copyOf(prefixes);
+        this.attributes = List.copyOf(attributes);
+        this.javaType = javaType;
+        this.toMany = toMany;
+        this.sortable = !toMany;
+        this.foreignKey = foreignKey;
+    }
+
+    /**
+     * get last attribute.
+     *
+     * @return attribute
+     */
+    public Attribute<?, ?> getAttribute() {
+        return attributes.get(attributes.size() - 1);
+    }
+
+    /**
+     * get number of segments.
+     *
+     * @return size
+     */
+    public int size() {
+        return segments.size();
+    }
+}
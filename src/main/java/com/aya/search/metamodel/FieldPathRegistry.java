@@ -0,0 +1,164 @@
+package com.aya.search.metamodel;
+
+import com.aya.search.exception.ErrorCode;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.instrumentation.SearchEvent;
+import com.aya.search.instrumentation.SearchInstrumentation;
+import com.aya.search.instrumentation.SearchStage;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.IdentifiableType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.persistence.metamodel.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Field Path Registry.
+ *
+ * <p>Resolves {@code (entityClass, dottedPath)} once against the JPA Metamodel and caches the
+ * resulting {@link FieldPath}, so building a query does no string parsing and no exception-driven validation.
+ * The cache holds at most {@link #MAX_PATHS_PER_ENTITY} paths per entity type, paths beyond that
+ * limit are resolved on every call. The paths of a class are cached for one managed type, a managed type of
+ * another metamodel of the class, e.g. of a second entity manager factory, replaces them.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public final class FieldPathRegistry {
+
+    /**
+     * maximum number of cached paths per entity type.
+     */
+    public static final int MAX_PATHS_PER_ENTITY = 1024;
+
+    private static final ClassValue<AtomicReference<Paths>> CACHE = new ClassValue<>() {
+        @Override
+        protected AtomicReference<Paths> computeValue(final Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    private FieldPathRegistry() {
+    }
+
+    /**
+     * get field path.
+     *
+     * @param managedType managed type the path starts from, usually {@code root.getModel()}
+     * @param path        dotted field name
+     * @return field path
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public static FieldPath getFieldPath(final ManagedType<?> managedType, final String path) {
+        SearchEvent searchEvent = SearchInstrumentation.current();
+        if (searchEvent == null) {
+            return lookup(managedType, path);
+        }
+        long start = System.nanoTime();
+        try {
+            return lookup(managedType, path);
+        } finally {
+            searchEvent.addStageNanos(SearchStage.RESOLVE, System.nanoTime() - start);
+        }
+    }
+
+    private static FieldPath lookup(final ManagedType<?> managedType, final String path) {
+        Map<String, FieldPath> paths = getPaths(managedType);
+        FieldPath fieldPath = paths.get(path);
+        if (fieldPath == null) {
+            fieldPath = resolve(managedType, path);
+            if (paths.size() < MAX_PATHS_PER_ENTITY) {
+                paths.putIfAbsent(path, fieldPath);
+            }
+        }
+        return fieldPath;
+    }
+
+    /**
+     * get the cached paths of the managed type, the attributes of a path belong to the metamodel it was resolved against.
+     */
+    private static Map<String, FieldPath> getPaths(final ManagedType<?> managedType) {
+        AtomicReference<Paths> cache = CACHE.get(managedType.getJavaType());
+        Paths paths = cache.get();
+        if (paths == null || paths.managedType() != managedType) {
+            paths = new Paths(managedType, new ConcurrentHashMap<>());
+            cache.set(paths);
+        }
+        return paths.fieldPaths();
+    }
+
+    private static FieldPath resolve(final ManagedType<?> managedType, final String path) {
+        List<String> segments = split(path);
+        List<String> prefixes = new ArrayList<>(segments.size());
+        List<Attribute<?, ?>> attributes = new ArrayList<>(segments.size());
+        ManagedType<?> currentType = managedType;
+        Class<?> javaType = managedType.getJavaType();
+        boolean toMany = false;
+        int end = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            Attribute<?, ?> attribute = currentType == null ? null : findAttribute(currentType, segment);
+            if (attribute == null) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_NAME, segment, javaType.toString());
+            }
+            if (i > 0) {
+                prefixes.add(path.substring(0, end - 1));
+            }
+            end += segment.length() + 1;
+            attributes.add(attribute);
+
+            Type<?> type;
+            if (attribute instanceof PluralAttribute<?, ?, ?> pluralAttribute) {
+                type = pluralAttribute.getElementType();
+                toMany = true;
+            } else {
+                type = ((SingularAttribute<?, ?>) attribute).getType();
+            }
+            javaType = type.getJavaType();
+            currentType = type instanceof ManagedType<?> nextType ? nextType : null;
+        }
+        boolean foreignKey = attributes.size() > 1 && isIdentifier(attributes.get(attributes.size() - 1))
+                && isToOne(attributes.get(attributes.size() - 2));
+        return new FieldPath(path, segments, prefixes, attributes, javaType, toMany, foreignKey);
+    }
+
+    private static List<String> split(final String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int index;
+        while ((index = path.indexOf('.', start)) >= 0) {
+            segments.add(path.substring(start, index));
+            start = index + 1;
+        }
+        segments.add(path.substring(start));
+        return segments;
+    }
+
+    private static Attribute<?, ?> findAttribute(final ManagedType<?> managedType, final String name) {
+        for (Attribute<?, ?> attribute : managedType.getAttributes()) {
+            if (attribute.getName().equals(name)) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isToOne(final Attribute<?, ?> attribute) {
+        return attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.MANY_TO_ONE
+                || attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.ONE_TO_ONE;
+    }
+
+    private static boolean isIdentifier(final Attribute<?, ?> attribute) {
+        return attribute instanceof SingularAttribute<?, ?> singularAttribute
+                && singularAttribute.isId()
+                && attribute.getDeclaringType() instanceof IdentifiableType<?>;
+    }
+
+    private record Paths(ManagedType<?> managedType, Map<String, FieldPath> fieldPaths) {
+    }
+}
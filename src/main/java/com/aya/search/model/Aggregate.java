@@ -0,0 +1,119 @@
+package com.aya.search.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import java.util.Locale;
+
+/**
+ * Aggregate, a function applied to a field of the matching rows.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class Aggregate {
+
+    /**
+     * The function to apply {@link AggregateFunction}.
+     */
+    private final AggregateFunction function;
+
+    /**
+     * dotted field the function applies to, null to count the rows.
+     **/
+    private final String field;
+
+    private Aggregate(final AggregateFunction function,
+                      final String field) {
+        this.function = function;
+        this.field = field;
+    }
+
+    /**
+     * get the alias of the result, e.g. {@code avg(gpa)}, {@code count_distinct(community.id)} or {@code count}.
+     *
+     * @return alias
+     */
+    public String getAlias() {
+        String name = function.name().toLowerCase(Locale.ROOT);
+        return field == null ? name : name + "(" + field + ")";
+    }
+
+    /**
+     * Function.
+     */
+    public static final class Function {
+
+        /**
+         * count the rows.
+         *
+         * @return Aggregate
+         */
+        public static Aggregate count() {
+            return new Aggregate(AggregateFunction.COUNT, null);
+        }
+
+        /**
+         * count the non-null values of a field.
+         *
+         * @param field field
+         * @return Aggregate
+         */
+        public static Aggregate count(final String field) {
+            return new Aggregate(AggregateFunction.COUNT, field);
+        }
+
+        /**
+         * count the distinct non-null values of a field.
+         *
+         * @param field field
+         * @return Aggregate
+         */
+        public static Aggregate countDistinct(final String field) {
+            return new Aggregate(AggregateFunction.COUNT_DISTINCT, field);
+        }
+
+        /**
+         * sum a numeric field.
+         *
+         * @param field field
+         * @return Aggregate
+         */
+        public static Aggregate sum(final String field) {
+            return new Aggregate(AggregateFunction.SUM, field);
+        }
+
+        /**
+         * average a numeric field.
+         *
+         * @param field field
+         * @return Aggregate
+         */
+        public static Aggregate avg(final String field) {
+            return new Aggregate(AggregateFunction.AVG, field);
+        }
+
+        /**
+         * smallest value of a comparable field.
+         *
+         * @param field field
+         * @return Aggregate
+         */
+        public static Aggregate min(final String field) {
+            return new Aggregate(AggregateFunction.MIN, field);
+        }
+
+        /**
+         * largest value of a comparable field.
+         *
+         * @param field field
+         * @return Aggregate
+         */
+        public static Aggregate max(final String field) {
+            return new Aggregate(AggregateFunction.MAX, field);
+        }
+    }
+}
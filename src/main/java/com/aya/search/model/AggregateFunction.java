@@ -0,0 +1,16 @@
+package com.aya.search.model;
+
+/**
+ * aggregate function.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public enum AggregateFunction {
+    COUNT,
+    COUNT_DISTINCT,
+    SUM,
+    AVG,
+    MIN,
+    MAX
+}
@@ -0,0 +1,44 @@
+package com.aya.search.model;
+
+import lombok.Data;
+import java.util.List;
+
+/**
+ * Aggregation Model, the aggregates computed over the rows matching the criteria of a {@link DataManipulationModel}
+ * by {@link com.aya.search.executor.SearchExecutor#aggregate(com.aya.search.specification.GeneralSpecification, AggregationModel)}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Data
+public class AggregationModel {
+
+    /**
+     * aggregates, each tuple element is aliased by {@link Aggregate#getAlias()}.
+     */
+    private List<Aggregate> aggregates;
+
+    /**
+     * dotted paths the rows are grouped by, each tuple element is aliased by its path. A to-one association
+     * is grouped by its identifier. Without group by fields one tuple is returned.
+     **/
+    private List<String> groupByFields;
+
+    /**
+     * set aggregates.
+     *
+     * @param aggregate aggregates
+     */
+    public void setAggregate(final Aggregate... aggregate) {
+        aggregates = List.of(aggregate);
+    }
+
+    /**
+     * set group by fields.
+     *
+     * @param field dotted paths
+     */
+    public void setGroupByField(final String... field) {
+        groupByFields = List.of(field);
+    }
+}
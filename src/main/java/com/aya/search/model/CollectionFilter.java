@@ -0,0 +1,96 @@
+package com.aya.search.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Collection Filter, applies a filter to the elements of a collection attribute.
+ *
+ * <p>It is built as a correlated {@code EXISTS} subquery: ANY matches if an element matches the filter,
+ * NONE if no element matches it and ALL if no element fails it, so ALL matches empty collections.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class CollectionFilter implements Filter {
+
+    /**
+     * The quantifier of the elements {@link Quantifier}.
+     */
+    private final Quantifier quantifier;
+
+    /**
+     * dotted path of the collection attribute, e.g. {@code students} or {@code community.students}.
+     */
+    private final String path;
+
+    /**
+     * filter of the elements, its field names are relative to the element type.
+     */
+    private final Filter filter;
+
+    private CollectionFilter(final Quantifier quantifier,
+                             final String path,
+                             final Filter filter) {
+        this.quantifier = quantifier;
+        this.path = path;
+        this.filter = filter;
+    }
+
+    /**
+     * Elements.
+     */
+    public static final class Elements {
+
+        /**
+         * match if any element matches the filter.
+         *
+         * @param path   collection path
+         * @param filter element filter
+         * @return CollectionFilter
+         */
+        public static CollectionFilter any(final String path, final Filter filter) {
+            return new CollectionFilter(Quantifier.ANY, path, filter);
+        }
+
+        /**
+         * match if all elements match the filter.
+         *
+         * @param path   collection path
+         * @param filter element filter
+         * @return CollectionFilter
+         */
+        public static CollectionFilter all(final String path, final Filter filter) {
+            return new CollectionFilter(Quantifier.ALL, path, filter);
+        }
+
+        /**
+         * match if no element matches the filter.
+         *
+         * @param path   collection path
+         * @param filter element filter
+         * @return CollectionFilter
+         */
+        public static CollectionFilter none(final String path, final Filter filter) {
+            return new CollectionFilter(Quantifier.NONE, path, filter);
+        }
+
+        /**
+         * create collection filter.
+         *
+         * @param quantifier quantifier
+         * @param path       collection path
+         * @param filter     element filter
+         * @return CollectionFilter
+         */
+        public static CollectionFilter quantified(final Quantifier quantifier,
+                                                  final String path,
+                                                  final Filter filter) {
+            return new CollectionFilter(quantifier, path, filter);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.aya.search.model;
+
+/**
+ * Constant Filter, a filter whose result does not depend on the row.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public enum ConstantFilter implements Filter {
+    ALWAYS_TRUE,
+    ALWAYS_FALSE
+}
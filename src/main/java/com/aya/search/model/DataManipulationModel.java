@@ -26,6 +26,30 @@ public class DataManipulationModel {
     @Setter
     private Filter criteria;
 
+    /**
+     * Keyset cursor, when set the page is read with a seek predicate after the cursor
+     * and the primary key is added as the last sort field. The sort fields should not be nullable.
+     **/
+    private KeysetCursor cursor;
+
+    /**
+     * dotted paths selected by projection queries, in select order.
+     **/
+    private List<String> projections;
+
+    /**
+     * dotted association paths loaded with the entities, e.g. {@code community}. To-one paths are fetch joined,
+     * to-many paths are loaded by {@link com.aya.search.executor.SearchExecutor} with one query per path.
+     **/
+    private List<String> fetches;
+
+    /**
+     * dotted paths counted per value for the current criteria by
+     * {@link com.aya.search.executor.SearchExecutor#findFacets(com.aya.search.specification.GeneralSpecification,
+     * com.aya.search.executor.FacetOptions)}, e.g. {@code gpaLetter}. A to-one association is counted per identifier.
+     **/
+    private List<String> facets;
+
     /**
      * set Sort Model.
      *
@@ -34,4 +58,31 @@ public class DataManipulationModel {
     public void setSortModel(final SortDataModel... sortModel) {
         sortDataModels = List.of(sortModel);
     }
+
+    /**
+     * set projections.
+     *
+     * @param projection dotted paths
+     */
+    public void setProjection(final String... projection) {
+        projections = List.of(projection);
+    }
+
+    /**
+     * set fetches.
+     *
+     * @param fetch dotted association paths
+     */
+    public void setFetch(final String... fetch) {
+        fetches = List.of(fetch);
+    }
+
+    /**
+     * set facets.
+     *
+     * @param facet dotted paths
+     */
+    public void setFacet(final String... facet) {
+        facets = List.of(facet);
+    }
 }
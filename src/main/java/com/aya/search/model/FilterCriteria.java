@@ -1,6 +1,8 @@
 package com.aya.search.model;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.ToString;
 
 /**
  * Filter Criteria.
@@ -9,6 +11,8 @@ import lombok.Getter;
  * @since 03/04/2024
  */
 @Getter
+@EqualsAndHashCode
+@ToString
 public final class FilterCriteria implements Filter {
 
     /**
@@ -1,6 +1,8 @@
 package com.aya.search.model;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.ToString;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -12,6 +14,8 @@ import java.util.List;
  * @since 05/24/2024
  */
 @Getter
+@EqualsAndHashCode
+@ToString
 public final class FilterGroup implements Filter {
 
     /**
@@ -70,6 +74,18 @@ public final class FilterGroup implements Filter {
             return new FilterGroup(Condition.OR, filters);
         }
 
+        /**
+         * create group from a list of filters.
+         *
+         * @param condition  condition
+         * @param conditions conditions
+         * @return FilterGroup
+         */
+        public static FilterGroup group(final Condition condition,
+                                        final List<com.aya.search.model.Filter> conditions) {
+            return new FilterGroup(condition, List.copyOf(conditions));
+        }
+
         /**
          * create or condition.
          *
@@ -0,0 +1,134 @@
+package com.aya.search.model;
+
+import com.aya.search.exception.ErrorCode;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.util.FieldValueReader;
+import com.aya.search.util.ValueCodec;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keyset Cursor.
+ *
+ * <p>Holds the sort values of the last row of a page, followed by its primary key.
+ * When a cursor is set on {@link DataManipulationModel} the next page is read with a seek predicate
+ * instead of an offset, use {@link #first()} for the first page. The encoded cursor keeps the type of each value
+ * with the type tags of {@link ValueCodec}, so dates, decimals and UUIDs are read back as they were.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@EqualsAndHashCode(of = "values")
+public final class KeysetCursor {
+
+    /**
+     * limits of a decoded cursor, it holds one value per sort field and the primary key.
+     */
+    private static final int MAX_VALUES = 64;
+
+    private static final int MAX_STRING_LENGTH = 4096;
+
+    private static final KeysetCursor FIRST = new KeysetCursor(Collections.emptyList());
+
+    /**
+     * sort values of the last row in the order of the sort models,
+     * followed by the primary key unless it is one of the sort fields.
+     */
+    private final List<Object> values;
+
+    private KeysetCursor(final List<Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * cursor of the first page.
+     *
+     * @return KeysetCursor
+     */
+    public static KeysetCursor first() {
+        return FIRST;
+    }
+
+    /**
+     * create cursor from the sort values of the last row.
+     *
+     * @param values sort values followed by the primary key
+     * @return KeysetCursor
+     */
+    public static KeysetCursor of(final Object... values) {
+        return new KeysetCursor(Collections.unmodifiableList(Arrays.asList(values)));
+    }
+
+    /**
+     * create cursor pointing after the given row.
+     *
+     * @param row                   last row of the current page
+     * @param dataManipulationModel model used to read the current page
+     * @return KeysetCursor
+     */
+    public static KeysetCursor after(final Object row, final DataManipulationModel dataManipulationModel) {
+        List<Object> values = new ArrayList<>();
+        String idField = FieldValueReader.getIdFieldName(row);
+        boolean sortedById = false;
+        if (dataManipulationModel.getSortDataModels() != null) {
+            for (SortDataModel sortDataModel : dataManipulationModel.getSortDataModels()) {
+                values.add(FieldValueReader.readValue(row, sortDataModel.getSortField()));
+                sortedById |= sortDataModel.getSortField().equals(idField);
+            }
+        }
+        if (!sortedById) {
+            values.add(FieldValueReader.readValue(row, idField));
+        }
+        return new KeysetCursor(Collections.unmodifiableList(values));
+    }
+
+    /**
+     * decode an opaque cursor created by {@link #encode()}.
+     *
+     * @param cursor cursor
+     * @return KeysetCursor
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public static KeysetCursor decode(final String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return FIRST;
+        }
+        try {
+            return of(ValueCodec.decodeValues(Base64.getUrlDecoder().decode(cursor), MAX_VALUES, MAX_STRING_LENGTH));
+        } catch (Exception e) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_CURSOR, cursor);
+        }
+    }
+
+    /**
+     * encode the cursor as an opaque url safe string.
+     *
+     * @return cursor
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public String encode() {
+        if (values.isEmpty()) {
+            return "";
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(ValueCodec.encodeValues(values));
+        } catch (Exception e) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_CURSOR, values);
+        }
+    }
+
+    /**
+     * check if the cursor points to the first page.
+     *
+     * @return true if the cursor has no values
+     */
+    public boolean isFirst() {
+        return values.isEmpty();
+    }
+}
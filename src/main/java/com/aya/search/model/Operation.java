@@ -23,5 +23,12 @@ public enum Operation {
     IS_TRUE,
     IS_FALSE,
     IS_EMPTY_STRING,
-    IS_NOT_EMPTY_STRING
+    IS_NOT_EMPTY_STRING,
+    STARTS_WITH,
+    ENDS_WITH,
+    CONTAINS,
+    EQUAL_IGNORE_CASE,
+    STARTS_WITH_IGNORE_CASE,
+    ENDS_WITH_IGNORE_CASE,
+    CONTAINS_IGNORE_CASE
 }
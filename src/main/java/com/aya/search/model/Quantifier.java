@@ -0,0 +1,13 @@
+package com.aya.search.model;
+
+/**
+ * Quantifiers of a {@link CollectionFilter}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public enum Quantifier {
+    ANY,
+    ALL,
+    NONE
+}
@@ -0,0 +1,458 @@
+package com.aya.search.optimizer;
+
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+
+import com.aya.search.metamodel.FieldPathRegistry;
+import com.aya.search.model.CollectionFilter;
+import com.aya.search.model.Condition;
+import com.aya.search.model.ConstantFilter;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.FilterCriteria;
+import com.aya.search.model.FilterGroup;
+import com.aya.search.model.Operation;
+import com.aya.search.model.Quantifier;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Filter Optimizer.
+ *
+ * <p>Normalizes and simplifies a filter tree before it reaches the
+ * {@link com.aya.search.specification.GeneralSpecification}:</p>
+ * <ul>
+ *     <li>NOT is pushed down to the leaves using De Morgan's laws and the negated operations,
+ *     NOT ANY becomes NONE, NOT NONE becomes ANY and NOT ALL becomes ANY of the negated element filter.</li>
+ *     <li>nested groups with the same condition are flattened and duplicate filters are removed.</li>
+ *     <li>EQUAL / IN on the same field are merged into one IN under OR, and intersected under AND.</li>
+ *     <li>range bounds on the same field are merged into the tightest range or BETWEEN under AND.</li>
+ *     <li>contradictions become {@link ConstantFilter#ALWAYS_FALSE}, which needs no query.</li>
+ * </ul>
+ *
+ * <p>Values are only intersected or compared when they are numbers or temporal values of the same class,
+ * strings are left to the database since their comparison depends on the field type and collation.
+ * Invalid groups are left untouched so the specification reports them. The filter of a {@link CollectionFilter} is
+ * optimized on its own and never merged with the filters outside it.</p>
+ *
+ * <p>A leaf on a path crossing a collection matches when any element matches, so it is neither negated nor
+ * intersected with the other leaves of its field: {@code NOT students.gpa = 3.9} is not {@code students.gpa != 3.9}
+ * and {@code students.id = 2 AND students.id = 3} is no contradiction. Merging its EQUAL / IN leaves under OR is kept,
+ * any element matching one value is any element matching the union. Given the managed type, the paths are resolved
+ * with {@link FieldPathRegistry}, so an invalid path fails here as it would in the specification. Without it every
+ * dotted path is treated as crossing a collection.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public final class FilterOptimizer {
+
+    private static final Map<Operation, Operation> NEGATIONS = new EnumMap<>(Operation.class);
+
+    static {
+        negation(Operation.EQUAL, Operation.NOT_EQUAL);
+        negation(Operation.LESS_THAN, Operation.GREATER_THAN_EQUAL);
+        negation(Operation.GREATER_THAN, Operation.LESS_THAN_EQUAL);
+        negation(Operation.LIKE, Operation.NOT_LIKE);
+        negation(Operation.IS_NULL, Operation.IS_NOT_NULL);
+        negation(Operation.IN, Operation.NOT_IN);
+        negation(Operation.IS_TRUE, Operation.IS_FALSE);
+        negation(Operation.IS_EMPTY_STRING, Operation.IS_NOT_EMPTY_STRING);
+    }
+
+    private FilterOptimizer() {
+    }
+
+    private static void negation(final Operation operation, final Operation negatedOperation) {
+        NEGATIONS.put(operation, negatedOperation);
+        NEGATIONS.put(negatedOperation, operation);
+    }
+
+    /**
+     * optimize the criteria of a model, sorting, cursor, projections, fetches and facets are kept.
+     * Every dotted path is treated as crossing a collection.
+     *
+     * @param dataManipulationModel dataManipulationModel
+     * @return optimized copy of the model
+     */
+    public static DataManipulationModel optimize(final DataManipulationModel dataManipulationModel) {
+        return optimize(null, dataManipulationModel);
+    }
+
+    /**
+     * optimize the criteria of a model, sorting, cursor, projections, fetches and facets are kept.
+     *
+     * @param managedType           managed type the paths start from, e.g. {@code metamodel.managedType(Student.class)}
+     * @param dataManipulationModel dataManipulationModel
+     * @return optimized copy of the model
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public static DataManipulationModel optimize(final ManagedType<?> managedType, final DataManipulationModel dataManipulationModel) {
+        DataManipulationModel optimized = new DataManipulationModel();
+        optimized.setSortDataModels(dataManipulationModel.getSortDataModels());
+        optimized.setCursor(dataManipulationModel.getCursor());
+        optimized.setProjections(dataManipulationModel.getProjections());
+        optimized.setFetches(dataManipulationModel.getFetches());
+        optimized.setFacets(dataManipulationModel.getFacets());
+        if (dataManipulationModel.getCriteria() != null) {
+            optimized.setCriteria(optimize(managedType, dataManipulationModel.getCriteria()));
+        }
+        return optimized;
+    }
+
+    /**
+     * optimize filter tree, every dotted path is treated as crossing a collection.
+     *
+     * @param filter filter
+     * @return optimized filter
+     */
+    public static Filter optimize(final Filter filter) {
+        return optimize(null, filter);
+    }
+
+    /**
+     * optimize filter tree.
+     *
+     * @param managedType managed type the paths start from, null to treat every dotted path as crossing a collection
+     * @param filter      filter
+     * @return optimized filter
+     * @throws com.aya.search.exception.GenerateSpecificationException GenerateSpecificationException
+     */
+    public static Filter optimize(final ManagedType<?> managedType, final Filter filter) {
+        Scope scope = new Scope(managedType);
+        return simplify(scope, pushNot(scope, filter, false));
+    }
+
+    private static Filter pushNot(final Scope scope, final Filter filter, final boolean negated) {
+        if (filter instanceof ConstantFilter) {
+            return negated ? negate((ConstantFilter) filter) : filter;
+        } else if (filter instanceof FilterCriteria filterCriteria) {
+            if (!negated) {
+                return filter;
+            }
+            return scope.isToMany(filterCriteria) ? FilterGroup.Filter.not(filterCriteria) : negate(filterCriteria);
+        } else if (filter instanceof FilterGroup filterGroup && isValid(filterGroup)) {
+            if (filterGroup.getCondition() == Condition.NOT) {
+                return pushNot(scope, filterGroup.getConditions().get(0), !negated);
+            }
+            Condition condition = negated ? flip(filterGroup.getCondition()) : filterGroup.getCondition();
+            List<Filter> conditions = new ArrayList<>(filterGroup.getConditions().size());
+            for (Filter child : filterGroup.getConditions()) {
+                conditions.add(pushNot(scope, child, negated));
+            }
+            return FilterGroup.Filter.group(condition, conditions);
+        } else if (filter instanceof CollectionFilter collectionFilter && collectionFilter.getFilter() != null) {
+            return negated ? negate(scope, collectionFilter) : CollectionFilter.Elements.quantified(collectionFilter.getQuantifier(),
+                    collectionFilter.getPath(), pushNot(scope.element(collectionFilter), collectionFilter.getFilter(), false));
+        }
+        return negated ? FilterGroup.Filter.not(filter) : filter;
+    }
+
+    private static Filter negate(final Scope scope, final CollectionFilter collectionFilter) {
+        String path = collectionFilter.getPath();
+        Filter filter = collectionFilter.getFilter();
+        Scope element = scope.element(collectionFilter);
+        return switch (collectionFilter.getQuantifier()) {
+            case ANY -> CollectionFilter.Elements.none(path, pushNot(element, filter, false));
+            case NONE -> CollectionFilter.Elements.any(path, pushNot(element, filter, false));
+            case ALL -> CollectionFilter.Elements.any(path, pushNot(element, filter, true));
+        };
+    }
+
+    private static Filter negate(final ConstantFilter constantFilter) {
+        return constantFilter == ConstantFilter.ALWAYS_TRUE ? ConstantFilter.ALWAYS_FALSE : ConstantFilter.ALWAYS_TRUE;
+    }
+
+    private static Filter negate(final FilterCriteria filterCriteria) {
+        Object[] values = filterCriteria.getFieldValue();
+        if (filterCriteria.getOperation() == Operation.BETWEEN && values != null && values.length == 2) {
+            return FilterGroup.Filter.or(
+                    condition(filterCriteria.getFieldName(), Operation.LESS_THAN, values[0]),
+                    condition(filterCriteria.getFieldName(), Operation.GREATER_THAN, values[1]));
+        }
+        Operation negatedOperation = NEGATIONS.get(filterCriteria.getOperation());
+        if (negatedOperation == null) {
+            return FilterGroup.Filter.not(filterCriteria);
+        }
+        return condition(filterCriteria.getFieldName(), negatedOperation, values);
+    }
+
+    private static Condition flip(final Condition condition) {
+        return condition == Condition.AND ? Condition.OR : Condition.AND;
+    }
+
+    private static boolean isValid(final FilterGroup filterGroup) {
+        if (filterGroup.getCondition() == null || filterGroup.getConditions() == null
+                || filterGroup.getConditions().stream().anyMatch(Objects::isNull)) {
+            return false;
+        }
+        return filterGroup.getCondition() == Condition.NOT
+                ? filterGroup.getConditions().size() == 1
+                : filterGroup.getConditions().size() >= 2;
+    }
+
+    private static Filter simplify(final Scope scope, final Filter filter) {
+        if (filter instanceof CollectionFilter collectionFilter && collectionFilter.getFilter() != null) {
+            return simplify(scope, collectionFilter);
+        }
+        if (!(filter instanceof FilterGroup filterGroup) || !isValid(filterGroup) || filterGroup.getCondition() == Condition.NOT) {
+            return filter;
+        }
+        Condition condition = filterGroup.getCondition();
+        ConstantFilter absorbing = condition == Condition.AND ? ConstantFilter.ALWAYS_FALSE : ConstantFilter.ALWAYS_TRUE;
+        Set<Filter> conditions = new LinkedHashSet<>();
+        for (Filter child : filterGroup.getConditions()) {
+            Filter simplified = simplify(scope, child);
+            if (simplified == absorbing) {
+                return absorbing;
+            } else if (simplified instanceof FilterGroup childGroup && childGroup.getCondition() == condition) {
+                conditions.addAll(childGroup.getConditions());
+            } else if (!(simplified instanceof ConstantFilter)) {
+                conditions.add(simplified);
+            }
+        }
+        List<Filter> merged = condition == Condition.AND ? mergeAnd(scope, new ArrayList<>(conditions)) : mergeOr(new ArrayList<>(conditions));
+        if (merged == null) {
+            return absorbing;
+        } else if (merged.isEmpty()) {
+            return negate(absorbing);
+        } else if (merged.size() == 1) {
+            return merged.get(0);
+        }
+        return FilterGroup.Filter.group(condition, merged);
+    }
+
+    /**
+     * ANY and NONE of a contradiction and ALL of a tautology are constant, the other quantifiers of a constant
+     * still depend on whether the collection is empty.
+     */
+    private static Filter simplify(final Scope scope, final CollectionFilter collectionFilter) {
+        Filter filter = simplify(scope.element(collectionFilter), collectionFilter.getFilter());
+        Quantifier quantifier = collectionFilter.getQuantifier();
+        if (filter == ConstantFilter.ALWAYS_FALSE && quantifier != Quantifier.ALL) {
+            return quantifier == Quantifier.ANY ? ConstantFilter.ALWAYS_FALSE : ConstantFilter.ALWAYS_TRUE;
+        } else if (filter == ConstantFilter.ALWAYS_TRUE && quantifier == Quantifier.ALL) {
+            return ConstantFilter.ALWAYS_TRUE;
+        }
+        return CollectionFilter.Elements.quantified(quantifier, collectionFilter.getPath(), filter);
+    }
+
+    /**
+     * merge EQUAL / IN leaves on the same field into one IN leaf.
+     */
+    private static List<Filter> mergeOr(final List<Filter> conditions) {
+        Map<String, List<FilterCriteria>> leaves = groupLeaves(conditions, Operation.EQUAL, Operation.IN);
+        List<Filter> merged = new ArrayList<>(conditions.size());
+        for (Filter filter : conditions) {
+            List<FilterCriteria> fieldLeaves = filter instanceof FilterCriteria criteria ? leaves.get(criteria.getFieldName()) : null;
+            if (fieldLeaves == null || fieldLeaves.size() < 2) {
+                merged.add(filter);
+            } else if (fieldLeaves.get(0) == filter) {
+                Set<Object> values = new LinkedHashSet<>();
+                fieldLeaves.forEach(leaf -> values.addAll(Arrays.asList(leaf.getFieldValue())));
+                merged.add(valuesCondition(((FilterCriteria) filter).getFieldName(), values));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * intersect EQUAL / IN leaves and merge range bounds on the same field, returns null if the conditions contradict.
+     * The leaves on paths crossing a collection are kept as they are.
+     */
+    private static List<Filter> mergeAnd(final Scope scope, final List<Filter> conditions) {
+        Map<String, List<FilterCriteria>> values = groupLeaves(conditions, Operation.EQUAL, Operation.IN);
+        Map<String, List<FilterCriteria>> ranges = groupLeaves(conditions, Operation.GREATER_THAN, Operation.GREATER_THAN_EQUAL,
+                Operation.LESS_THAN, Operation.LESS_THAN_EQUAL, Operation.BETWEEN);
+        List<Filter> merged = new ArrayList<>(conditions.size());
+        for (Filter filter : conditions) {
+            if (!(filter instanceof FilterCriteria criteria) || scope.isToMany(criteria)) {
+                merged.add(filter);
+                continue;
+            }
+            List<FilterCriteria> fieldValues = values.get(criteria.getFieldName());
+            List<FilterCriteria> fieldRanges = ranges.get(criteria.getFieldName());
+            if (fieldValues != null && fieldValues.size() > 1 && fieldValues.contains(criteria) && isOrderable(fieldValues)) {
+                if (fieldValues.get(0) == criteria) {
+                    Set<Object> intersection = intersect(fieldValues);
+                    if (intersection.isEmpty()) {
+                        return null;
+                    }
+                    merged.add(valuesCondition(criteria.getFieldName(), intersection));
+                }
+            } else if (fieldRanges != null && fieldRanges.size() > 1 && fieldRanges.contains(criteria) && isOrderable(fieldRanges)) {
+                if (fieldRanges.get(0) == criteria) {
+                    Range range = new Range();
+                    fieldRanges.forEach(range::add);
+                    if (range.isEmpty()) {
+                        return null;
+                    }
+                    merged.addAll(range.toConditions(criteria.getFieldName()));
+                }
+            } else {
+                merged.add(filter);
+            }
+        }
+        return merged;
+    }
+
+    private static Map<String, List<FilterCriteria>> groupLeaves(final List<Filter> conditions, final Operation... operations) {
+        List<Operation> accepted = Arrays.asList(operations);
+        Map<String, List<FilterCriteria>> leaves = new LinkedHashMap<>();
+        for (Filter filter : conditions) {
+            if (filter instanceof FilterCriteria criteria
+                    && accepted.contains(criteria.getOperation())
+                    && criteria.getFieldValue() != null
+                    && hasValidValues(criteria)) {
+                leaves.computeIfAbsent(criteria.getFieldName(), fieldName -> new ArrayList<>()).add(criteria);
+            }
+        }
+        return leaves;
+    }
+
+    private static boolean hasValidValues(final FilterCriteria criteria) {
+        Object[] values = criteria.getFieldValue();
+        if (Arrays.asList(values).contains(null)) {
+            return false;
+        }
+        return switch (criteria.getOperation()) {
+            case IN -> values.length > 0;
+            case BETWEEN -> values.length == 2;
+            default -> values.length == 1;
+        };
+    }
+
+    private static boolean isOrderable(final List<FilterCriteria> leaves) {
+        Class<?> type = leaves.get(0).getFieldValue()[0].getClass();
+        for (FilterCriteria leaf : leaves) {
+            for (Object value : leaf.getFieldValue()) {
+                if (value.getClass() != type || !(value instanceof Comparable) || value instanceof CharSequence
+                        || value instanceof Character || value instanceof Boolean || value instanceof Enum) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Set<Object> intersect(final List<FilterCriteria> leaves) {
+        Set<Object> intersection = new LinkedHashSet<>(Arrays.asList(leaves.get(0).getFieldValue()));
+        for (int i = 1; i < leaves.size(); i++) {
+            Object[] values = leaves.get(i).getFieldValue();
+            intersection.removeIf(value -> Arrays.stream(values).noneMatch(other -> ((Comparable) value).compareTo(other) == 0));
+        }
+        return intersection;
+    }
+
+    private static FilterCriteria valuesCondition(final String fieldName, final Set<Object> values) {
+        return values.size() == 1
+                ? condition(fieldName, Operation.EQUAL, values.iterator().next())
+                : condition(fieldName, Operation.IN, values.toArray());
+    }
+
+    /**
+     * managed type the paths of a filter start from, null when unknown.
+     */
+    private static final class Scope {
+
+        private final ManagedType<?> managedType;
+
+        Scope(final ManagedType<?> managedType) {
+            this.managedType = managedType;
+        }
+
+        boolean isToMany(final FilterCriteria criteria) {
+            String fieldName = criteria.getFieldName();
+            if (managedType == null || fieldName == null) {
+                return fieldName == null || fieldName.indexOf('.') >= 0;
+            }
+            return FieldPathRegistry.getFieldPath(managedType, fieldName).isToMany();
+        }
+
+        Scope element(final CollectionFilter collectionFilter) {
+            if (managedType == null || collectionFilter.getPath() == null) {
+                return new Scope(null);
+            }
+            Attribute<?, ?> attribute = FieldPathRegistry.getFieldPath(managedType, collectionFilter.getPath()).getAttribute();
+            return new Scope(attribute instanceof PluralAttribute<?, ?, ?> pluralAttribute
+                    && pluralAttribute.getElementType() instanceof ManagedType<?> elementType ? elementType : null);
+        }
+    }
+
+    /**
+     * range of a field, null bounds are open.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final class Range {
+
+        private Comparable lower;
+        private boolean lowerInclusive;
+        private Comparable upper;
+        private boolean upperInclusive;
+
+        void add(final FilterCriteria criteria) {
+            Object[] values = criteria.getFieldValue();
+            switch (criteria.getOperation()) {
+                case GREATER_THAN -> lower((Comparable) values[0], false);
+                case GREATER_THAN_EQUAL -> lower((Comparable) values[0], true);
+                case LESS_THAN -> upper((Comparable) values[0], false);
+                case LESS_THAN_EQUAL -> upper((Comparable) values[0], true);
+                case BETWEEN -> {
+                    lower((Comparable) values[0], true);
+                    upper((Comparable) values[1], true);
+                }
+                default -> throw new IllegalArgumentException(criteria.getOperation().name());
+            }
+        }
+
+        private void lower(final Comparable value, final boolean inclusive) {
+            int compare = lower == null ? 1 : value.compareTo(lower);
+            if (compare > 0 || compare == 0 && !inclusive) {
+                lower = value;
+                lowerInclusive = inclusive;
+            }
+        }
+
+        private void upper(final Comparable value, final boolean inclusive) {
+            int compare = upper == null ? -1 : value.compareTo(upper);
+            if (compare < 0 || compare == 0 && !inclusive) {
+                upper = value;
+                upperInclusive = inclusive;
+            }
+        }
+
+        boolean isEmpty() {
+            if (lower == null || upper == null) {
+                return false;
+            }
+            int compare = lower.compareTo(upper);
+            return compare > 0 || compare == 0 && !(lowerInclusive && upperInclusive);
+        }
+
+        List<Filter> toConditions(final String fieldName) {
+            if (lower != null && upper != null && lowerInclusive && upperInclusive) {
+                return List.of(lower.compareTo(upper) == 0
+                        ? condition(fieldName, Operation.EQUAL, lower)
+                        : condition(fieldName, Operation.BETWEEN, lower, upper));
+            }
+            List<Filter> conditions = new ArrayList<>(2);
+            if (lower != null) {
+                conditions.add(condition(fieldName, lowerInclusive ? Operation.GREATER_THAN_EQUAL : Operation.GREATER_THAN, lower));
+            }
+            if (upper != null) {
+                conditions.add(condition(fieldName, upperInclusive ? Operation.LESS_THAN_EQUAL : Operation.LESS_THAN, upper));
+            }
+            return conditions;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.aya.search.schema;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Schema Options, used by {@link SearchSchema#of(jakarta.persistence.metamodel.Metamodel, SchemaOptions)}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Builder
+public final class SchemaOptions {
+
+    /**
+     * default options, paths of up to 3 segments including the paths crossing collections.
+     */
+    public static final SchemaOptions DEFAULT = SchemaOptions.builder().build();
+
+    /**
+     * maximum number of segments of a path, e.g. 2 allows {@code community.className} but not
+     * {@code community.students.gpa}.
+     */
+    @Getter
+    @Builder.Default
+    private final int maxDepth = 3;
+
+    /**
+     * list the paths crossing collections, used by the collection criteria and the {@code EXISTS} subqueries.
+     */
+    @Getter
+    @Builder.Default
+    private final boolean includeCollections = true;
+
+    /**
+     * excluded dotted paths by entity class, the paths starting with an excluded path are excluded as well.
+     */
+    private final Map<Class<?>, Set<String>> excludedPaths;
+
+    /**
+     * check if a path is excluded.
+     *
+     * @param entityClass entity class the path starts from
+     * @param path        dotted path
+     * @return true if the path is excluded
+     */
+    public boolean isExcluded(final Class<?> entityClass, final String path) {
+        return excludedPaths != null && excludedPaths.getOrDefault(entityClass, Set.of()).contains(path);
+    }
+
+    /**
+     * Schema Options Builder.
+     */
+    public static class SchemaOptionsBuilder {
+
+        /**
+         * exclude a path and the paths starting with it, e.g. an association clients should not join.
+         *
+         * @param entityClass entity class the path starts from
+         * @param path        dotted path
+         * @return builder
+         */
+        public SchemaOptionsBuilder excludedPath(final Class<?> entityClass, final String path) {
+            if (excludedPaths == null) {
+                excludedPaths = new HashMap<>();
+            }
+            excludedPaths.computeIfAbsent(entityClass, key -> new HashSet<>()).add(path);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.aya.search.schema;
+
+import com.aya.search.model.Operation;
+import lombok.Getter;
+import lombok.ToString;
+import java.util.Set;
+
+/**
+ * Schema Path, a dotted path of an entity listed by {@link SearchSchema}.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@ToString
+public final class SchemaPath {
+
+    /**
+     * dotted path.
+     */
+    private final String path;
+
+    /**
+     * type of the values, primitive types are wrapped.
+     */
+    private final Class<?> javaType;
+
+    /**
+     * true if the path crosses a collection attribute.
+     */
+    private final boolean toMany;
+
+    /**
+     * true if the path can be used as a sort field, projected and counted as a facet.
+     */
+    private final boolean sortable;
+
+    /**
+     * true if the path ends with an association, which can be fetched.
+     */
+    private final boolean association;
+
+    /**
+     * true if the path ends with a collection of entities or embeddables, which collection criteria apply to.
+     */
+    private final boolean collection;
+
+    /**
+     * operations allowed on the path.
+     */
+    private final Set<Operation> operations;
+
+    SchemaPath(final String path,
+               final Class<?> javaType,
+               final boolean toMany,
+               final boolean association,
+               final boolean collection,
+               final Set<Operation> operations) {
+        this.path = path;
+        this.javaType = javaType;
+        this.toMany = toMany;
+        this.sortable = !toMany;
+        this.association = association;
+        this.collection = collection;
+        this.operations = operations;
+    }
+}
@@ -0,0 +1,279 @@
+package com.aya.search.schema;
+
+import com.aya.search.exception.ErrorCode;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.model.Aggregate;
+import com.aya.search.model.AggregateFunction;
+import com.aya.search.model.AggregationModel;
+import com.aya.search.model.CollectionFilter;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.FilterCriteria;
+import com.aya.search.model.FilterGroup;
+import com.aya.search.model.Operation;
+import com.aya.search.model.SortDataModel;
+import com.aya.search.util.FieldValueConverter;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.persistence.metamodel.Type;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Search Schema.
+ *
+ * <p>Lists the entities of a JPA Metamodel with their dotted paths up to a depth, whether each path can be sorted,
+ * fetched or filtered as a collection, and the operations allowed on it by its type. Built once at startup, it
+ * validates a model with one map lookup per path before any query is built, and doubles as an allow-list: a path
+ * beyond the depth or excluded by the {@link SchemaOptions} is rejected, so clients can not join arbitrary
+ * associations. Pass it to {@link com.aya.search.specification.GeneralSpecification} to validate every model.
+ * The schema is immutable and thread safe.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public final class SearchSchema {
+
+    private static final Set<Operation> VALUELESS_OPERATIONS = EnumSet.of(Operation.IS_NULL, Operation.IS_NOT_NULL,
+            Operation.IS_TRUE, Operation.IS_FALSE, Operation.IS_EMPTY_STRING, Operation.IS_NOT_EMPTY_STRING);
+
+    private static final Set<Operation> EQUALITY_OPERATIONS = Collections.unmodifiableSet(EnumSet.of(Operation.EQUAL, Operation.NOT_EQUAL,
+            Operation.IN, Operation.NOT_IN, Operation.IS_NULL, Operation.IS_NOT_NULL));
+
+    private static final Set<Operation> COMPARISON_OPERATIONS = union(EQUALITY_OPERATIONS, EnumSet.of(Operation.LESS_THAN,
+            Operation.GREATER_THAN, Operation.LESS_THAN_EQUAL, Operation.GREATER_THAN_EQUAL, Operation.BETWEEN));
+
+    private static final Set<Operation> BOOLEAN_OPERATIONS = union(EQUALITY_OPERATIONS, EnumSet.of(Operation.IS_TRUE, Operation.IS_FALSE));
+
+    private static final Set<Operation> STRING_OPERATIONS = Collections.unmodifiableSet(
+            EnumSet.complementOf(EnumSet.of(Operation.IS_TRUE, Operation.IS_FALSE)));
+
+    private static final Set<Operation> ASSOCIATION_OPERATIONS = Collections.unmodifiableSet(EnumSet.of(Operation.IS_NULL, Operation.IS_NOT_NULL));
+
+    private final Map<Class<?>, Map<String, SchemaPath>> entities;
+
+    private SearchSchema(final Map<Class<?>, Map<String, SchemaPath>> entities) {
+        this.entities = entities;
+    }
+
+    /**
+     * build the schema of every entity of a metamodel, e.g. {@code entityManagerFactory.getMetamodel()}.
+     *
+     * @param metamodel     metamodel
+     * @param schemaOptions schema options
+     * @return schema
+     */
+    public static SearchSchema of(final Metamodel metamodel, final SchemaOptions schemaOptions) {
+        Map<Class<?>, Map<String, SchemaPath>> entities = new HashMap<>();
+        for (EntityType<?> entityType : metamodel.getEntities()) {
+            Map<String, SchemaPath> paths = new HashMap<>();
+            addPaths(entityType.getJavaType(), entityType, "", 1, false, paths, schemaOptions);
+            entities.put(entityType.getJavaType(), Collections.unmodifiableMap(paths));
+        }
+        return new SearchSchema(Collections.unmodifiableMap(entities));
+    }
+
+    /**
+     * get the entity classes of the schema.
+     *
+     * @return entity classes
+     */
+    public Set<Class<?>> getEntities() {
+        return entities.keySet();
+    }
+
+    /**
+     * get the paths of an entity.
+     *
+     * @param entityClass entity class
+     * @return paths by dotted path, empty if the class is not an entity of the schema
+     */
+    public Map<String, SchemaPath> getPaths(final Class<?> entityClass) {
+        return entities.getOrDefault(entityClass, Map.of());
+    }
+
+    /**
+     * get a path of an entity.
+     *
+     * @param entityClass entity class
+     * @param path        dotted path
+     * @return path, or null if it is not listed
+     */
+    public SchemaPath getPath(final Class<?> entityClass, final String path) {
+        return getPaths(entityClass).get(path);
+    }
+
+    /**
+     * validate the paths, operations and values of the criteria, the sort fields, the projections, the fetches
+     * and the facets of a model. The criteria of a collection filter are resolved from the collection path.
+     *
+     * @param entityClass           entity class the paths start from
+     * @param dataManipulationModel model
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public void validate(final Class<?> entityClass, final DataManipulationModel dataManipulationModel) {
+        Map<String, SchemaPath> paths = entities.get(entityClass);
+        if (paths == null) {
+            throw new GenerateSpecificationException(ErrorCode.UNKNOWN_ENTITY, entityClass.toString());
+        }
+        validateFilter(entityClass, paths, "", dataManipulationModel.getCriteria());
+        if (dataManipulationModel.getSortDataModels() != null) {
+            for (SortDataModel sortDataModel : dataManipulationModel.getSortDataModels()) {
+                SchemaPath schemaPath = paths.get(sortDataModel.getSortField());
+                if (schemaPath == null || !schemaPath.isSortable()) {
+                    throw new GenerateSpecificationException(ErrorCode.INVALID_SORTING_FIELD, sortDataModel.getSortField());
+                }
+            }
+        }
+        for (String projection : orEmpty(dataManipulationModel.getProjections())) {
+            SchemaPath schemaPath = paths.get(projection);
+            if (schemaPath == null || schemaPath.isToMany()) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_PROJECTION_FIELD, projection);
+            }
+        }
+        for (String fetch : orEmpty(dataManipulationModel.getFetches())) {
+            SchemaPath schemaPath = paths.get(fetch);
+            if (schemaPath == null || !schemaPath.isAssociation()) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_FETCH_FIELD, fetch);
+            }
+        }
+        for (String facet : orEmpty(dataManipulationModel.getFacets())) {
+            SchemaPath schemaPath = paths.get(facet);
+            if (schemaPath == null || schemaPath.isToMany()) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_FACET_FIELD, facet);
+            }
+        }
+    }
+
+    /**
+     * validate the group by fields and the aggregate fields of an aggregation model, each path should be listed,
+     * not cross a collection and have a type that suits its function: SUM and AVG need a number, MIN and MAX
+     * a comparable value. Counting the rows needs no field.
+     *
+     * @param entityClass      entity class the paths start from
+     * @param aggregationModel aggregation model
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public void validate(final Class<?> entityClass, final AggregationModel aggregationModel) {
+        Map<String, SchemaPath> paths = entities.get(entityClass);
+        if (paths == null) {
+            throw new GenerateSpecificationException(ErrorCode.UNKNOWN_ENTITY, entityClass.toString());
+        }
+        for (String groupByField : orEmpty(aggregationModel.getGroupByFields())) {
+            SchemaPath schemaPath = paths.get(groupByField);
+            if (schemaPath == null || schemaPath.isToMany()) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_GROUP_BY_FIELD, groupByField);
+            }
+        }
+        if (aggregationModel.getAggregates() == null) {
+            return;
+        }
+        for (Aggregate aggregate : aggregationModel.getAggregates()) {
+            AggregateFunction function = aggregate.getFunction();
+            if (aggregate.getField() == null) {
+                if (function != AggregateFunction.COUNT) {
+                    throw new GenerateSpecificationException(ErrorCode.INVALID_AGGREGATE_FIELD, aggregate.getField(), function);
+                }
+                continue;
+            }
+            SchemaPath schemaPath = paths.get(aggregate.getField());
+            if (schemaPath == null || schemaPath.isToMany() || function == null || !suits(function, schemaPath.getJavaType())) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_AGGREGATE_FIELD, aggregate.getField(), function);
+            }
+        }
+    }
+
+    private static boolean suits(final AggregateFunction function, final Class<?> javaType) {
+        return switch (function) {
+            case COUNT, COUNT_DISTINCT -> true;
+            case SUM, AVG -> Number.class.isAssignableFrom(javaType);
+            case MIN, MAX -> Comparable.class.isAssignableFrom(javaType);
+        };
+    }
+
+    private static void validateFilter(final Class<?> entityClass,
+                                       final Map<String, SchemaPath> paths,
+                                       final String scope,
+                                       final Filter filter) {
+        if (filter instanceof FilterCriteria filterCriteria) {
+            SchemaPath schemaPath = paths.get(scope + filterCriteria.getFieldName());
+            if (schemaPath == null) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_NAME, scope + filterCriteria.getFieldName(), entityClass.toString());
+            }
+            Operation operation = filterCriteria.getOperation();
+            if (operation == null || !schemaPath.getOperations().contains(operation)) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_OPERATION, String.valueOf(operation));
+            }
+            if (filterCriteria.getFieldValue() != null && !VALUELESS_OPERATIONS.contains(operation)) {
+                for (Object value : filterCriteria.getFieldValue()) {
+                    FieldValueConverter.convertFieldValue(value, schemaPath.getJavaType());
+                }
+            }
+        } else if (filter instanceof FilterGroup filterGroup && filterGroup.getConditions() != null) {
+            for (Filter condition : filterGroup.getConditions()) {
+                validateFilter(entityClass, paths, scope, condition);
+            }
+        } else if (filter instanceof CollectionFilter collectionFilter) {
+            SchemaPath schemaPath = paths.get(scope + collectionFilter.getPath());
+            if (schemaPath == null || !schemaPath.isCollection()) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_COLLECTION_FIELD, collectionFilter.getPath());
+            }
+            validateFilter(entityClass, paths, scope + collectionFilter.getPath() + ".", collectionFilter.getFilter());
+        }
+    }
+
+    private static void addPaths(final Class<?> entityClass,
+                                 final ManagedType<?> managedType,
+                                 final String prefix,
+                                 final int depth,
+                                 final boolean toMany,
+                                 final Map<String, SchemaPath> paths,
+                                 final SchemaOptions schemaOptions) {
+        for (Attribute<?, ?> attribute : managedType.getAttributes()) {
+            String path = prefix + attribute.getName();
+            boolean plural = attribute instanceof PluralAttribute<?, ?, ?>;
+            if (schemaOptions.isExcluded(entityClass, path) || plural && !schemaOptions.isIncludeCollections()) {
+                continue;
+            }
+            Type<?> type = plural ? ((PluralAttribute<?, ?, ?>) attribute).getElementType() : ((SingularAttribute<?, ?>) attribute).getType();
+            Class<?> javaType = FieldValueConverter.wrap(type.getJavaType());
+            boolean managed = type instanceof ManagedType<?>;
+            Set<Operation> operations = plural && managed ? Set.of() : managed ? ASSOCIATION_OPERATIONS : getOperations(javaType);
+            paths.put(path, new SchemaPath(path, javaType, toMany || plural, attribute.isAssociation(), plural && managed, operations));
+            if (type instanceof ManagedType<?> nextType && depth < schemaOptions.getMaxDepth()) {
+                addPaths(entityClass, nextType, path + ".", depth + 1, toMany || plural, paths, schemaOptions);
+            }
+        }
+    }
+
+    private static Set<Operation> getOperations(final Class<?> javaType) {
+        if (String.class.equals(javaType)) {
+            return STRING_OPERATIONS;
+        }
+        if (Boolean.class.equals(javaType)) {
+            return BOOLEAN_OPERATIONS;
+        }
+        if (Comparable.class.isAssignableFrom(javaType) && !javaType.isEnum()) {
+            return COMPARISON_OPERATIONS;
+        }
+        return EQUALITY_OPERATIONS;
+    }
+
+    private static Set<Operation> union(final Set<Operation> operations, final Set<Operation> more) {
+        EnumSet<Operation> union = EnumSet.copyOf(operations);
+        union.addAll(more);
+        return Collections.unmodifiableSet(union);
+    }
+
+    private static List<String> orEmpty(final List<String> paths) {
+        return paths == null ? List.of() : paths;
+    }
+}
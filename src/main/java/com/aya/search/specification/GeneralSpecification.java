@@ -1,26 +1,55 @@
 package com.aya.search.specification;
 
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+
 import com.aya.search.exception.ErrorCode;
 import com.aya.search.exception.GenerateSpecificationException;
 import com.aya.search.factory.predicate.PredicateFactory;
 import com.aya.search.factory.predicate.PredicateFactoryProducer;
+import com.aya.search.instrumentation.SearchEvent;
+import com.aya.search.instrumentation.SearchInstrumentation;
+import com.aya.search.instrumentation.SearchStage;
+import com.aya.search.metamodel.FieldPath;
+import com.aya.search.metamodel.FieldPathRegistry;
+import com.aya.search.model.Aggregate;
+import com.aya.search.model.AggregateFunction;
+import com.aya.search.model.AggregationModel;
+import com.aya.search.model.CollectionFilter;
 import com.aya.search.model.Condition;
+import com.aya.search.model.ConstantFilter;
 import com.aya.search.model.DataManipulationModel;
 import com.aya.search.model.FilterCriteria;
 import com.aya.search.model.FilterGroup;
+import com.aya.search.model.KeysetCursor;
 import com.aya.search.model.Operation;
+import com.aya.search.model.Quantifier;
 import com.aya.search.model.SortDataModel;
 import com.aya.search.model.SortOrder;
+import com.aya.search.schema.SearchSchema;
+import com.aya.search.util.FieldValueConverter;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.jpa.domain.Specification;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -33,86 +62,681 @@ public class GeneralSpecification<T> implements Specification<T> {
 
     private final DataManipulationModel dataManipulationModel;
 
+    private final SearchSchema searchSchema;
+
     public GeneralSpecification(final DataManipulationModel dataManipulationModel) {
+        this(dataManipulationModel, null);
+    }
+
+    /**
+     * specification validating its model against a schema before each query is built, see {@link SearchSchema}.
+     *
+     * @param dataManipulationModel model
+     * @param searchSchema          schema, null to skip the validation
+     */
+    public GeneralSpecification(final DataManipulationModel dataManipulationModel, final SearchSchema searchSchema) {
         this.dataManipulationModel = dataManipulationModel;
+        this.searchSchema = searchSchema;
     }
 
+    /**
+     * get the model of the specification.
+     *
+     * @return model
+     */
+    public DataManipulationModel getDataManipulationModel() {
+        return dataManipulationModel;
+    }
+
+    /**
+     * check if the criteria can not match any row, e.g. after {@link com.aya.search.optimizer.FilterOptimizer} found a contradiction.
+     *
+     * @return true if no query is needed
+     */
+    public boolean isAlwaysFalse() {
+        return dataManipulationModel.getCriteria() == ConstantFilter.ALWAYS_FALSE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Queries whose result type is {@link Long} are count queries, the ordering, the joins
+     * needed only by the sort fields and the keyset seek predicate are skipped for them, so the total
+     * of a page does not depend on its cursor. The to-one fetch paths are fetch joined
+     * only when the query selects the root entity.</p>
+     */
     @Override
     public Predicate toPredicate(@NotNull final Root<T> root,
                                  @NotNull final CriteriaQuery<?> query,
                                  @NotNull final CriteriaBuilder criteriaBuilder) {
-        Predicate predicate = buildConditionsPredicate(root, criteriaBuilder, dataManipulationModel.getCriteria());
-        if (dataManipulationModel.getSortDataModels() != null && !dataManipulationModel.getSortDataModels().isEmpty()) {
-            List<Order> orders = dataManipulationModel.getSortDataModels().stream()
-                    .map(sortDataModel -> getOrder(criteriaBuilder, root, sortDataModel))
+        boolean countQuery = isCountQuery(query);
+        return buildPredicate(new QueryContext(root, query, criteriaBuilder, null), !countQuery, isEntityQuery(root, query), !countQuery);
+    }
+
+    /**
+     * build the predicate in bind-parameter mode, every value becomes a parameter collected in {@code bindings},
+     * which must be bound to the query before it is executed. Count queries are built as by
+     * {@link #toPredicate(Root, CriteriaQuery, CriteriaBuilder)}.
+     *
+     * @param root            root
+     * @param query           query
+     * @param criteriaBuilder criteriaBuilder
+     * @param bindings        bindings
+     * @return Predicate
+     */
+    public Predicate toPredicate(final Root<T> root,
+                                 final CriteriaQuery<?> query,
+                                 final CriteriaBuilder criteriaBuilder,
+                                 final ParameterBindings bindings) {
+        boolean countQuery = isCountQuery(query);
+        return buildPredicate(new QueryContext(root, query, criteriaBuilder, bindings), !countQuery, isEntityQuery(root, query), !countQuery);
+    }
+
+    /**
+     * build the filter predicate, including the keyset seek predicate, without ordering the query.
+     *
+     * @param root            root
+     * @param query           query
+     * @param criteriaBuilder criteriaBuilder
+     * @return Predicate
+     */
+    public Predicate toFilterPredicate(final Root<T> root,
+                                       final CriteriaQuery<?> query,
+                                       final CriteriaBuilder criteriaBuilder) {
+        return buildPredicate(new QueryContext(root, query, criteriaBuilder, null), false, false, true);
+    }
+
+    /**
+     * build the filter predicate in bind-parameter mode without ordering the query.
+     *
+     * @param root            root
+     * @param query           query
+     * @param criteriaBuilder criteriaBuilder
+     * @param bindings        bindings
+     * @return Predicate
+     */
+    public Predicate toFilterPredicate(final Root<T> root,
+                                       final CriteriaQuery<?> query,
+                                       final CriteriaBuilder criteriaBuilder,
+                                       final ParameterBindings bindings) {
+        return buildPredicate(new QueryContext(root, query, criteriaBuilder, bindings), false, false, true);
+    }
+
+    /**
+     * build the filter predicate in bind-parameter mode without ordering the query and without the keyset seek
+     * predicate, e.g. for the total of a page read with a cursor.
+     *
+     * @param root            root
+     * @param query           query
+     * @param criteriaBuilder criteriaBuilder
+     * @param bindings        bindings
+     * @return Predicate
+     */
+    public Predicate toTotalPredicate(final Root<T> root,
+                                      final CriteriaQuery<?> query,
+                                      final CriteriaBuilder criteriaBuilder,
+                                      final ParameterBindings bindings) {
+        return buildPredicate(new QueryContext(root, query, criteriaBuilder, bindings), false, false, false);
+    }
+
+    /**
+     * build the filter predicate without ordering the query, joining through {@code joinRegistry}, so the paths
+     * the caller resolves with the same registry afterwards reuse the joins of the filter.
+     *
+     * @param root            root
+     * @param query           query
+     * @param criteriaBuilder criteriaBuilder
+     * @param bindings        bindings, null to build the predicate without bind parameters
+     * @param joinRegistry    join registry of {@code root}
+     * @return Predicate
+     */
+    public Predicate toFilterPredicate(final Root<T> root,
+                                       final CriteriaQuery<?> query,
+                                       final CriteriaBuilder criteriaBuilder,
+                                       final ParameterBindings bindings,
+                                       final JoinRegistry joinRegistry) {
+        return buildPredicate(new QueryContext(root, query, criteriaBuilder, bindings, joinRegistry), false, false, true);
+    }
+
+    /**
+     * build a tuple query of the projections of the model, with the filter and the ordering of the model.
+     * Each tuple element is aliased by its dotted path.
+     *
+     * @param criteriaBuilder criteriaBuilder
+     * @param domainClass     domain class
+     * @param bindings        bindings, null to build the query without bind parameters
+     * @return query
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public CriteriaQuery<Tuple> toTupleQuery(final CriteriaBuilder criteriaBuilder,
+                                             final Class<T> domainClass,
+                                             final ParameterBindings bindings) {
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        QueryContext context = new QueryContext(query.from(domainClass), query, criteriaBuilder, bindings);
+        Predicate predicate = buildPredicate(context, true, false, true);
+        return query.multiselect(getProjectionSelections(context)).where(predicate);
+    }
+
+    /**
+     * build a query of the projections of the model passed to the constructor of {@code resultClass},
+     * with the filter and the ordering of the model.
+     *
+     * @param criteriaBuilder criteriaBuilder
+     * @param domainClass     domain class
+     * @param resultClass     record or DTO with a constructor matching the projections
+     * @param bindings        bindings, null to build the query without bind parameters
+     * @param <R>             result type
+     * @return query
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public <R> CriteriaQuery<R> toProjectionQuery(final CriteriaBuilder criteriaBuilder,
+                                                  final Class<T> domainClass,
+                                                  final Class<R> resultClass,
+                                                  final ParameterBindings bindings) {
+        CriteriaQuery<R> query = criteriaBuilder.createQuery(resultClass);
+        QueryContext context = new QueryContext(query.from(domainClass), query, criteriaBuilder, bindings);
+        Predicate predicate = buildPredicate(context, true, false, true);
+        Selection<?>[] selections = getProjectionSelections(context).toArray(new Selection<?>[0]);
+        return query.select(criteriaBuilder.construct(resultClass, selections)).where(predicate);
+    }
+
+    /**
+     * build a tuple query of the aggregates of {@code aggregationModel} over the rows matching the filter of the model,
+     * the keyset cursor of the model is ignored and no entity is selected. The group by fields come first, aliased by
+     * their dotted paths and ordered ascending, followed by the aggregates aliased by {@link Aggregate#getAlias()}.
+     * The group by and aggregate fields are validated against the schema of the specification, if any.
+     * COUNT gives a {@link Long}, AVG a {@link Double}, SUM a {@link Long} for integral fields and MIN and MAX the type
+     * of the field.
+     *
+     * @param criteriaBuilder  criteriaBuilder
+     * @param domainClass      domain class
+     * @param aggregationModel aggregation model
+     * @param bindings         bindings, null to build the query without bind parameters
+     * @return query
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public CriteriaQuery<Tuple> toAggregateQuery(final CriteriaBuilder criteriaBuilder,
+                                                 final Class<T> domainClass,
+                                                 final AggregationModel aggregationModel,
+                                                 final ParameterBindings bindings) {
+        List<Aggregate> aggregates = aggregationModel.getAggregates();
+        if (aggregates == null || aggregates.isEmpty()) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_AGGREGATE_FIELD, String.valueOf(aggregates), "");
+        }
+        if (searchSchema != null) {
+            searchSchema.validate(domainClass, aggregationModel);
+        }
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        QueryContext context = new QueryContext(query.from(domainClass), query, criteriaBuilder, bindings);
+        // the aggregates cover every matching row, the keyset cursor is a paging concern
+        Predicate predicate = buildPredicate(context, false, false, false);
+        List<Selection<?>> selections = new ArrayList<>();
+        List<Expression<?>> groupBy = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        if (aggregationModel.getGroupByFields() != null) {
+            for (String groupByField : aggregationModel.getGroupByFields()) {
+                // a null association is a group of its own
+                Path<?> path = context.getJoinRegistry().resolve(getGroupByPath(context, groupByField), JoinType.LEFT);
+                selections.add(path.alias(groupByField));
+                groupBy.add(path);
+                orders.add(criteriaBuilder.asc(path));
+            }
+        }
+        for (Aggregate aggregate : aggregates) {
+            selections.add(getAggregateExpression(context, aggregate).alias(aggregate.getAlias()));
+        }
+        query.multiselect(selections).where(predicate);
+        if (!groupBy.isEmpty()) {
+            query.groupBy(groupBy).orderBy(orders);
+        }
+        return query;
+    }
+
+    /**
+     * get fetch paths of the model.
+     *
+     * @return fetch paths
+     */
+    public List<String> getFetches() {
+        return dataManipulationModel.getFetches() == null ? List.of() : dataManipulationModel.getFetches();
+    }
+
+    /**
+     * resolve a fetch path, every segment should be an association.
+     *
+     * @param managedType managed type the path starts from
+     * @param fetch       dotted fetch path
+     * @return field path
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public static FieldPath getFetchPath(final ManagedType<?> managedType, final String fetch) {
+        FieldPath fieldPath;
+        try {
+            fieldPath = FieldPathRegistry.getFieldPath(managedType, fetch);
+        } catch (GenerateSpecificationException e) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_FETCH_FIELD, fetch);
+        }
+        if (fieldPath.getAttributes().stream().anyMatch(attribute -> !attribute.isAssociation())) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_FETCH_FIELD, fetch);
+        }
+        return fieldPath;
+    }
+
+    /**
+     * get facet paths of the model.
+     *
+     * @return facet paths
+     */
+    public List<String> getFacets() {
+        return dataManipulationModel.getFacets() == null ? List.of() : dataManipulationModel.getFacets();
+    }
+
+    /**
+     * resolve a facet path, the path should not cross a collection. A to-one association is resolved to its
+     * identifier, which is read from the foreign key.
+     *
+     * @param managedType managed type the path starts from
+     * @param facet       dotted facet path
+     * @return field path of the counted values
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public static FieldPath getFacetPath(final ManagedType<?> managedType, final String facet) {
+        FieldPath fieldPath;
+        try {
+            fieldPath = FieldPathRegistry.getFieldPath(managedType, facet);
+        } catch (GenerateSpecificationException e) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_FACET_FIELD, facet);
+        }
+        if (fieldPath.isToMany()) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_FACET_FIELD, facet);
+        }
+        if (fieldPath.getAttribute() instanceof SingularAttribute<?, ?> attribute && attribute.getType() instanceof ManagedType<?>) {
+            if (!(attribute.getType() instanceof EntityType<?> entityType) || !entityType.hasSingleIdAttribute()) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_FACET_FIELD, facet);
+            }
+            return FieldPathRegistry.getFieldPath(managedType, facet + "." + entityType.getId(entityType.getIdType().getJavaType()).getName());
+        }
+        return fieldPath;
+    }
+
+    /**
+     * get the shape of the model, identical shapes share one query text in bind-parameter mode.
+     * The values of IN lists are compared as they are, see {@link #getShape(ManagedType)}.
+     *
+     * @return shape
+     */
+    public QueryShape getShape() {
+        return QueryShape.of(dataManipulationModel);
+    }
+
+    /**
+     * get the shape of the model of an entity, the shape recorded by {@link SearchEvent#getShape()}.
+     * The values of IN lists are converted to the field type before the duplicates are dropped.
+     *
+     * @param managedType managed type the paths start from
+     * @return shape
+     */
+    public QueryShape getShape(final ManagedType<?> managedType) {
+        return QueryShape.of(dataManipulationModel, managedType);
+    }
+
+    /**
+     * validate the model against the schema of the specification, if any.
+     *
+     * @param domainClass domain class
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public void validate(final Class<?> domainClass) {
+        if (searchSchema != null) {
+            searchSchema.validate(domainClass, dataManipulationModel);
+        }
+    }
+
+    private Predicate buildPredicate(final QueryContext context, final boolean ordered, final boolean fetched, final boolean seeking) {
+        validate(context.getRoot().getJavaType());
+        SearchEvent started = SearchInstrumentation.begin(context.getRoot().getJavaType());
+        // a started event is used and ended even if the instrumentation is disabled meanwhile
+        SearchEvent searchEvent = started != null ? started : SearchInstrumentation.current();
+        if (searchEvent == null) {
+            return buildModelPredicate(context, ordered, fetched, seeking);
+        }
+        long resolveNanos = searchEvent.getStageNanos(SearchStage.RESOLVE);
+        long start = System.nanoTime();
+        try {
+            searchEvent.describe(dataManipulationModel, context.getModel());
+            return buildModelPredicate(context, ordered, fetched, seeking);
+        } finally {
+            long resolved = searchEvent.getStageNanos(SearchStage.RESOLVE) - resolveNanos;
+            searchEvent.addStageNanos(SearchStage.BUILD, System.nanoTime() - start - resolved);
+            SearchInstrumentation.end(started);
+        }
+    }
+
+    private Predicate buildModelPredicate(final QueryContext context, final boolean ordered, final boolean fetched, final boolean seeking) {
+        CriteriaBuilder criteriaBuilder = context.getCriteriaBuilder();
+        if (fetched) {
+            applyFetches(context);
+        }
+        Predicate predicate = buildConditionsPredicate(context, dataManipulationModel.getCriteria(), JoinType.INNER);
+        KeysetCursor cursor = dataManipulationModel.getCursor();
+        boolean seek = seeking && cursor != null && !cursor.isFirst();
+        if (!ordered && !seek) {
+            return predicate;
+        }
+        List<SortDataModel> sortDataModels = getSortDataModels(context.getRoot());
+        if (!sortDataModels.isEmpty()) {
+            List<Path<?>> sortPaths = sortDataModels.stream()
+                    .map(sortDataModel -> getSortExpression(context, sortDataModel.getSortField()))
                     .collect(Collectors.toList());
-            query.orderBy(orders);
+            if (seek) {
+                predicate = criteriaBuilder.and(predicate, buildSeekPredicate(context, sortDataModels, sortPaths, cursor));
+            }
+            if (ordered) {
+                List<Order> orders = new ArrayList<>(sortDataModels.size());
+                for (int i = 0; i < sortDataModels.size(); i++) {
+                    orders.add(getOrder(criteriaBuilder, sortPaths.get(i), sortDataModels.get(i)));
+                }
+                context.getQuery().orderBy(orders);
+            }
         }
         return predicate;
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Expression<?> getAggregateExpression(final QueryContext context, final Aggregate aggregate) {
+        CriteriaBuilder criteriaBuilder = context.getCriteriaBuilder();
+        AggregateFunction function = aggregate.getFunction();
+        if (aggregate.getField() == null || function == null) {
+            if (function != AggregateFunction.COUNT) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_AGGREGATE_FIELD, aggregate.getField(), function);
+            }
+            return criteriaBuilder.count(context.getRoot());
+        }
+        FieldPath fieldPath = getAggregatePath(context, aggregate.getField(), function);
+        Class<?> javaType = FieldValueConverter.wrap(fieldPath.getJavaType());
+        boolean numeric = Number.class.isAssignableFrom(javaType);
+        if ((function == AggregateFunction.SUM || function == AggregateFunction.AVG) && !numeric
+                || (function == AggregateFunction.MIN || function == AggregateFunction.MAX) && !Comparable.class.isAssignableFrom(javaType)) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_AGGREGATE_FIELD, aggregate.getField(), function);
+        }
+        Expression path = context.getJoinRegistry().resolve(fieldPath, JoinType.LEFT);
+        return switch (function) {
+            case COUNT -> criteriaBuilder.count(path);
+            case COUNT_DISTINCT -> criteriaBuilder.countDistinct(path);
+            case SUM -> criteriaBuilder.sum(path);
+            case AVG -> criteriaBuilder.avg(path);
+            case MIN -> criteriaBuilder.least(path);
+            case MAX -> criteriaBuilder.greatest(path);
+        };
+    }
+
+    /**
+     * resolve a field of an aggregation, a to-one association is resolved to its identifier.
+     */
+    private static FieldPath getAggregatePath(final QueryContext context, final String field, final Object function) {
+        try {
+            return getFacetPath(context.getModel(), field);
+        } catch (GenerateSpecificationException e) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_AGGREGATE_FIELD, field, function);
+        }
+    }
+
+    /**
+     * resolve a group by field of an aggregation, a to-one association is resolved to its identifier.
+     */
+    private static FieldPath getGroupByPath(final QueryContext context, final String field) {
+        try {
+            return getFacetPath(context.getModel(), field);
+        } catch (GenerateSpecificationException e) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_GROUP_BY_FIELD, field);
+        }
+    }
+
+    private List<Selection<?>> getProjectionSelections(final QueryContext context) {
+        List<String> projections = dataManipulationModel.getProjections();
+        if (projections == null || projections.isEmpty()) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_PROJECTION_FIELD, String.valueOf(projections));
+        }
+        List<Selection<?>> selections = new ArrayList<>(projections.size());
+        for (String projection : projections) {
+            FieldPath fieldPath;
+            try {
+                fieldPath = FieldPathRegistry.getFieldPath(context.getModel(), projection);
+            } catch (GenerateSpecificationException e) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_PROJECTION_FIELD, projection);
+            }
+            if (fieldPath.isToMany()) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_PROJECTION_FIELD, projection);
+            }
+            // a null association gives null values instead of dropping the row
+            selections.add(context.getJoinRegistry().resolve(fieldPath, JoinType.LEFT).alias(projection));
+        }
+        return selections;
+    }
+
+    /**
+     * fetch join the to-one fetch paths, to-many paths are loaded by {@link com.aya.search.executor.SearchExecutor}
+     * so the rows of the page are not multiplied.
+     */
+    private void applyFetches(final QueryContext context) {
+        for (String fetch : getFetches()) {
+            FieldPath fieldPath = getFetchPath(context.getModel(), fetch);
+            if (!fieldPath.isToMany()) {
+                context.getJoinRegistry().fetch(fieldPath);
+            }
+        }
+    }
+
+    private static boolean isEntityQuery(final Root<?> root, final CriteriaQuery<?> query) {
+        return root.getJavaType().equals(query.getResultType());
+    }
+
+    private static boolean isCountQuery(final CriteriaQuery<?> query) {
+        return Long.class.equals(query.getResultType()) || long.class.equals(query.getResultType());
+    }
+
+    /**
+     * get sort models, in keyset mode the primary key is added as the last sort field so the ordering is total
+     * and every sort field should be a basic attribute, whose value the cursor can hold.
+     */
+    private List<SortDataModel> getSortDataModels(final Root<?> root) {
+        List<SortDataModel> sortDataModels = dataManipulationModel.getSortDataModels() == null
+                ? List.of()
+                : dataManipulationModel.getSortDataModels();
+        if (dataManipulationModel.getCursor() == null) {
+            return sortDataModels;
+        }
+        EntityType<?> entityType = root.getModel();
+        for (SortDataModel sortDataModel : sortDataModels) {
+            FieldPath fieldPath;
+            try {
+                fieldPath = FieldPathRegistry.getFieldPath(entityType, sortDataModel.getSortField());
+            } catch (GenerateSpecificationException e) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_SORTING_FIELD, sortDataModel.getSortField());
+            }
+            if (fieldPath.getAttribute().getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_SORTING_FIELD, sortDataModel.getSortField());
+            }
+        }
+        if (!entityType.hasSingleIdAttribute()) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_CURSOR, entityType.getJavaType().toString());
+        }
+        String idField = entityType.getId(entityType.getIdType().getJavaType()).getName();
+        if (sortDataModels.stream().anyMatch(sortDataModel -> sortDataModel.getSortField().equals(idField))) {
+            return sortDataModels;
+        }
+        List<SortDataModel> keysetSortDataModels = new ArrayList<>(sortDataModels);
+        boolean descending = !sortDataModels.isEmpty() && sortDataModels.get(sortDataModels.size() - 1).getSortOrder() == SortOrder.DESC;
+        keysetSortDataModels.add(descending ? SortDataModel.Sort.desc(idField) : SortDataModel.Sort.asc(idField));
+        return keysetSortDataModels;
+    }
+
     private Order getOrder(final CriteriaBuilder criteriaBuilder,
-                           final Root<T> root,
+                           final Expression<?> sortExpression,
                            final SortDataModel sortDataModel) {
-        Expression<?> sortExpression = getSortExpression(root, sortDataModel.getSortField());
         return sortDataModel.getSortOrder() == SortOrder.ASC ? criteriaBuilder.asc(sortExpression) : criteriaBuilder.desc(sortExpression);
     }
 
-    private Expression<?> getSortExpression(final Root<T> root,
-                                            final String sortField) {
+    private Path<?> getSortExpression(final QueryContext context,
+                                      final String sortField) {
+        FieldPath fieldPath;
         try {
-            String[] fields = sortField.split("\\.");
-            Path<?> expression = root.get(fields[0]);
-            for (int i = 1; i < fields.length; i++) {
-                expression = expression.get(fields[i]);
-            }
-            return expression;
-        } catch (Exception e) {
+            fieldPath = FieldPathRegistry.getFieldPath(context.getModel(), sortField);
+        } catch (GenerateSpecificationException e) {
             throw new GenerateSpecificationException(ErrorCode.INVALID_SORTING_FIELD, sortField);
         }
+        if (!fieldPath.isSortable()) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_SORTING_FIELD, sortField);
+        }
+        // sorting must not drop rows whose association is null
+        return context.getJoinRegistry().resolve(fieldPath, JoinType.LEFT);
     }
 
-    private Predicate buildConditionsPredicate(final Root<T> root,
-                                               final CriteriaBuilder criteriaBuilder,
-                                               final Object criteria) {
+    /**
+     * build the lexicographic seek predicate {@code (a > ?) OR (a = ? AND b > ?) OR ...},
+     * using less than for descending sort fields.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate buildSeekPredicate(final QueryContext context,
+                                         final List<SortDataModel> sortDataModels,
+                                         final List<Path<?>> sortPaths,
+                                         final KeysetCursor cursor) {
+        if (cursor.getValues().size() != sortPaths.size() || cursor.getValues().stream().anyMatch(Objects::isNull)) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_CURSOR, cursor.encode());
+        }
+        CriteriaBuilder criteriaBuilder = context.getCriteriaBuilder();
+        Object[] values = new Object[sortPaths.size()];
+        for (int i = 0; i < values.length; i++) {
+            Class<?> type = FieldValueConverter.wrap(sortPaths.get(i).getJavaType());
+            values[i] = FieldValueConverter.convertFieldValue(cursor.getValues().get(i), type);
+            if (context.getBindings() != null) {
+                values[i] = context.getBindings().parameter(criteriaBuilder, type, values[i]);
+            }
+        }
+        Predicate[] branches = new Predicate[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Predicate[] parts = new Predicate[i + 1];
+            for (int j = 0; j < i; j++) {
+                parts[j] = criteriaBuilder.equal(sortPaths.get(j), values[j]);
+            }
+            Path<Comparable> path = (Path<Comparable>) sortPaths.get(i);
+            boolean ascending = sortDataModels.get(i).getSortOrder() == SortOrder.ASC;
+            if (values[i] instanceof Expression<?>) {
+                Expression<Comparable> value = (Expression<Comparable>) values[i];
+                parts[i] = ascending ? criteriaBuilder.greaterThan(path, value) : criteriaBuilder.lessThan(path, value);
+            } else {
+                Comparable value = (Comparable) values[i];
+                parts[i] = ascending ? criteriaBuilder.greaterThan(path, value) : criteriaBuilder.lessThan(path, value);
+            }
+            branches[i] = criteriaBuilder.and(parts);
+        }
+        return criteriaBuilder.or(branches);
+    }
+
+    private Predicate buildConditionsPredicate(final QueryContext context,
+                                               final Object criteria,
+                                               final JoinType joinType) {
         if (criteria instanceof FilterCriteria) {
-            return buildPredicateFromCriteria(root, criteriaBuilder, (FilterCriteria) criteria);
+            return buildPredicateFromCriteria(context, (FilterCriteria) criteria, joinType);
         } else if (criteria instanceof FilterGroup) {
-            return buildPredicateFromGroup(root, criteriaBuilder, (FilterGroup) criteria);
+            return buildPredicateFromGroup(context, (FilterGroup) criteria, joinType);
+        } else if (criteria instanceof CollectionFilter) {
+            return buildPredicateFromCollection(context, (CollectionFilter) criteria);
+        } else if (criteria == ConstantFilter.ALWAYS_FALSE) {
+            return context.getCriteriaBuilder().disjunction();
         }
-        return criteriaBuilder.conjunction();
+        return context.getCriteriaBuilder().conjunction();
     }
 
-    private Predicate buildPredicateFromCriteria(final Root<T> root,
-                                                 final CriteriaBuilder criteriaBuilder,
-                                                 final FilterCriteria filterCriteria) {
-        String[] fields = filterCriteria.getFieldName().split("\\.");
-        Path<?> fieldPath = null;
-        int i = 0;
-        try {
-            fieldPath = root.get(fields[i]);
-            for (i = 1; i < fields.length; i++) {
-                fieldPath = fieldPath.get(fields[i]);
-            }
-        } catch (IllegalArgumentException e) {
-            throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_NAME,
-                    fields[i],
-                    fieldPath == null ? root.getJavaType().toString() : fieldPath.getJavaType().toString());
-        }
-        Object[] fieldValues = filterCriteria.getFieldValue();
+    private Predicate buildPredicateFromCriteria(final QueryContext context,
+                                                 final FilterCriteria filterCriteria,
+                                                 final JoinType joinType) {
+        FieldPath descriptor = FieldPathRegistry.getFieldPath(context.getModel(), filterCriteria.getFieldName());
         Operation operation = filterCriteria.getOperation();
+        int collectionIndex = getCollectionIndex(descriptor);
+        if (collectionIndex >= 0 && collectionIndex < descriptor.size() - 1) {
+            return buildPredicateFromCollection(context, toCollectionFilter(descriptor, collectionIndex, filterCriteria));
+        }
+        // IS NULL also matches rows without the association
+        Path<?> fieldPath = context.getJoinRegistry().resolve(descriptor, operation == Operation.IS_NULL ? JoinType.LEFT : joinType);
+        Object[] fieldValues = context.bind(descriptor.getJavaType(), operation, filterCriteria.getFieldValue());
         PredicateFactory predicateFactory = PredicateFactoryProducer.getFactory(operation);
-        return predicateFactory.createPredicate(criteriaBuilder, fieldPath, fieldValues);
+        return predicateFactory.createPredicate(context.getCriteriaBuilder(), fieldPath, fieldValues);
+    }
+
+    /**
+     * rewrite a criteria on a path crossing a collection as a filter of the collection elements.
+     * NOT_IN becomes NONE of IN and IS_NULL becomes NONE of IS_NOT_NULL, so empty collections match them
+     * as they do with a left join, other operations become ANY.
+     */
+    private static CollectionFilter toCollectionFilter(final FieldPath descriptor,
+                                                       final int collectionIndex,
+                                                       final FilterCriteria filterCriteria) {
+        String collectionPath = descriptor.getPrefixes().get(collectionIndex);
+        String elementField = descriptor.getPath().substring(collectionPath.length() + 1);
+        Object[] fieldValues = filterCriteria.getFieldValue();
+        return switch (filterCriteria.getOperation()) {
+            case NOT_IN -> CollectionFilter.Elements.none(collectionPath, condition(elementField, Operation.IN, fieldValues));
+            case IS_NULL -> CollectionFilter.Elements.none(collectionPath, condition(elementField, Operation.IS_NOT_NULL, fieldValues));
+            default -> CollectionFilter.Elements.any(collectionPath, condition(elementField, filterCriteria.getOperation(), fieldValues));
+        };
+    }
+
+    private static int getCollectionIndex(final FieldPath fieldPath) {
+        if (!fieldPath.isToMany()) {
+            return -1;
+        }
+        List<Attribute<?, ?>> attributes = fieldPath.getAttributes();
+        for (int i = 0; i < attributes.size(); i++) {
+            if (attributes.get(i).isCollection()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * build a correlated {@code EXISTS} subquery over the collection elements, NONE and ALL are built as {@code NOT EXISTS}.
+     */
+    private Predicate buildPredicateFromCollection(final QueryContext context, final CollectionFilter collectionFilter) {
+        FieldPath collectionPath;
+        try {
+            collectionPath = FieldPathRegistry.getFieldPath(context.getModel(), collectionFilter.getPath());
+        } catch (GenerateSpecificationException e) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_COLLECTION_FIELD, collectionFilter.getPath());
+        }
+        if (!(collectionPath.getAttribute() instanceof PluralAttribute<?, ?, ?> pluralAttribute)
+                || !(pluralAttribute.getElementType() instanceof ManagedType<?> elementType)) {
+            throw new GenerateSpecificationException(ErrorCode.INVALID_COLLECTION_FIELD, collectionFilter.getPath());
+        }
+        CriteriaBuilder criteriaBuilder = context.getCriteriaBuilder();
+        Subquery<Integer> subquery = context.getScopeQuery().subquery(Integer.class);
+        From<?, ?> element = new JoinRegistry(correlate(subquery, context.getJoinRegistry().getFrom()))
+                .join(collectionPath, JoinType.INNER);
+        Predicate predicate = buildConditionsPredicate(context.scope(subquery, element, elementType),
+                collectionFilter.getFilter(), JoinType.INNER);
+        subquery.select(criteriaBuilder.literal(1))
+                .where(collectionFilter.getQuantifier() == Quantifier.ALL ? criteriaBuilder.not(predicate) : predicate);
+        Predicate exists = criteriaBuilder.exists(subquery);
+        return collectionFilter.getQuantifier() == Quantifier.ANY ? exists : criteriaBuilder.not(exists);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static From<?, ?> correlate(final Subquery<?> subquery, final From<?, ?> from) {
+        return from instanceof Root<?> root ? subquery.correlate(root) : subquery.correlate((Join) from);
     }
 
-    private Predicate buildPredicateFromGroup(final Root<T> root,
-                                              final CriteriaBuilder criteriaBuilder,
-                                              final FilterGroup filterGroup) {
+    private Predicate buildPredicateFromGroup(final QueryContext context,
+                                              final FilterGroup filterGroup,
+                                              final JoinType joinType) {
         validateConditions(filterGroup);
+        // an inner join below OR / NOT would drop rows that another branch accepts
+        JoinType conditionsJoinType = filterGroup.getCondition() == Condition.AND ? joinType : JoinType.LEFT;
         List<Predicate> predicates = filterGroup.getConditions().stream()
-                .map(condition -> buildConditionsPredicate(root, criteriaBuilder, condition))
+                .map(condition -> buildConditionsPredicate(context, condition, conditionsJoinType))
                 .toList();
         Predicate[] predicateArray = predicates.toArray(new Predicate[0]);
+        CriteriaBuilder criteriaBuilder = context.getCriteriaBuilder();
         return switch (filterGroup.getCondition()) {
             case OR -> criteriaBuilder.or(predicateArray);
             case AND -> criteriaBuilder.and(predicateArray);
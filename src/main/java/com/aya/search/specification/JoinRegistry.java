@@ -0,0 +1,111 @@
+package com.aya.search.specification;
+
+import com.aya.search.metamodel.FieldPath;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Join Registry.
+ *
+ * <p>Resolves {@link FieldPath}s against a single query root or subquery join, joining every association prefix
+ * once and reusing that join for all later criteria and sort fields of the same query.
+ * The join type of a prefix is decided by the first field that needs it, fetches are registered
+ * first so the criteria and sort fields reuse the fetched joins.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public final class JoinRegistry {
+
+    private final From<?, ?> from;
+
+    private final Map<String, From<?, ?>> joins = new HashMap<>();
+
+    public JoinRegistry(final From<?, ?> from) {
+        this.from = from;
+    }
+
+    /**
+     * resolve field path, joining its association prefixes if they are not joined yet.
+     *
+     * @param fieldPath field path
+     * @param joinType  join type used for prefixes that are not joined yet
+     * @return path
+     */
+    public Path<?> resolve(final FieldPath fieldPath, final JoinType joinType) {
+        List<String> segments = fieldPath.getSegments();
+        List<String> prefixes = fieldPath.getPrefixes();
+        int last = segments.size() - 1;
+        From<?, ?> current = from;
+        for (int i = 0; i < last; i++) {
+            if (i == last - 1 && fieldPath.isForeignKey() && !joins.containsKey(prefixes.get(i))) {
+                // the identifier of a to-one association is read from the foreign key column
+                return current.get(segments.get(i)).get(segments.get(last));
+            }
+            current = join(prefixes.get(i), current, segments.get(i), joinType);
+        }
+        return current.get(segments.get(last));
+    }
+
+    /**
+     * left join fetch every association of the path, the fetched joins are reused by later fields.
+     *
+     * @param fieldPath field path of associations
+     */
+    public void fetch(final FieldPath fieldPath) {
+        List<String> segments = fieldPath.getSegments();
+        From<?, ?> current = from;
+        for (int i = 0; i < segments.size(); i++) {
+            String prefix = i < segments.size() - 1 ? fieldPath.getPrefixes().get(i) : fieldPath.getPath();
+            From<?, ?> join = joins.get(prefix);
+            if (join == null) {
+                // fetches of the criteria API are joins as well
+                join = (From<?, ?>) current.fetch(segments.get(i), JoinType.LEFT);
+                joins.put(prefix, join);
+            }
+            current = join;
+        }
+    }
+
+    /**
+     * join every association of the path, including the last one.
+     *
+     * @param fieldPath field path of associations
+     * @param joinType  join type used for associations that are not joined yet
+     * @return join of the last association
+     */
+    public From<?, ?> join(final FieldPath fieldPath, final JoinType joinType) {
+        List<String> segments = fieldPath.getSegments();
+        From<?, ?> current = from;
+        for (int i = 0; i < segments.size(); i++) {
+            String prefix = i < segments.size() - 1 ? fieldPath.getPrefixes().get(i) : fieldPath.getPath();
+            current = join(prefix, current, segments.get(i), joinType);
+        }
+        return current;
+    }
+
+    private From<?, ?> join(final String prefix,
+                            final From<?, ?> parent,
+                            final String attribute,
+                            final JoinType joinType) {
+        From<?, ?> join = joins.get(prefix);
+        if (join == null) {
+            join = parent.join(attribute, joinType);
+            joins.put(prefix, join);
+        }
+        return join;
+    }
+
+    /**
+     * get the root or subquery join the paths start from.
+     *
+     * @return from
+     */
+    public From<?, ?> getFrom() {
+        return from;
+    }
+}
@@ -0,0 +1,128 @@
+package com.aya.search.specification;
+
+import com.aya.search.model.Operation;
+import com.aya.search.util.FieldValueConverter;
+import com.aya.search.util.StringMatch;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.ParameterExpression;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Parameter Bindings.
+ *
+ * <p>Collects the values of one query built in bind-parameter mode. Every value becomes a named
+ * {@link ParameterExpression} ({@code p0}, {@code p1}, ...) in the order the predicate is built,
+ * so the query text only depends on the shape of the model and the values are bound afterwards
+ * with {@link #bind(Query)}.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public final class ParameterBindings {
+
+    private final List<ParameterExpression<?>> parameters = new ArrayList<>();
+
+    private final List<Object> values = new ArrayList<>();
+
+    private final StringBuilder signature = new StringBuilder();
+
+    /**
+     * replace values by parameters, the values are converted to the field type first,
+     * deduplicated for IN / NOT_IN and bound as the whole pattern for LIKE / NOT_LIKE and the string matching operations.
+     *
+     * @param criteriaBuilder criteriaBuilder
+     * @param fieldType       field type
+     * @param operation       operation
+     * @param fieldValues     values
+     * @return parameters
+     */
+    Object[] bindValues(final CriteriaBuilder criteriaBuilder,
+                        final Class<?> fieldType,
+                        final Operation operation,
+                        final Object[] fieldValues) {
+        if (fieldValues == null || fieldValues.length == 0) {
+            return fieldValues;
+        }
+        boolean like = operation == Operation.LIKE || operation == Operation.NOT_LIKE;
+        boolean stringMatch = StringMatch.isStringMatch(operation);
+        Class<?> type = like || stringMatch ? String.class : FieldValueConverter.wrap(fieldType);
+        Object[] convertedValues = new Object[fieldValues.length];
+        for (int i = 0; i < fieldValues.length; i++) {
+            if (like) {
+                convertedValues[i] = "%" + FieldValueConverter.convertFieldValue(fieldValues[i], fieldType) + "%";
+            } else if (stringMatch) {
+                Object value = FieldValueConverter.convertFieldValue(fieldValues[i], fieldType);
+                convertedValues[i] = value == null ? null : StringMatch.pattern(operation, value.toString());
+            } else {
+                convertedValues[i] = FieldValueConverter.convertFieldValue(fieldValues[i], type);
+            }
+        }
+        if (operation == Operation.IN || operation == Operation.NOT_IN) {
+            LinkedHashSet<Object> distinctValues = new LinkedHashSet<>(Arrays.asList(convertedValues));
+            // null never matches an IN list
+            distinctValues.remove(null);
+            convertedValues = distinctValues.toArray();
+        }
+        Object[] boundValues = new Object[convertedValues.length];
+        for (int i = 0; i < convertedValues.length; i++) {
+            boundValues[i] = parameter(criteriaBuilder, type, convertedValues[i]);
+        }
+        signature.append(boundValues.length).append(',');
+        return boundValues;
+    }
+
+    /**
+     * create parameter for a value.
+     *
+     * @param criteriaBuilder criteriaBuilder
+     * @param type            parameter type
+     * @param value           value
+     * @param <Y>             parameter type
+     * @return parameter
+     */
+    <Y> Expression<Y> parameter(final CriteriaBuilder criteriaBuilder, final Class<Y> type, final Object value) {
+        ParameterExpression<Y> parameter = criteriaBuilder.parameter(type, "p" + parameters.size());
+        parameters.add(parameter);
+        values.add(value);
+        return parameter;
+    }
+
+    /**
+     * bind the collected values to the query created from the criteria query.
+     *
+     * @param query query
+     * @param <Q>   query type
+     * @return query
+     */
+    public <Q extends Query> Q bind(final Q query) {
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(parameters.get(i).getName(), values.get(i));
+        }
+        return query;
+    }
+
+    /**
+     * get bound values in parameter order.
+     *
+     * @return values
+     */
+    public List<Object> getValues() {
+        return Collections.unmodifiableList(values);
+    }
+
+    /**
+     * get the number of values bound by each criteria, in the order the predicate is built.
+     * Together with the model shape it identifies the query text exactly.
+     *
+     * @return signature
+     */
+    public String getSignature() {
+        return signature.toString();
+    }
+}
@@ -0,0 +1,101 @@
+package com.aya.search.specification;
+
+import com.aya.search.model.Operation;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.ManagedType;
+import lombok.Getter;
+
+/**
+ * Query Context, the state shared while one query is built from a model.
+ *
+ * <p>Filters on the elements of a collection are built in a child scope whose join registry
+ * starts from the collection join of a subquery.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+final class QueryContext {
+
+    private final Root<?> root;
+
+    private final CriteriaQuery<?> query;
+
+    private final CriteriaBuilder criteriaBuilder;
+
+    /**
+     * bindings of the query, null unless the query is built in bind-parameter mode.
+     */
+    private final ParameterBindings bindings;
+
+    /**
+     * query or subquery of the scope.
+     */
+    private final AbstractQuery<?> scopeQuery;
+
+    /**
+     * managed type the field names of the scope start from.
+     */
+    private final ManagedType<?> model;
+
+    private final JoinRegistry joinRegistry;
+
+    QueryContext(final Root<?> root,
+                 final CriteriaQuery<?> query,
+                 final CriteriaBuilder criteriaBuilder,
+                 final ParameterBindings bindings) {
+        this(root, query, criteriaBuilder, bindings, new JoinRegistry(root));
+    }
+
+    QueryContext(final Root<?> root,
+                 final CriteriaQuery<?> query,
+                 final CriteriaBuilder criteriaBuilder,
+                 final ParameterBindings bindings,
+                 final JoinRegistry joinRegistry) {
+        this(root, query, criteriaBuilder, bindings, query, root.getModel(), joinRegistry);
+    }
+
+    private QueryContext(final Root<?> root,
+                         final CriteriaQuery<?> query,
+                         final CriteriaBuilder criteriaBuilder,
+                         final ParameterBindings bindings,
+                         final AbstractQuery<?> scopeQuery,
+                         final ManagedType<?> model,
+                         final JoinRegistry joinRegistry) {
+        this.root = root;
+        this.query = query;
+        this.criteriaBuilder = criteriaBuilder;
+        this.bindings = bindings;
+        this.scopeQuery = scopeQuery;
+        this.model = model;
+        this.joinRegistry = joinRegistry;
+    }
+
+    /**
+     * create the scope of the elements of a collection.
+     *
+     * @param subquery subquery of the scope
+     * @param element  collection join of the subquery
+     * @param model    element type
+     * @return scope
+     */
+    QueryContext scope(final AbstractQuery<?> subquery, final From<?, ?> element, final ManagedType<?> model) {
+        return new QueryContext(root, query, criteriaBuilder, bindings, subquery, model, new JoinRegistry(element));
+    }
+
+    /**
+     * replace values by bind parameters in bind-parameter mode.
+     *
+     * @param fieldType field type
+     * @param operation operation
+     * @param values    values
+     * @return values or parameters
+     */
+    Object[] bind(final Class<?> fieldType, final Operation operation, final Object[] values) {
+        return bindings == null ? values : bindings.bindValues(criteriaBuilder, fieldType, operation, values);
+    }
+}
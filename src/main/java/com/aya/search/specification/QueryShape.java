@@ -0,0 +1,202 @@
+package com.aya.search.specification;
+
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.factory.predicate.PredicateFactory;
+import com.aya.search.factory.predicate.PredicateFactoryProducer;
+import com.aya.search.factory.predicate.impl.InPredicateFactory;
+import com.aya.search.factory.predicate.impl.NotInPredicateFactory;
+import com.aya.search.metamodel.FieldPath;
+import com.aya.search.metamodel.FieldPathRegistry;
+import com.aya.search.model.CollectionFilter;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.FilterCriteria;
+import com.aya.search.model.FilterGroup;
+import com.aya.search.model.Operation;
+import com.aya.search.model.SortDataModel;
+import com.aya.search.util.FieldValueConverter;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Query Shape.
+ *
+ * <p>The model with its values removed, e.g. {@code AND(EQUAL(firstName#1),IN(id#4))|SORT(gpa DESC)}.
+ * Two models with the same shape build the same query text in bind-parameter mode, IN lists are
+ * counted as they are rendered: nulls and duplicates are dropped, then the padding and the chunks of the registered
+ * {@link InPredicateFactory} are applied.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class QueryShape {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * canonical text of the shape.
+     */
+    private final String canonical;
+
+    /**
+     * 64-bit FNV-1a hash of the canonical text.
+     */
+    private final long hash;
+
+    private QueryShape(final String canonical) {
+        this.canonical = canonical;
+        this.hash = fnv1a(canonical.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * get the shape of a model.
+     *
+     * @param dataManipulationModel model
+     * @return shape
+     */
+    public static QueryShape of(final DataManipulationModel dataManipulationModel) {
+        return of(dataManipulationModel, null);
+    }
+
+    /**
+     * get the shape of a model of an entity, the values of IN lists are converted to the field type before
+     * the duplicates are dropped, as they are when the predicate is built.
+     *
+     * @param dataManipulationModel model
+     * @param managedType           managed type the paths start from, null to compare the values as they are
+     * @return shape
+     */
+    public static QueryShape of(final DataManipulationModel dataManipulationModel, final ManagedType<?> managedType) {
+        StringBuilder canonical = new StringBuilder();
+        appendFilter(canonical, dataManipulationModel.getCriteria(), managedType);
+        List<SortDataModel> sortDataModels = dataManipulationModel.getSortDataModels();
+        if (sortDataModels != null && !sortDataModels.isEmpty()) {
+            canonical.append("|SORT(");
+            for (int i = 0; i < sortDataModels.size(); i++) {
+                if (i > 0) {
+                    canonical.append(',');
+                }
+                canonical.append(sortDataModels.get(i).getSortField()).append(' ').append(sortDataModels.get(i).getSortOrder());
+            }
+            canonical.append(')');
+        }
+        List<String> projections = dataManipulationModel.getProjections();
+        if (projections != null && !projections.isEmpty()) {
+            canonical.append("|SELECT(").append(String.join(",", projections)).append(')');
+        }
+        List<String> fetches = dataManipulationModel.getFetches();
+        if (fetches != null && !fetches.isEmpty()) {
+            canonical.append("|FETCH(").append(String.join(",", fetches)).append(')');
+        }
+        if (dataManipulationModel.getCursor() != null) {
+            canonical.append("|SEEK#").append(dataManipulationModel.getCursor().getValues().size());
+        }
+        return new QueryShape(canonical.toString());
+    }
+
+    private static void appendFilter(final StringBuilder canonical, final Filter filter, final ManagedType<?> managedType) {
+        if (filter instanceof FilterCriteria filterCriteria) {
+            canonical.append(filterCriteria.getOperation())
+                    .append('(').append(filterCriteria.getFieldName())
+                    .append('#').append(valueCount(filterCriteria, managedType))
+                    .append(')');
+        } else if (filter instanceof FilterGroup filterGroup) {
+            canonical.append(filterGroup.getCondition()).append('(');
+            List<Filter> conditions = filterGroup.getConditions() == null ? List.of() : filterGroup.getConditions();
+            for (int i = 0; i < conditions.size(); i++) {
+                if (i > 0) {
+                    canonical.append(',');
+                }
+                appendFilter(canonical, conditions.get(i), managedType);
+            }
+            canonical.append(')');
+        } else if (filter instanceof CollectionFilter collectionFilter) {
+            canonical.append(collectionFilter.getQuantifier()).append('[').append(collectionFilter.getPath()).append("](");
+            appendFilter(canonical, collectionFilter.getFilter(), getElementType(managedType, collectionFilter.getPath()));
+            canonical.append(')');
+        } else {
+            canonical.append(filter);
+        }
+    }
+
+    private static int valueCount(final FilterCriteria filterCriteria, final ManagedType<?> managedType) {
+        Object[] fieldValues = filterCriteria.getFieldValue();
+        int count = fieldValues == null ? 0 : fieldValues.length;
+        Operation operation = filterCriteria.getOperation();
+        if (operation != Operation.IN && operation != Operation.NOT_IN || count == 0) {
+            return count;
+        }
+        Class<?> fieldType = getFieldType(managedType, filterCriteria.getFieldName());
+        Set<Object> distinctValues = new LinkedHashSet<>(count);
+        for (Object value : fieldValues) {
+            // null never matches an IN list
+            if (value != null) {
+                distinctValues.add(convert(value, fieldType));
+            }
+        }
+        PredicateFactory predicateFactory = PredicateFactoryProducer.getFactory(operation);
+        if (predicateFactory instanceof InPredicateFactory inPredicateFactory) {
+            return inPredicateFactory.getRenderedSize(distinctValues.size());
+        } else if (predicateFactory instanceof NotInPredicateFactory notInPredicateFactory) {
+            return notInPredicateFactory.getRenderedSize(distinctValues.size());
+        }
+        return distinctValues.size();
+    }
+
+    private static Class<?> getFieldType(final ManagedType<?> managedType, final String fieldName) {
+        if (managedType == null) {
+            return null;
+        }
+        try {
+            return FieldPathRegistry.getFieldPath(managedType, fieldName).getJavaType();
+        } catch (GenerateSpecificationException e) {
+            // the invalid field is reported when the predicate is built
+            return null;
+        }
+    }
+
+    private static Object convert(final Object value, final Class<?> fieldType) {
+        if (fieldType == null) {
+            return value;
+        }
+        try {
+            return FieldValueConverter.convertFieldValue(value, fieldType);
+        } catch (GenerateSpecificationException e) {
+            return value;
+        }
+    }
+
+    private static ManagedType<?> getElementType(final ManagedType<?> managedType, final String collectionPath) {
+        if (managedType == null) {
+            return null;
+        }
+        try {
+            FieldPath fieldPath = FieldPathRegistry.getFieldPath(managedType, collectionPath);
+            return fieldPath.getAttribute() instanceof PluralAttribute<?, ?, ?> pluralAttribute
+                    && pluralAttribute.getElementType() instanceof ManagedType<?> elementType ? elementType : null;
+        } catch (GenerateSpecificationException e) {
+            return null;
+        }
+    }
+
+    private static long fnv1a(final byte[] bytes) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
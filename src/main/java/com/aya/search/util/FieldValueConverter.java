@@ -2,51 +2,129 @@ package com.aya.search.util;
 
 import com.aya.search.exception.ErrorCode;
 import com.aya.search.exception.GenerateSpecificationException;
+import jakarta.persistence.criteria.Expression;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Field Value Converter.
  *
+ * <p>Converters are registered per target class and resolved once per class through a {@link ClassValue}.
+ * Values that are already instances of the field type are returned as they are,
+ * enums are converted by name and types without a converter receive the value unchanged.</p>
+ *
  * @author Ayah Alrefai
  * @since 05/25/2024
  */
 public class FieldValueConverter {
 
+    private static final Map<Class<?>, Class<?>> PRIMITIVES = Map.of(
+            int.class, Integer.class,
+            long.class, Long.class,
+            double.class, Double.class,
+            float.class, Float.class,
+            boolean.class, Boolean.class,
+            short.class, Short.class,
+            byte.class, Byte.class,
+            char.class, Character.class);
+
+    private static final Map<Class<?>, ValueConverter<?>> CONVERTERS = new ConcurrentHashMap<>();
+
+    private static final ClassValue<ValueConverter<?>> RESOLVED_CONVERTERS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected ValueConverter<?> computeValue(final Class<?> type) {
+            ValueConverter<?> converter = CONVERTERS.get(type);
+            if (converter != null) {
+                return converter;
+            } else if (type.isEnum()) {
+                return value -> Enum.valueOf((Class<Enum>) type, value.toString());
+            }
+            return value -> value;
+        }
+    };
+
+    static {
+        register(String.class, Object::toString);
+        register(Integer.class, value -> value instanceof Short || value instanceof Byte
+                ? ((Number) value).intValue()
+                : Integer.valueOf(value.toString()));
+        register(Long.class, value -> value instanceof Integer || value instanceof Short || value instanceof Byte
+                ? ((Number) value).longValue()
+                : Long.valueOf(value.toString()));
+        register(Short.class, value -> value instanceof Byte ? ((Number) value).shortValue() : Short.valueOf(value.toString()));
+        register(Byte.class, value -> Byte.valueOf(value.toString()));
+        register(Double.class, value -> value instanceof Number number ? number.doubleValue() : Double.valueOf(value.toString()));
+        register(Float.class, value -> value instanceof Number number ? number.floatValue() : Float.valueOf(value.toString()));
+        register(BigDecimal.class, value -> new BigDecimal(value.toString()));
+        register(BigInteger.class, value -> new BigInteger(value.toString()));
+        register(Boolean.class, value -> Boolean.parseBoolean(value.toString()));
+        register(Character.class, value -> {
+            String string = value.toString();
+            if (string.length() != 1) {
+                throw new IllegalArgumentException(string);
+            }
+            return string.charAt(0);
+        });
+        register(UUID.class, value -> UUID.fromString(value.toString()));
+        register(LocalDate.class, value -> LocalDate.parse(value.toString()));
+        register(LocalDateTime.class, value -> LocalDateTime.parse(value.toString()));
+        register(LocalTime.class, value -> LocalTime.parse(value.toString()));
+        register(OffsetDateTime.class, value -> OffsetDateTime.parse(value.toString()));
+        register(OffsetTime.class, value -> OffsetTime.parse(value.toString()));
+        register(ZonedDateTime.class, value -> ZonedDateTime.parse(value.toString()));
+        register(Instant.class, value -> Instant.parse(value.toString()));
+    }
+
     /**
-     * convert field value.
+     * register converter, replacing the current converter of the type.
+     *
+     * @param type      target type
+     * @param converter converter
+     * @param <T>       target type
+     */
+    public static <T> void register(final Class<T> type, final ValueConverter<? extends T> converter) {
+        CONVERTERS.put(type, converter);
+        RESOLVED_CONVERTERS.remove(type);
+    }
+
+    /**
+     * get the wrapper class of a primitive type.
+     *
+     * @param type type
+     * @return wrapper class, or the type itself if it is not primitive
+     */
+    public static Class<?> wrap(final Class<?> type) {
+        return type.isPrimitive() ? PRIMITIVES.get(type) : type;
+    }
+
+    /**
+     * convert field value, query expressions such as bind parameters are returned as they are.
      *
      * @param value value
      * @param fieldType fieldType
      * @return object
      * @throws GenerateSpecificationException GenerateSpecificationException
      */
-    public static Object convertFieldValue(final String value, final Class<?> fieldType) {
+    public static Object convertFieldValue(final Object value, final Class<?> fieldType) {
+        Class<?> type = wrap(fieldType);
+        if (value == null || type.isInstance(value) || value instanceof Expression<?>) {
+            return value;
+        }
         try {
-            if (fieldType == String.class) {
-                return value;
-            } else if (fieldType == Integer.class || fieldType == int.class) {
-                return Integer.parseInt(value);
-            } else if (fieldType == Double.class || fieldType == double.class) {
-                return Double.parseDouble(value);
-            } else if (fieldType == Float.class || fieldType == float.class) {
-                return Float.parseFloat(value);
-            } else if (fieldType == Long.class || fieldType == long.class) {
-                return Long.parseLong(value);
-            } else if (fieldType == Boolean.class || fieldType == boolean.class) {
-                return Boolean.parseBoolean(value);
-            } else if (fieldType == LocalDate.class) {
-                return LocalDate.parse(value);
-            } else if (fieldType == LocalDateTime.class) {
-                return LocalDateTime.parse(value);
-            } else if (fieldType == OffsetDateTime.class) {
-                return OffsetDateTime.parse(value);
-            } else {
-                return value;
-            }
+            return RESOLVED_CONVERTERS.get(type).convert(value);
         } catch (Exception e) {
-            throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_VALUE, value, fieldType.toString());
+            throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_VALUE, String.valueOf(value), fieldType.toString());
         }
     }
 }
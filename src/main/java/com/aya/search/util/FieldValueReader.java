@@ -0,0 +1,83 @@
+package com.aya.search.util;
+
+import com.aya.search.exception.ErrorCode;
+import com.aya.search.exception.GenerateSpecificationException;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Id;
+import org.hibernate.Hibernate;
+import java.lang.reflect.Field;
+
+/**
+ * Field Value Reader, reads dotted field values from entity instances.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public class FieldValueReader {
+
+    /**
+     * read field value, returns null if an association on the path is null.
+     *
+     * @param object    object
+     * @param fieldName dotted field name
+     * @return value
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public static Object readValue(final Object object, final String fieldName) {
+        Object value = object;
+        int start = 0;
+        while (value != null) {
+            int end = fieldName.indexOf('.', start);
+            String name = end < 0 ? fieldName.substring(start) : fieldName.substring(start, end);
+            value = Hibernate.unproxy(value);
+            Field field = findField(value.getClass(), name);
+            if (field == null) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_NAME, name, value.getClass().toString());
+            }
+            try {
+                value = field.get(value);
+            } catch (IllegalAccessException e) {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_NAME, name, value.getClass().toString());
+            }
+            if (end < 0) {
+                return value;
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+
+    /**
+     * get name of the field annotated with {@link Id} or {@link EmbeddedId}.
+     *
+     * @param entity entity
+     * @return id field name
+     * @throws GenerateSpecificationException GenerateSpecificationException
+     */
+    public static String getIdFieldName(final Object entity) {
+        Class<?> type = Hibernate.getClass(entity);
+        while (type != null && type != Object.class) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class) || field.isAnnotationPresent(EmbeddedId.class)) {
+                    return field.getName();
+                }
+            }
+            type = type.getSuperclass();
+        }
+        throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_NAME, "id", Hibernate.getClass(entity).toString());
+    }
+
+    private static Field findField(final Class<?> type, final String name) {
+        Class<?> current = type;
+        while (current != null && current != Object.class) {
+            try {
+                Field field = current.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException e) {
+                current = current.getSuperclass();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.aya.search.util;
+
+import com.aya.search.model.Operation;
+import java.util.Locale;
+
+/**
+ * String Match.
+ *
+ * <p>Builds the LIKE patterns of the string matching operations. The {@code %} and {@code _} of the value are
+ * escaped with {@link #ESCAPE}, so they match themselves, and the wildcards are only added where the operation
+ * needs them: {@code value%} for a prefix, {@code %value} for a suffix and {@code %value%} for contains.
+ * The case-insensitive operations lower case the value with {@link Locale#ROOT}.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public final class StringMatch {
+
+    /**
+     * escape character of the patterns.
+     */
+    public static final char ESCAPE = '\\';
+
+    private StringMatch() {
+    }
+
+    /**
+     * check if the operation is a string matching operation.
+     *
+     * @param operation operation
+     * @return true for STARTS_WITH, ENDS_WITH, CONTAINS, EQUAL_IGNORE_CASE and their case-insensitive variants
+     */
+    public static boolean isStringMatch(final Operation operation) {
+        return switch (operation) {
+            case STARTS_WITH, ENDS_WITH, CONTAINS, EQUAL_IGNORE_CASE, STARTS_WITH_IGNORE_CASE, ENDS_WITH_IGNORE_CASE,
+                 CONTAINS_IGNORE_CASE -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * check if the operation ignores case.
+     *
+     * @param operation operation
+     * @return true for the case-insensitive operations
+     */
+    public static boolean isIgnoreCase(final Operation operation) {
+        return switch (operation) {
+            case EQUAL_IGNORE_CASE, STARTS_WITH_IGNORE_CASE, ENDS_WITH_IGNORE_CASE, CONTAINS_IGNORE_CASE -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * get the pattern of a string matching operation, the lower cased value for EQUAL_IGNORE_CASE.
+     *
+     * @param operation string matching operation
+     * @param value     value
+     * @return pattern
+     */
+    public static String pattern(final Operation operation, final String value) {
+        String normalized = isIgnoreCase(operation) ? value.toLowerCase(Locale.ROOT) : value;
+        return switch (operation) {
+            case STARTS_WITH, STARTS_WITH_IGNORE_CASE -> escape(normalized) + "%";
+            case ENDS_WITH, ENDS_WITH_IGNORE_CASE -> "%" + escape(normalized);
+            case CONTAINS, CONTAINS_IGNORE_CASE -> "%" + escape(normalized) + "%";
+            default -> normalized;
+        };
+    }
+
+    /**
+     * check if a value matches a string matching operation, with the semantics of its SQL pattern.
+     *
+     * @param operation string matching operation
+     * @param value     value
+     * @param expected  expected value
+     * @return true if the value matches
+     */
+    public static boolean matches(final Operation operation, final String value, final String expected) {
+        boolean ignoreCase = isIgnoreCase(operation);
+        String actual = ignoreCase ? value.toLowerCase(Locale.ROOT) : value;
+        String normalized = ignoreCase ? expected.toLowerCase(Locale.ROOT) : expected;
+        return switch (operation) {
+            case STARTS_WITH, STARTS_WITH_IGNORE_CASE -> actual.startsWith(normalized);
+            case ENDS_WITH, ENDS_WITH_IGNORE_CASE -> actual.endsWith(normalized);
+            case CONTAINS, CONTAINS_IGNORE_CASE -> actual.contains(normalized);
+            default -> actual.equals(normalized);
+        };
+    }
+
+    /**
+     * escape the wildcards and the escape character of a value.
+     *
+     * @param value value
+     * @return escaped value
+     */
+    public static String escape(final String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,417 @@
+package com.aya.search.util;
+
+import com.aya.search.exception.ErrorCode;
+import com.aya.search.exception.GenerateSpecificationException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Value Codec.
+ *
+ * <p>Binary form of single values with a type tag: null, boolean, int, long, double, string, date, date-time,
+ * instant, decimal or UUID, enums and characters are written as strings. Counts and integers are unsigned varints,
+ * signed integers are zigzag encoded. Used by the keyset cursor and by
+ * {@link com.aya.search.codec.BinaryModelCodec}, whose writer and reader extend {@link Writer} and {@link Reader}.</p>
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+public final class ValueCodec {
+
+    private static final int VALUE_NULL = 0;
+    private static final int VALUE_FALSE = 1;
+    private static final int VALUE_TRUE = 2;
+    private static final int VALUE_INT = 3;
+    private static final int VALUE_LONG = 4;
+    private static final int VALUE_DOUBLE = 5;
+    private static final int VALUE_STRING = 6;
+    private static final int VALUE_DATE = 7;
+    private static final int VALUE_DATE_TIME = 8;
+    private static final int VALUE_INSTANT = 9;
+    private static final int VALUE_DECIMAL = 10;
+    private static final int VALUE_UUID = 11;
+
+    private ValueCodec() {
+    }
+
+    /**
+     * encode values with their type tags, preceded by their count.
+     *
+     * @param values values
+     * @return payload
+     * @throws GenerateSpecificationException if a value has no type tag
+     */
+    public static byte[] encodeValues(final List<?> values) {
+        Writer writer = new Writer();
+        writer.writeVarint(values.size() + 1);
+        values.forEach(writer::writeValue);
+        return writer.toByteArray();
+    }
+
+    /**
+     * decode values encoded by {@link #encodeValues(List)}, each value has the type of its tag.
+     *
+     * @param payload         payload
+     * @param maxValues       maximum number of values
+     * @param maxStringLength maximum length of a string value in bytes
+     * @return values
+     * @throws GenerateSpecificationException if the payload is invalid or exceeds the limits
+     */
+    public static Object[] decodeValues(final byte[] payload, final int maxValues, final int maxStringLength) {
+        Reader reader = new Reader(payload, maxValues, maxStringLength);
+        int count = reader.readCount();
+        if (count < 0) {
+            throw reader.invalid("missing values");
+        }
+        Object[] values = reader.readValues(count);
+        if (reader.getPosition() != payload.length) {
+            throw reader.invalid("unexpected bytes after the values");
+        }
+        return values;
+    }
+
+    /**
+     * writer of one payload.
+     */
+    public static class Writer {
+
+        private byte[] buffer = new byte[64];
+
+        private int size;
+
+        /**
+         * write a value with its type tag.
+         *
+         * @param value value
+         * @throws GenerateSpecificationException if the value has no type tag
+         */
+        public void writeValue(final Object value) {
+            if (value == null) {
+                writeVarint(VALUE_NULL);
+            } else if (value instanceof Boolean bool) {
+                writeVarint(bool ? VALUE_TRUE : VALUE_FALSE);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                writeVarint(VALUE_INT);
+                writeSignedVarint(((Number) value).intValue());
+            } else if (value instanceof Long longValue) {
+                writeVarint(VALUE_LONG);
+                writeSignedVarint(longValue);
+            } else if (value instanceof Double || value instanceof Float) {
+                writeVarint(VALUE_DOUBLE);
+                writeFixed64(Double.doubleToLongBits(((Number) value).doubleValue()));
+            } else if (value instanceof LocalDate date) {
+                writeVarint(VALUE_DATE);
+                writeSignedVarint(date.toEpochDay());
+            } else if (value instanceof LocalDateTime dateTime) {
+                writeVarint(VALUE_DATE_TIME);
+                writeSignedVarint(dateTime.toEpochSecond(ZoneOffset.UTC));
+                writeVarint(dateTime.getNano());
+            } else if (value instanceof Instant instant) {
+                writeVarint(VALUE_INSTANT);
+                writeSignedVarint(instant.getEpochSecond());
+                writeVarint(instant.getNano());
+            } else if (value instanceof BigDecimal decimal) {
+                writeVarint(VALUE_DECIMAL);
+                writeString(decimal.toString());
+            } else if (value instanceof UUID uuid) {
+                writeVarint(VALUE_UUID);
+                writeFixed64(uuid.getMostSignificantBits());
+                writeFixed64(uuid.getLeastSignificantBits());
+            } else if (value instanceof CharSequence || value instanceof Character || value instanceof Enum) {
+                writeVarint(VALUE_STRING);
+                writeString(value instanceof Enum<?> enumValue ? enumValue.name() : value.toString());
+            } else {
+                throw new GenerateSpecificationException(ErrorCode.INVALID_FIELD_VALUE, value, value.getClass().getName());
+            }
+        }
+
+        /**
+         * write a string as its length in bytes and its UTF-8 bytes.
+         *
+         * @param value value
+         */
+        public void writeString(final String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            writeBytes(bytes);
+        }
+
+        /**
+         * write a zigzag encoded varint.
+         *
+         * @param value value
+         */
+        public void writeSignedVarint(final long value) {
+            writeVarint(value << 1 ^ value >> 63);
+        }
+
+        /**
+         * write an unsigned varint.
+         *
+         * @param value value
+         */
+        public void writeVarint(final long value) {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                writeByte((int) (remaining & 0x7F | 0x80));
+                remaining >>>= 7;
+            }
+            writeByte((int) remaining);
+        }
+
+        /**
+         * write eight bytes, big endian.
+         *
+         * @param value value
+         */
+        public void writeFixed64(final long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                writeByte((int) (value >>> shift));
+            }
+        }
+
+        /**
+         * write bytes as they are.
+         *
+         * @param bytes bytes
+         */
+        public void writeBytes(final byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void writeByte(final int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        private void ensureCapacity(final int length) {
+            if (size + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+            }
+        }
+
+        /**
+         * get the written bytes.
+         *
+         * @return payload
+         */
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    /**
+     * reader of one payload, read in place. The limits are checked before anything is allocated.
+     */
+    public static class Reader {
+
+        private final byte[] payload;
+
+        private final int maxValues;
+
+        private final int maxStringLength;
+
+        private int position;
+
+        /**
+         * create reader.
+         *
+         * @param payload         payload
+         * @param maxValues       maximum count of a list
+         * @param maxStringLength maximum length of a string in bytes
+         */
+        public Reader(final byte[] payload, final int maxValues, final int maxStringLength) {
+            this.payload = payload;
+            this.maxValues = maxValues;
+            this.maxStringLength = maxStringLength;
+        }
+
+        /**
+         * get the position of the next byte.
+         *
+         * @return position
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        /**
+         * move to a position.
+         *
+         * @param position position
+         */
+        public void setPosition(final int position) {
+            this.position = position;
+        }
+
+        /**
+         * read values with their type tags.
+         *
+         * @param count number of values
+         * @return values
+         */
+        public Object[] readValues(final int count) {
+            Object[] values = new Object[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = readValue();
+            }
+            return values;
+        }
+
+        private Object readValue() {
+            int tag = readVarint();
+            try {
+                return switch (tag) {
+                    case VALUE_NULL -> null;
+                    case VALUE_FALSE -> Boolean.FALSE;
+                    case VALUE_TRUE -> Boolean.TRUE;
+                    case VALUE_INT -> readInt();
+                    case VALUE_LONG -> readSignedVarint();
+                    case VALUE_DOUBLE -> Double.longBitsToDouble(readFixed64());
+                    case VALUE_STRING -> readString();
+                    case VALUE_DATE -> LocalDate.ofEpochDay(readSignedVarint());
+                    case VALUE_DATE_TIME -> LocalDateTime.ofEpochSecond(readSignedVarint(), readNanos(), ZoneOffset.UTC);
+                    case VALUE_INSTANT -> Instant.ofEpochSecond(readSignedVarint(), readNanos());
+                    case VALUE_DECIMAL -> new BigDecimal(readString());
+                    case VALUE_UUID -> new UUID(readFixed64(), readFixed64());
+                    default -> throw invalid("unknown value tag " + tag);
+                };
+            } catch (DateTimeException | NumberFormatException e) {
+                throw invalid("invalid value: " + e.getMessage());
+            }
+        }
+
+        private int readInt() {
+            long value = readSignedVarint();
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw invalid("int out of range");
+            }
+            return (int) value;
+        }
+
+        private int readNanos() {
+            int nanos = readVarint();
+            if (nanos > 999_999_999) {
+                throw invalid("nanos out of range");
+            }
+            return nanos;
+        }
+
+        /**
+         * read a list count written as {@code count + 1}, -1 is a null list.
+         *
+         * @return count
+         */
+        public int readCount() {
+            int count = readVarint() - 1;
+            if (count > maxValues) {
+                throw new GenerateSpecificationException(ErrorCode.PAYLOAD_LIMIT_EXCEEDED, "values", maxValues);
+            } else if (count > payload.length - position) {
+                // every element takes at least one byte
+                throw invalid("count " + count + " exceeds the payload");
+            }
+            return count;
+        }
+
+        private String readString() {
+            return readUtf8(checkLength(readVarintLong()));
+        }
+
+        /**
+         * check a string length against the limit and the rest of the payload.
+         *
+         * @param length length in bytes
+         * @return length
+         */
+        protected int checkLength(final long length) {
+            if (length < 0 || length > maxStringLength) {
+                throw new GenerateSpecificationException(ErrorCode.PAYLOAD_LIMIT_EXCEEDED, "string length", maxStringLength);
+            } else if (length > payload.length - position) {
+                throw invalid("string exceeds the payload");
+            }
+            return (int) length;
+        }
+
+        /**
+         * read UTF-8 bytes checked by {@link #checkLength(long)}.
+         *
+         * @param length length in bytes
+         * @return string
+         */
+        protected String readUtf8(final int length) {
+            String value = new String(payload, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private long readSignedVarint() {
+            long value = readVarintLong();
+            return value >>> 1 ^ -(value & 1);
+        }
+
+        /**
+         * read an unsigned varint that fits an int.
+         *
+         * @return value
+         */
+        public int readVarint() {
+            long value = readVarintLong();
+            if (value > Integer.MAX_VALUE) {
+                throw invalid("varint out of range");
+            }
+            return (int) value;
+        }
+
+        /**
+         * read an unsigned varint.
+         *
+         * @return value
+         */
+        public long readVarintLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw invalid("malformed varint");
+        }
+
+        private long readFixed64() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = value << 8 | readByte();
+            }
+            return value;
+        }
+
+        private int readByte() {
+            if (position >= payload.length) {
+                throw invalid("unexpected end of payload");
+            }
+            return payload[position++] & 0xFF;
+        }
+
+        /**
+         * create the error of an invalid payload at the current position.
+         *
+         * @param message message
+         * @return exception
+         */
+        public GenerateSpecificationException invalid(final String message) {
+            return new GenerateSpecificationException(ErrorCode.INVALID_PAYLOAD, "byte " + position, message);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.aya.search.util;
+
+/**
+ * Value Converter, converts a filter value to a field type.
+ *
+ * @author Ayah Alrefai
+ * @since 10/17/2026
+ */
+@FunctionalInterface
+public interface ValueConverter<T> {
+
+    /**
+     * convert value, throwing any exception if the value is not compatible with the type.
+     *
+     * @param value non null value that is not an instance of the target type
+     * @return converted value
+     * @throws Exception Exception
+     */
+    T convert(Object value) throws Exception;
+}
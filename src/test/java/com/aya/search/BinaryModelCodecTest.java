@@ -0,0 +1,166 @@
+package com.aya.search;
+
+import com.aya.search.codec.BinaryModelCodec;
+import com.aya.search.codec.DecodeLimits;
+import com.aya.search.entity.Student;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.model.Condition;
+import com.aya.search.model.ConstantFilter;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.FilterCriteria;
+import com.aya.search.model.KeysetCursor;
+import com.aya.search.model.Operation;
+import com.aya.search.model.SortOrder;
+import com.aya.search.repository.StudentRepository;
+import com.aya.search.specification.GeneralSpecification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static com.aya.search.model.CollectionFilter.Elements.none;
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+import static com.aya.search.model.FilterGroup.Filter.and;
+import static com.aya.search.model.FilterGroup.Filter.not;
+import static com.aya.search.model.FilterGroup.Filter.or;
+import static com.aya.search.model.SortDataModel.Sort.asc;
+import static com.aya.search.model.SortDataModel.Sort.desc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class BinaryModelCodecTest {
+
+    private final BinaryModelCodec codec = new BinaryModelCodec(DecodeLimits.DEFAULT);
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    @DisplayName("Round Trip")
+    public void test1() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(and(
+                condition("gpa", Operation.BETWEEN, 3.0, 3.9),
+                or(condition("id", Operation.IN, 1, 2L, "3", null), not(condition("additionalInfo", Operation.IS_NULL))),
+                condition("dateOfBirth", Operation.LESS_THAN, LocalDate.of(2001, 1, 1)),
+                none("community.students", condition("isFullTime", Operation.EQUAL, false)),
+                condition("gpa", Operation.NOT_EQUAL, 2.5)));
+        dataManipulationModel.setSortModel(desc("gpa"), asc("id"));
+        dataManipulationModel.setCursor(KeysetCursor.of(3.9, 4L));
+        dataManipulationModel.setFetch("community");
+        dataManipulationModel.setFacet("gpaLetter", "community");
+        byte[] payload = codec.encode(dataManipulationModel);
+        DataManipulationModel decoded = codec.decode(payload);
+        assertEquals(decoded, dataManipulationModel);
+        assertEquals(studentRepository.findAll(new GeneralSpecification<Student>(decoded)),
+                studentRepository.findAll(new GeneralSpecification<Student>(dataManipulationModel)));
+
+        dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("value", Operation.IN, -7, Long.MIN_VALUE, Double.NaN, true, 'c', SortOrder.DESC,
+                LocalDateTime.of(1969, 7, 20, 20, 17, 40, 5), Instant.ofEpochSecond(-1, 1), new BigDecimal("1.10"),
+                new UUID(-1L, 42L), "قيمة"));
+        decoded = codec.decode(codec.encode(dataManipulationModel));
+        assertEquals(Arrays.asList(((FilterCriteria) decoded.getCriteria()).getFieldValue()), Arrays.asList(-7,
+                Long.MIN_VALUE, Double.NaN, true, "c", "DESC", LocalDateTime.of(1969, 7, 20, 20, 17, 40, 5), Instant.ofEpochSecond(-1, 1),
+                new BigDecimal("1.10"), new UUID(-1L, 42L), "قيمة"));
+
+        dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(ConstantFilter.ALWAYS_FALSE);
+        assertEquals(codec.decode(codec.encode(dataManipulationModel)), dataManipulationModel);
+    }
+
+    @Test
+    @DisplayName("Smaller Than JSON")
+    public void test2() throws JsonProcessingException {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(or(
+                condition("community.id", Operation.IN, LongStream.range(100_000, 101_000).boxed().toArray()),
+                condition("community.id", Operation.EQUAL, 1L)));
+        byte[] payload = codec.encode(dataManipulationModel);
+        assertTrue(payload.length * 3 < new ObjectMapper().writeValueAsBytes(dataManipulationModel).length * 2);
+        assertEquals(codec.decode(payload), dataManipulationModel);
+    }
+
+    @Test
+    @DisplayName("Reject Invalid Payloads")
+    public void test3() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("id", Operation.IN, 1, 2, 3, 4));
+        byte[] payload = codec.encode(dataManipulationModel);
+
+        assertThrows(GenerateSpecificationException.class, () -> codec.decode(Arrays.copyOf(payload, payload.length - 1)));
+        byte[] version = payload.clone();
+        version[2] = BinaryModelCodec.VERSION + 1;
+        assertThrows(GenerateSpecificationException.class, () -> codec.decode(version));
+        // a version 1 payload ends after the fetches
+        byte[] versionOne = Arrays.copyOf(payload, payload.length - 1);
+        versionOne[2] = 1;
+        assertEquals(codec.decode(versionOne), dataManipulationModel);
+        byte[] magic = payload.clone();
+        magic[0] = '{';
+        assertThrows(GenerateSpecificationException.class, () -> codec.decode(magic));
+
+        BinaryModelCodec limitedCodec = new BinaryModelCodec(DecodeLimits.builder().maxValues(3).build());
+        GenerateSpecificationException exception = assertThrows(GenerateSpecificationException.class, () -> limitedCodec.decode(payload));
+        assertTrue(exception.getMessage().contains("values"));
+
+        dataManipulationModel.setCriteria(condition("id", Operation.IN, new Object()));
+        assertThrows(GenerateSpecificationException.class, () -> codec.encode(dataManipulationModel));
+    }
+
+    @Test
+    @DisplayName("Reject Malformed Values And Groups")
+    public void test4() {
+        int group = 2;
+        int criteria = 1;
+        int and = Condition.AND.ordinal() + 1;
+        int equal = Operation.EQUAL.ordinal() + 1;
+        List<byte[]> payloads = List.of(
+                payload(group, and, 0),
+                payload(group, and, 3, 1 + 3, 0, 0),
+                // VALUE_INT 2^40
+                criteriaPayload(criteria, equal, 3, 0x80, 0x80, 0x80, 0x80, 0x80, 0x40),
+                // VALUE_DATE out of range
+                criteriaPayload(criteria, equal, 7, 0xFE, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x7F),
+                // VALUE_DATE_TIME with 2^31 - 1 nanos
+                criteriaPayload(criteria, equal, 8, 0, 0xFF, 0xFF, 0xFF, 0xFF, 0x07),
+                // VALUE_DECIMAL "a"
+                criteriaPayload(criteria, equal, 10, 1, 'a'));
+        for (byte[] payload : payloads) {
+            GenerateSpecificationException exception = assertThrows(GenerateSpecificationException.class, () -> codec.decode(payload));
+            assertTrue(exception.getMessage().startsWith("Invalid search payload"), Arrays.toString(payload));
+        }
+    }
+
+    private static byte[] criteriaPayload(final int criteria, final int operation, final int... value) {
+        // the field name "id", one value, then no sort models, cursor, projections, fetches and facets
+        int[] header = {criteria, 3 << 1, 'i', 'd', operation, 2};
+        int[] bytes = Arrays.copyOf(header, header.length + value.length + 5);
+        System.arraycopy(value, 0, bytes, header.length, value.length);
+        return payload(bytes);
+    }
+
+    private static byte[] payload(final int... bytes) {
+        byte[] payload = new byte[bytes.length + 3];
+        payload[0] = 'A';
+        payload[1] = 'S';
+        payload[2] = BinaryModelCodec.VERSION;
+        for (int i = 0; i < bytes.length; i++) {
+            payload[i + 3] = (byte) bytes[i];
+        }
+        return payload;
+    }
+}
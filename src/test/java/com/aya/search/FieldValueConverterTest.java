@@ -0,0 +1,46 @@
+package com.aya.search;
+
+import com.aya.search.model.SortOrder;
+import com.aya.search.util.FieldValueConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FieldValueConverterTest {
+
+    @Test
+    @DisplayName("Typed Value Is Not Converted")
+    public void test1() {
+        LocalDate date = LocalDate.of(2022, 1, 1);
+        assertSame(FieldValueConverter.convertFieldValue(date, LocalDate.class), date);
+        Long id = 1000L;
+        assertSame(FieldValueConverter.convertFieldValue(id, long.class), id);
+    }
+
+    @Test
+    @DisplayName("Convert Types")
+    public void test2() {
+        assertEquals(FieldValueConverter.convertFieldValue(5, Long.class), 5L);
+        assertEquals(FieldValueConverter.convertFieldValue("3.70", BigDecimal.class), new BigDecimal("3.70"));
+        assertEquals(FieldValueConverter.convertFieldValue("2024-05-25T10:15:30Z", Instant.class), Instant.parse("2024-05-25T10:15:30Z"));
+        assertEquals(FieldValueConverter.convertFieldValue("DESC", SortOrder.class), SortOrder.DESC);
+        UUID uuid = UUID.randomUUID();
+        assertEquals(FieldValueConverter.convertFieldValue(uuid.toString(), UUID.class), uuid);
+        assertEquals(FieldValueConverter.convertFieldValue("7", short.class), (short) 7);
+    }
+
+    @Test
+    @DisplayName("Invalid Value")
+    public void test3() {
+        Exception exception = assertThrows(Exception.class, () -> FieldValueConverter.convertFieldValue(1234567.5, Long.class));
+        assertEquals(exception.getMessage(), "The value 1234567.5 is not compatible with type class java.lang.Long");
+    }
+}
@@ -0,0 +1,188 @@
+package com.aya.search;
+
+import com.aya.search.entity.Community;
+import com.aya.search.entity.Student;
+import com.aya.search.model.ConstantFilter;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.Operation;
+import com.aya.search.optimizer.FilterOptimizer;
+import com.aya.search.repository.CommunityRepository;
+import com.aya.search.repository.StudentRepository;
+import com.aya.search.specification.GeneralSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.ManagedType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static com.aya.search.model.CollectionFilter.Elements.all;
+import static com.aya.search.model.CollectionFilter.Elements.any;
+import static com.aya.search.model.CollectionFilter.Elements.none;
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+import static com.aya.search.model.FilterGroup.Filter.and;
+import static com.aya.search.model.FilterGroup.Filter.not;
+import static com.aya.search.model.FilterGroup.Filter.or;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class FilterOptimizerTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Flatten Nested AND")
+    public void test1() {
+        Filter filter = and(
+                condition("gpa", Operation.GREATER_THAN, 3.5),
+                and(
+                        condition("firstName", Operation.LIKE, "a"),
+                        condition("gpa", Operation.GREATER_THAN, 3.5)
+                )
+        );
+        assertOptimized(filter, and(
+                condition("gpa", Operation.GREATER_THAN, 3.5),
+                condition("firstName", Operation.LIKE, "a")
+        ));
+    }
+
+    @Test
+    @DisplayName("Merge EQUAL and IN Under OR")
+    public void test2() {
+        Filter filter = or(
+                condition("id", Operation.EQUAL, 1L),
+                condition("firstName", Operation.LIKE, "a"),
+                condition("id", Operation.IN, 2L, 3L),
+                condition("id", Operation.EQUAL, 1L)
+        );
+        assertOptimized(filter, or(
+                condition("id", Operation.IN, 1L, 2L, 3L),
+                condition("firstName", Operation.LIKE, "a")
+        ));
+    }
+
+    @Test
+    @DisplayName("Merge Range Bounds Into BETWEEN")
+    public void test3() {
+        Filter filter = and(
+                condition("gpa", Operation.GREATER_THAN_EQUAL, 3.0),
+                condition("gpa", Operation.LESS_THAN_EQUAL, 3.8),
+                condition("gpa", Operation.GREATER_THAN_EQUAL, 3.5)
+        );
+        assertOptimized(filter, condition("gpa", Operation.BETWEEN, 3.5, 3.8));
+    }
+
+    @Test
+    @DisplayName("Contradictory Range")
+    public void test4() {
+        Filter filter = and(
+                condition("gpa", Operation.GREATER_THAN, 3.0),
+                condition("gpa", Operation.LESS_THAN, 2.0)
+        );
+        assertOptimized(filter, ConstantFilter.ALWAYS_FALSE);
+    }
+
+    @Test
+    @DisplayName("Push NOT Down")
+    public void test5() {
+        Filter filter = not(
+                or(
+                        condition("id", Operation.IN, 1, 2, 3, 4),
+                        not(condition("gpa", Operation.BETWEEN, 3.0, 3.5))
+                )
+        );
+        assertOptimized(filter, and(
+                condition("id", Operation.NOT_IN, 1, 2, 3, 4),
+                condition("gpa", Operation.BETWEEN, 3.0, 3.5)
+        ));
+    }
+
+    @Test
+    @DisplayName("Contradictory EQUAL")
+    public void test6() {
+        Filter filter = or(
+                and(
+                        condition("id", Operation.EQUAL, 1L),
+                        condition("id", Operation.IN, 2L, 3L)
+                ),
+                condition("firstName", Operation.LIKE, "Aya")
+        );
+        assertOptimized(filter, condition("firstName", Operation.LIKE, "Aya"));
+    }
+
+    @Test
+    @DisplayName("Strings Are Not Compared")
+    public void test7() {
+        Filter filter = and(
+                condition("gpa", Operation.GREATER_THAN, "3.5"),
+                condition("gpa", Operation.LESS_THAN, "10")
+        );
+        assertOptimized(filter, filter);
+    }
+
+    @Test
+    @DisplayName("Push NOT Through Quantifiers")
+    public void test8() {
+        Filter filter = not(and(
+                any("community.students", condition("gpa", Operation.GREATER_THAN_EQUAL, 3.8)),
+                all("community.students", condition("gpaLetter", Operation.IN, "A", "A-"))
+        ));
+        assertOptimized(filter, or(
+                none("community.students", condition("gpa", Operation.GREATER_THAN_EQUAL, 3.8)),
+                any("community.students", condition("gpaLetter", Operation.NOT_IN, "A", "A-"))
+        ));
+
+        filter = any("community.students", and(condition("id", Operation.EQUAL, 1L), condition("id", Operation.EQUAL, 2L)));
+        assertOptimized(filter, ConstantFilter.ALWAYS_FALSE);
+    }
+
+    @Test
+    @DisplayName("Keep Leaves Crossing A Collection")
+    public void test9() {
+        ManagedType<Community> community = entityManager.getMetamodel().managedType(Community.class);
+        List<Filter> filters = List.of(
+                and(condition("students.id", Operation.EQUAL, 2L), condition("students.id", Operation.EQUAL, 3L)),
+                and(condition("students.gpa", Operation.GREATER_THAN, 3.8), condition("students.gpa", Operation.LESS_THAN, 3.3)),
+                not(condition("students.gpa", Operation.EQUAL, 3.9)));
+        List<Integer> counts = List.of(1, 1, 2);
+        for (int i = 0; i < filters.size(); i++) {
+            Filter filter = filters.get(i);
+            assertEquals(FilterOptimizer.optimize(community, filter), filter);
+            assertEquals(FilterOptimizer.optimize(filter), filter);
+            DataManipulationModel dataManipulationModel = new DataManipulationModel();
+            dataManipulationModel.setCriteria(filter);
+            assertEquals(communityRepository.findAll(new GeneralSpecification<Community>(dataManipulationModel)).size(), counts.get(i));
+            GeneralSpecification<Community> optimizedSpecification = new GeneralSpecification<>(
+                    FilterOptimizer.optimize(community, dataManipulationModel));
+            assertEquals(communityRepository.findAll(optimizedSpecification).size(), counts.get(i));
+        }
+
+        ManagedType<Student> student = entityManager.getMetamodel().managedType(Student.class);
+        Filter filter = and(condition("community.id", Operation.EQUAL, 1L), condition("community.id", Operation.IN, 1L, 5L));
+        assertEquals(FilterOptimizer.optimize(student, filter), condition("community.id", Operation.EQUAL, 1L));
+        assertEquals(FilterOptimizer.optimize(filter), filter);
+        assertEquals(FilterOptimizer.optimize(community, or(condition("students.id", Operation.EQUAL, 2L),
+                condition("students.id", Operation.EQUAL, 3L))), condition("students.id", Operation.IN, 2L, 3L));
+    }
+
+    private void assertOptimized(final Filter filter, final Filter expected) {
+        Filter optimized = FilterOptimizer.optimize(filter);
+        assertEquals(optimized, expected);
+
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(filter);
+        int count = studentRepository.findAll(new GeneralSpecification<Student>(dataManipulationModel)).size();
+        GeneralSpecification<Student> optimizedSpecification = new GeneralSpecification<>(FilterOptimizer.optimize(dataManipulationModel));
+        assertEquals(studentRepository.findAll(optimizedSpecification).size(), count);
+    }
+}
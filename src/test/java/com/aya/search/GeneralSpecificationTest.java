@@ -2,25 +2,59 @@ package com.aya.search;
 
 import com.aya.search.entity.Community;
 import com.aya.search.entity.Student;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.executor.SearchExecutor;
+import com.aya.search.factory.predicate.CaseInsensitiveOptions;
+import com.aya.search.factory.predicate.InListOptions;
+import com.aya.search.factory.predicate.PredicateFactoryProducer;
+import com.aya.search.factory.predicate.impl.InPredicateFactory;
+import com.aya.search.factory.predicate.impl.NotInPredicateFactory;
+import com.aya.search.memory.InMemorySpecification;
+import com.aya.search.metamodel.FieldPath;
+import com.aya.search.metamodel.FieldPathRegistry;
 import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.KeysetCursor;
 import com.aya.search.model.Operation;
 import com.aya.search.repository.CommunityRepository;
 import com.aya.search.repository.StudentRepository;
 import com.aya.search.specification.GeneralSpecification;
+import com.aya.search.specification.ParameterBindings;
+import com.aya.search.specification.QueryShape;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
 
+import static com.aya.search.model.CollectionFilter.Elements.all;
+import static com.aya.search.model.CollectionFilter.Elements.any;
+import static com.aya.search.model.CollectionFilter.Elements.none;
 import static com.aya.search.model.FilterCriteria.Condition.condition;
 import static com.aya.search.model.FilterGroup.Filter.*;
 import static com.aya.search.model.SortDataModel.Sort.asc;
 import static com.aya.search.model.SortDataModel.Sort.desc;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
@@ -30,6 +64,10 @@ class GeneralSpecificationTest {
     private StudentRepository studentRepository;
     @Autowired
     private CommunityRepository communityRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private DataSource dataSource;
 
     @Test
     @DisplayName("Equal Long Value")
@@ -517,7 +555,8 @@ class GeneralSpecificationTest {
         );
         GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
         List<Student> students = studentRepository.findAll(studentGeneralSpecification);
-        assertEquals(students.size(), 12);
+        // includes the "A" student without community, the OR branches join community with LEFT join
+        assertEquals(students.size(), 13);
     }
 
     @Test
@@ -682,4 +721,333 @@ class GeneralSpecificationTest {
         List<Student> students = studentRepository.findAll(studentGeneralSpecification);
         assertEquals(students.size(), 1);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Join Reuse")
+    public void test51() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(asc("community.teacher"));
+        dataManipulationModel.setCriteria(
+                and(
+                        condition("community.id", Operation.IN, 1L, 2L),
+                        condition("community.className", Operation.LIKE, "th")
+                )
+        );
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = criteriaBuilder.createQuery(Student.class);
+        Root<Student> root = query.from(Student.class);
+        query.where(studentGeneralSpecification.toPredicate(root, query, criteriaBuilder));
+        assertEquals(root.getJoins().size(), 1);
+        assertEquals(entityManager.createQuery(query).getResultList().size(), 8);
+    }
+
+    @Test
+    @DisplayName("Sort Keeps Rows Without Association")
+    public void test52() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(asc("community.teacher"));
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        List<Student> students = studentRepository.findAll(studentGeneralSpecification);
+        assertEquals(students.size(), 20);
+    }
+
+    @Test
+    @DisplayName("OR Keeps Rows Without Association")
+    public void test53() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(
+                or(
+                        condition("community.className", Operation.EQUAL, "9th A"),
+                        condition("id", Operation.EQUAL, 14L)
+                )
+        );
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        List<Student> students = studentRepository.findAll(studentGeneralSpecification);
+        assertEquals(students.size(), 5);
+    }
+
+    @Test
+    @DisplayName("Invalid Sorting Field To Many")
+    public void test54() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(asc("students.firstName"));
+        GeneralSpecification<Community> communityGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+
+        Exception exception = assertThrows(Exception.class, () -> {
+            communityRepository.findAll(communityGeneralSpecification);
+        });
+        assertEquals(exception.getMessage(), "Invalid sorting field students.firstName");
+    }
+
+    @Test
+    @DisplayName("Keyset Pagination")
+    public void test55() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(desc("gpa"), asc("community.id"), asc("lastName"));
+        dataManipulationModel.setCriteria(condition("community", Operation.IS_NOT_NULL));
+        dataManipulationModel.setCursor(KeysetCursor.first());
+        List<Student> expected = studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel));
+
+        List<Student> students = new ArrayList<>();
+        List<Student> page;
+        do {
+            page = studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel), PageRequest.of(0, 6)).getContent();
+            students.addAll(page);
+            if (!page.isEmpty()) {
+                String cursor = KeysetCursor.after(page.get(page.size() - 1), dataManipulationModel).encode();
+                dataManipulationModel.setCursor(KeysetCursor.decode(cursor));
+            }
+        } while (page.size() == 6);
+        assertEquals(students.size(), 17);
+        assertEquals(students, expected);
+    }
+
+    @Test
+    @DisplayName("Invalid Keyset Cursor")
+    public void test56() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(desc("gpa"));
+        dataManipulationModel.setCursor(KeysetCursor.of(3.5));
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+
+        Exception exception = assertThrows(Exception.class, () -> {
+            studentRepository.findAll(studentGeneralSpecification);
+        });
+        assertEquals(exception.getMessage(), "Invalid cursor AgVADAAAAAAAAA, it should hold the non null sort values followed by the primary key.");
+    }
+
+    @Test
+    @DisplayName("Large IN List")
+    public void test57() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("id", Operation.IN, LongStream.rangeClosed(5, 2504).boxed().toArray()));
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        List<Student> students = studentRepository.findAll(studentGeneralSpecification);
+        assertEquals(students.size(), 16);
+    }
+
+    @Test
+    @DisplayName("Chunked And Padded IN List")
+    public void test58() {
+        InListOptions options = InListOptions.builder().chunkSize(4).build();
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = criteriaBuilder.createQuery(Student.class);
+        Root<Student> root = query.from(Student.class);
+        query.where(new InPredicateFactory(options).createPredicate(criteriaBuilder, root.get("id"), new Object[]{1, 2, "3", 4, 5, 6, 6, 7}));
+        assertEquals(entityManager.createQuery(query).getResultList().size(), 7);
+
+        query.where(new NotInPredicateFactory(options).createPredicate(criteriaBuilder, root.get("id"), new Object[]{1, 2, "3", 4, 5, 6, 6, 7}));
+        assertEquals(entityManager.createQuery(query).getResultList().size(), 13);
+    }
+
+    @Test
+    @DisplayName("Bind Parameter Mode")
+    public void test59() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(desc("gpa"), asc("lastName"));
+        dataManipulationModel.setCriteria(and(condition("firstName", Operation.LIKE, "a"),
+                condition("id", Operation.IN, 1, 2, "3", 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17),
+                condition("gpa", Operation.BETWEEN, 2.0, 4.0),
+                or(condition("community.teacher", Operation.NOT_EQUAL, "x"), condition("gpa", Operation.GREATER_THAN, 3))));
+        dataManipulationModel.setCursor(KeysetCursor.of(3.9, "Zed", 1L));
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = criteriaBuilder.createQuery(Student.class);
+        Root<Student> root = query.from(Student.class);
+        ParameterBindings bindings = new ParameterBindings();
+        query.where(studentGeneralSpecification.toPredicate(root, query, criteriaBuilder, bindings));
+        List<Student> students = bindings.bind(entityManager.createQuery(query)).getResultList();
+
+        assertEquals(students, studentRepository.findAll(studentGeneralSpecification));
+        assertEquals(bindings.getSignature(), "1,17,2,1,1,");
+        assertEquals(bindings.getValues().get(0), "%a%");
+        assertEquals(bindings.getValues().size(), 25);
+    }
+
+    @Test
+    @DisplayName("Query Shape")
+    public void test60() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(desc("gpa"));
+        dataManipulationModel.setCriteria(and(condition("firstName", Operation.EQUAL, "Ava"), condition("id", Operation.IN, 1, 2, 3)));
+        QueryShape shape = QueryShape.of(dataManipulationModel);
+        assertEquals(shape.getCanonical(), "AND(EQUAL(firstName#1),IN(id#4))|SORT(gpa DESC)");
+
+        dataManipulationModel.setCriteria(and(condition("firstName", Operation.EQUAL, "Liam"), condition("id", Operation.IN, 7, 8, 9, 10)));
+        assertEquals(QueryShape.of(dataManipulationModel), shape);
+        assertEquals(QueryShape.of(dataManipulationModel).getHash(), shape.getHash());
+
+        dataManipulationModel.setCriteria(and(condition("firstName", Operation.EQUAL, "Liam"), condition("id", Operation.IN, 7, 8, 9, 10, 11)));
+        assertNotEquals(QueryShape.of(dataManipulationModel), shape);
+
+        // duplicates and nulls are dropped before the list is padded, as they are when the predicate is built
+        dataManipulationModel.setSortModel();
+        dataManipulationModel.setCriteria(condition("id", Operation.IN, 1, 1, 2, null));
+        assertEquals(QueryShape.of(dataManipulationModel).getCanonical(), "IN(id#2)");
+        dataManipulationModel.setCriteria(condition("id", Operation.IN, 1, "1", 2L));
+        assertEquals(QueryShape.of(dataManipulationModel).getCanonical(), "IN(id#4)");
+        assertEquals(QueryShape.of(dataManipulationModel, entityManager.getMetamodel().entity(Student.class)).getCanonical(), "IN(id#2)");
+        dataManipulationModel.setCriteria(condition("id", Operation.IN, LongStream.rangeClosed(1, 1003).boxed().toArray()));
+        assertEquals(QueryShape.of(dataManipulationModel).getCanonical(), "IN(id#1004)");
+        dataManipulationModel.setCriteria(condition("id", Operation.NOT_IN, LongStream.rangeClosed(1, 1000).boxed().toArray()));
+        assertEquals(QueryShape.of(dataManipulationModel).getCanonical(), "NOT_IN(id#1000)");
+    }
+
+    @Test
+    @DisplayName("Collection Quantifiers")
+    public void test61() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(any("students", condition("gpa", Operation.GREATER_THAN_EQUAL, 3.8)));
+        assertEquals(communityRepository.findAll(new GeneralSpecification<>(dataManipulationModel)).size(), 3);
+
+        dataManipulationModel.setCriteria(all("students", condition("gpa", Operation.GREATER_THAN_EQUAL, 3.5)));
+        assertEquals(communityRepository.findAll(new GeneralSpecification<>(dataManipulationModel)).size(), 1);
+
+        dataManipulationModel.setCriteria(none("students", condition("gpaLetter", Operation.EQUAL, "A")));
+        assertEquals(communityRepository.findAll(new GeneralSpecification<>(dataManipulationModel)).size(), 2);
+
+        dataManipulationModel.setCriteria(any("students", and(condition("gpa", Operation.GREATER_THAN, 3.5),
+                condition("isFullTime", Operation.IS_FALSE))));
+        assertEquals(communityRepository.findAll(new GeneralSpecification<>(dataManipulationModel)).size(), 1);
+    }
+
+    @Test
+    @DisplayName("To Many Criteria As Exists")
+    public void test62() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        // no community has students 1 and 2 only, NOT_IN matches the communities without any of them
+        dataManipulationModel.setCriteria(condition("students.id", Operation.NOT_IN, 1, 2));
+        assertEquals(communityRepository.findAll(new GeneralSpecification<>(dataManipulationModel)).size(), 3);
+
+        // every student of a community with a B student is returned once
+        dataManipulationModel.setCriteria(condition("community.students.gpaLetter", Operation.EQUAL, "B"));
+        List<Student> students = studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel));
+        assertEquals(students.size(), 9);
+        assertEquals(students.stream().distinct().count(), 9);
+    }
+
+    @Test
+    @DisplayName("Invalid Collection Field")
+    public void test63() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(any("teacher", condition("id", Operation.EQUAL, 1)));
+        GeneralSpecification<Community> communityGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        assertThrows(GenerateSpecificationException.class, () -> communityRepository.findAll(communityGeneralSpecification));
+    }
+
+    @Test
+    @DisplayName("String Matching Operations")
+    public void test64() {
+        Object[][] cases = {
+                {"firstName", Operation.STARTS_WITH, "E", 3},
+                {"firstName", Operation.STARTS_WITH, "e", 0},
+                {"firstName", Operation.STARTS_WITH_IGNORE_CASE, "e", 3},
+                {"lastName", Operation.ENDS_WITH, "ez", 6},
+                {"additionalInfo", Operation.ENDS_WITH_IGNORE_CASE, "COUNCIL", 2},
+                {"additionalInfo", Operation.CONTAINS, "club", 0},
+                {"additionalInfo", Operation.CONTAINS_IGNORE_CASE, "club", 2},
+                {"email", Operation.EQUAL_IGNORE_CASE, "JOHN.DOE@EXAMPLE.COM", 1},
+                // wildcards of the value match themselves
+                {"email", Operation.CONTAINS, "_", 0},
+                {"additionalInfo", Operation.STARTS_WITH, "%", 0}};
+        List<Student> allStudents = studentRepository.findAll();
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        for (Object[] matchCase : cases) {
+            dataManipulationModel.setCriteria(condition((String) matchCase[0], (Operation) matchCase[1], matchCase[2]));
+            GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+            List<Student> students = studentRepository.findAll(studentGeneralSpecification);
+            assertEquals(students.size(), matchCase[3]);
+            assertEquals(new SearchExecutor<>(entityManager, Student.class).count(studentGeneralSpecification), students.size());
+            assertEquals(new InMemorySpecification<>(Student.class, dataManipulationModel).apply(allStudents), students);
+        }
+
+        dataManipulationModel.setCriteria(condition("email", Operation.STARTS_WITH, "john.doe@"));
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = criteriaBuilder.createQuery(Student.class);
+        Root<Student> root = query.from(Student.class);
+        ParameterBindings bindings = new ParameterBindings();
+        query.where(new GeneralSpecification<Student>(dataManipulationModel).toPredicate(root, query, criteriaBuilder, bindings));
+        assertEquals(bindings.bind(entityManager.createQuery(query)).getResultList().size(), 1);
+        assertEquals(bindings.getValues(), List.of("john.doe@%"));
+
+        // a null value matches no row, also under NOT, with literals, bound parameters and in memory
+        for (Operation operation : List.of(Operation.STARTS_WITH, Operation.CONTAINS_IGNORE_CASE, Operation.EQUAL_IGNORE_CASE)) {
+            dataManipulationModel.setCriteria(not(condition("firstName", operation, (Object) null)));
+            GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+            assertEquals(studentRepository.findAll(studentGeneralSpecification).size(), 0);
+            assertEquals(new SearchExecutor<>(entityManager, Student.class).count(studentGeneralSpecification), 0);
+            assertEquals(new InMemorySpecification<>(Student.class, dataManipulationModel).apply(allStudents).size(), 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Case Insensitive Normalized Attribute")
+    public void test65() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("additionalInfo", Operation.CONTAINS_IGNORE_CASE, "CLUB"));
+        // the normalized attribute is compared as it is, additionalInfo is not lower case
+        PredicateFactoryProducer.register(CaseInsensitiveOptions.builder()
+                .normalizedAttribute(Student.class, "additionalInfo", "additionalInfo").build());
+        try {
+            assertEquals(studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel)).size(), 0);
+            dataManipulationModel.setCriteria(condition("email", Operation.EQUAL_IGNORE_CASE, "Ava.Bell@Example.com"));
+            assertEquals(studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel)).size(), 1);
+        } finally {
+            PredicateFactoryProducer.register(CaseInsensitiveOptions.DEFAULT);
+        }
+        dataManipulationModel.setCriteria(condition("additionalInfo", Operation.CONTAINS_IGNORE_CASE, "CLUB"));
+        assertEquals(studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel)).size(), 2);
+    }
+
+    @Test
+    @DisplayName("Typed Keyset Cursor")
+    public void test66() {
+        List<Object> values = List.of(LocalDate.of(2001, 2, 3), new BigDecimal("3.50"), Instant.ofEpochSecond(1, 5),
+                UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), 12345678901L, 3.9, "Zed", true);
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.of(values.toArray()).encode());
+        assertEquals(cursor.getValues(), values);
+        assertThrows(GenerateSpecificationException.class, () -> KeysetCursor.of(new Object()).encode());
+        assertThrows(GenerateSpecificationException.class, () -> KeysetCursor.decode("WzMuNV0"));
+
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(asc("dateOfBirth"));
+        dataManipulationModel.setCursor(KeysetCursor.first());
+        Student first = studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel), PageRequest.of(0, 1)).getContent().get(0);
+        dataManipulationModel.setCursor(KeysetCursor.decode(KeysetCursor.after(first, dataManipulationModel).encode()));
+        assertEquals(dataManipulationModel.getCursor().getValues(), List.of(first.getDateOfBirth(), first.getId()));
+        assertEquals(studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel)).size(), 19);
+
+        // the cursor can not hold an association
+        dataManipulationModel.setSortModel(asc("community"));
+        dataManipulationModel.setCursor(KeysetCursor.of(1L, 1L));
+        Exception exception = assertThrows(GenerateSpecificationException.class,
+                () -> studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel)));
+        assertEquals(exception.getMessage(), "Invalid sorting field community");
+    }
+
+    @Test
+    @DisplayName("Field Paths Of Another Metamodel")
+    public void test67() {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan(Student.class.getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        try {
+            EntityType<Student> student = entityManager.getMetamodel().entity(Student.class);
+            EntityType<Student> otherStudent = entityManagerFactory.getMetamodel().entity(Student.class);
+            assertNotSame(otherStudent, student);
+            FieldPath fieldPath = FieldPathRegistry.getFieldPath(student, "community.className");
+            assertSame(FieldPathRegistry.getFieldPath(student, "community.className"), fieldPath);
+            // the attributes of a path belong to the metamodel of the caller
+            FieldPath otherFieldPath = FieldPathRegistry.getFieldPath(otherStudent, "community.className");
+            assertSame(otherFieldPath.getAttributes().get(0), otherStudent.getAttribute("community"));
+            assertSame(FieldPathRegistry.getFieldPath(student, "community.className").getAttributes().get(0), student.getAttribute("community"));
+        } finally {
+            factoryBean.destroy();
+        }
+    }
+}
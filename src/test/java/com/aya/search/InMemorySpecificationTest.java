@@ -0,0 +1,125 @@
+package com.aya.search;
+
+import com.aya.search.entity.Community;
+import com.aya.search.entity.Student;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.memory.InMemorySpecification;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.Operation;
+import com.aya.search.repository.CommunityRepository;
+import com.aya.search.repository.StudentRepository;
+import com.aya.search.specification.GeneralSpecification;
+import jakarta.persistence.EntityManager;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.aya.search.model.CollectionFilter.Elements.all;
+import static com.aya.search.model.CollectionFilter.Elements.any;
+import static com.aya.search.model.CollectionFilter.Elements.none;
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+import static com.aya.search.model.FilterGroup.Filter.and;
+import static com.aya.search.model.FilterGroup.Filter.not;
+import static com.aya.search.model.FilterGroup.Filter.or;
+import static com.aya.search.model.SortDataModel.Sort.asc;
+import static com.aya.search.model.SortDataModel.Sort.desc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+class InMemorySpecificationTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CommunityRepository communityRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Same Results As JPA For All Operations")
+    public void test1() {
+        List<Student> students = studentRepository.findAll();
+        List<Filter> filters = List.of(
+                condition("id", Operation.EQUAL, "3"),
+                condition("community.teacher", Operation.NOT_EQUAL, "Mr. Smith"),
+                condition("gpa", Operation.LESS_THAN, 3.2),
+                condition("gpa", Operation.GREATER_THAN, "3.5"),
+                condition("gpa", Operation.LESS_THAN_EQUAL, 3.2),
+                condition("gpa", Operation.GREATER_THAN_EQUAL, 3.8),
+                condition("dateOfBirth", Operation.BETWEEN, LocalDate.of(2000, 1, 1), "2002-12-31"),
+                condition("email", Operation.LIKE, "a_e"),
+                condition("firstName", Operation.NOT_LIKE, "a"),
+                condition("community", Operation.IS_NULL),
+                condition("additionalInfo", Operation.IS_NOT_NULL),
+                condition("id", Operation.IN, 1, 2L, "3", null),
+                condition("community.id", Operation.NOT_IN, 1, 2),
+                condition("isFullTime", Operation.IS_TRUE),
+                condition("isFullTime", Operation.IS_FALSE),
+                condition("additionalInfo", Operation.IS_EMPTY_STRING),
+                condition("additionalInfo", Operation.IS_NOT_EMPTY_STRING),
+                not(condition("community.teacher", Operation.EQUAL, "Mr. Smith")),
+                or(condition("gpa", Operation.GREATER_THAN, 3.7), not(condition("additionalInfo", Operation.LIKE, "e"))),
+                and(condition("gpaLetter", Operation.IN, "A", "B"), not(or(condition("community.id", Operation.EQUAL, 1),
+                        condition("lastName", Operation.LIKE, "o")))));
+        for (Filter filter : filters) {
+            DataManipulationModel dataManipulationModel = new DataManipulationModel();
+            dataManipulationModel.setCriteria(filter);
+            dataManipulationModel.setSortModel(asc("id"));
+            assertEquals(new InMemorySpecification<>(Student.class, dataManipulationModel).apply(students),
+                    studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel)), filter.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Sort")
+    public void test2() {
+        List<Student> students = studentRepository.findAll();
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(desc("community.className"), asc("gpa"), desc("id"));
+        assertEquals(new InMemorySpecification<>(Student.class, dataManipulationModel).apply(students),
+                studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel)));
+
+        dataManipulationModel.setSortModel(asc("community.students"));
+        assertThrows(GenerateSpecificationException.class, () -> new InMemorySpecification<>(Student.class, dataManipulationModel));
+    }
+
+    @Test
+    @DisplayName("To Many Path")
+    public void test3() {
+        List<Community> communities = communityRepository.findAll();
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(asc("id"));
+        List<Filter> filters = List.of(
+                condition("students.gpaLetter", Operation.EQUAL, "A"),
+                condition("students.id", Operation.NOT_IN, 1, 2),
+                condition("students.additionalInfo", Operation.IS_NULL),
+                any("students", condition("gpa", Operation.GREATER_THAN_EQUAL, 3.8)),
+                all("students", condition("gpa", Operation.GREATER_THAN_EQUAL, 3.5)),
+                none("students", or(condition("gpaLetter", Operation.EQUAL, "A"), condition("isFullTime", Operation.IS_FALSE))));
+        for (Filter filter : filters) {
+            dataManipulationModel.setCriteria(filter);
+            assertEquals(new InMemorySpecification<>(Community.class, dataManipulationModel).apply(communities),
+                    communityRepository.findAll(new GeneralSpecification<>(dataManipulationModel)), filter.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Session Failures Are Not Invalid Fields")
+    public void test4() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("teacher", Operation.IS_NOT_NULL));
+        entityManager.clear();
+        Community community = entityManager.getReference(Community.class, 1L);
+        entityManager.detach(community);
+        InMemorySpecification<Community> specification = new InMemorySpecification<>(Community.class, dataManipulationModel);
+        // the detached proxy can not be read, it is not reported as an invalid field
+        assertThrows(LazyInitializationException.class, () -> specification.apply(List.of(community)));
+    }
+}
@@ -0,0 +1,186 @@
+package com.aya.search;
+
+import com.aya.search.entity.Community;
+import com.aya.search.entity.Student;
+import com.aya.search.executor.SearchExecutor;
+import com.aya.search.executor.StreamOptions;
+import com.aya.search.instrumentation.SearchEvent;
+import com.aya.search.instrumentation.SearchInstrumentation;
+import com.aya.search.instrumentation.SearchListener;
+import com.aya.search.instrumentation.SearchStage;
+import com.aya.search.instrumentation.ShapeHistogramListener;
+import com.aya.search.instrumentation.SlowSearchLog;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Operation;
+import com.aya.search.repository.StudentRepository;
+import com.aya.search.specification.GeneralSpecification;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+import static com.aya.search.model.FilterGroup.Filter.and;
+import static com.aya.search.model.FilterGroup.Filter.not;
+import static com.aya.search.model.FilterGroup.Filter.or;
+import static com.aya.search.model.SortDataModel.Sort.asc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class InstrumentationTest {
+
+    private final List<SearchListener> listeners = new ArrayList<>();
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @AfterEach
+    public void removeListeners() {
+        listeners.forEach(SearchInstrumentation::removeListener);
+    }
+
+    @Test
+    @DisplayName("Search Event")
+    public void test1() {
+        List<SearchEvent> events = new ArrayList<>();
+        addListener(events::add);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(and(
+                condition("gpa", Operation.GREATER_THAN_EQUAL, 3.0),
+                or(condition("id", Operation.IN, 1L, 2L, 3L), condition("community.teacher", Operation.IS_NOT_NULL))));
+        GeneralSpecification<Student> specification = new GeneralSpecification<>(dataManipulationModel);
+        new SearchExecutor<>(entityManager, Student.class).findAll(specification, PageRequest.of(0, 2));
+
+        assertEquals(events.size(), 1);
+        SearchEvent searchEvent = events.get(0);
+        assertEquals(searchEvent.getDomainClass(), Student.class);
+        assertEquals(searchEvent.getShape(), specification.getShape());
+        assertEquals(searchEvent.getDepth(), 3);
+        assertEquals(searchEvent.getLeaves(), 3);
+        assertEquals(searchEvent.getOperationCounts(),
+                Map.of(Operation.GREATER_THAN_EQUAL, 1, Operation.IN, 1, Operation.IS_NOT_NULL, 1));
+        assertEquals(searchEvent.getInListSizes(), List.of(3));
+        assertEquals(searchEvent.getRows(), 2);
+        assertTrue(searchEvent.getStageNanos(SearchStage.BUILD) > 0);
+        assertTrue(searchEvent.getStageNanos(SearchStage.TRANSLATE) > 0);
+        assertTrue(searchEvent.getStageNanos(SearchStage.EXECUTE) > 0);
+        long stages = 0;
+        for (SearchStage searchStage : SearchStage.values()) {
+            stages += searchEvent.getStageNanos(searchStage);
+        }
+        assertTrue(searchEvent.getTotalNanos() >= stages);
+
+        events.clear();
+        studentRepository.findAll(specification);
+        assertEquals(events.size(), 1);
+        assertTrue(events.get(0).getStageNanos(SearchStage.BUILD) > 0);
+        assertEquals(events.get(0).getStageNanos(SearchStage.EXECUTE), 0);
+    }
+
+    @Test
+    @DisplayName("Shape Histogram")
+    public void test2() {
+        ShapeHistogramListener histogramListener = new ShapeHistogramListener(1);
+        addListener(histogramListener);
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        for (int i = 0; i < 20; i++) {
+            dataManipulationModel.setCriteria(condition("gpa", Operation.GREATER_THAN, 2.0 + i * 0.1));
+            searchExecutor.count(new GeneralSpecification<>(dataManipulationModel));
+        }
+        ShapeHistogramListener.Histogram histogram = histogramListener.getHistogram(new GeneralSpecification<>(dataManipulationModel).getShape());
+        assertEquals(histogram.getCount(), 20);
+        assertTrue(histogram.getPercentile(50) <= histogram.getPercentile(99));
+        assertEquals(histogram.getPercentile(100), histogram.getMax());
+
+        dataManipulationModel.setCriteria(condition("id", Operation.EQUAL, 1L));
+        searchExecutor.count(new GeneralSpecification<>(dataManipulationModel));
+        assertEquals(histogramListener.getHistograms().size(), 1);
+        assertEquals(histogramListener.getDropped(), 1);
+
+        ShapeHistogramListener.Histogram latencies = new ShapeHistogramListener.Histogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            latencies.record(nanos * 1000);
+        }
+        assertTrue(latencies.getPercentile(50) >= 500_000 && latencies.getPercentile(50) <= 500_000 * 1.125);
+        assertTrue(latencies.getPercentile(99) >= 990_000 && latencies.getPercentile(99) <= 990_000 * 1.125);
+        assertEquals(latencies.getPercentile(100), 1_000_000);
+    }
+
+    @Test
+    @DisplayName("Slow Search Log")
+    public void test3() {
+        List<String> lines = new ArrayList<>();
+        List<String> linesWithValues = new ArrayList<>();
+        addListener(searchEvent -> {
+            throw new IllegalStateException("listener failure");
+        });
+        addListener(new SlowSearchLog(Duration.ofHours(1), true, linesWithValues::add));
+        addListener(new SlowSearchLog(Duration.ZERO, false, lines::add));
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(not(condition("gpa", Operation.LESS_THAN, 3.7)));
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        assertEquals(searchExecutor.findAll(new GeneralSpecification<>(dataManipulationModel)).size(), 10);
+        assertTrue(linesWithValues.isEmpty());
+        assertEquals(lines.size(), 1);
+        assertTrue(lines.get(0).contains("Slow search of Student"));
+        assertTrue(lines.get(0).contains("rows=10"));
+        assertTrue(lines.get(0).contains("gpa"));
+        assertFalse(lines.get(0).contains("3.7"));
+
+        addListener(new SlowSearchLog(Duration.ZERO, true, linesWithValues::add));
+        searchExecutor.findAll(new GeneralSpecification<>(dataManipulationModel));
+        assertEquals(linesWithValues.size(), 1);
+        assertTrue(linesWithValues.get(0).contains("GREATER_THAN_EQUAL"));
+        assertTrue(linesWithValues.get(0).contains("3.7"));
+    }
+
+    @Test
+    @DisplayName("Stream Event")
+    public void test4() {
+        List<SearchEvent> events = new ArrayList<>();
+        addListener(events::add);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(asc("id"));
+        dataManipulationModel.setFetch("students");
+        SearchExecutor<Community> searchExecutor = new SearchExecutor<>(entityManager, Community.class);
+        try (Stream<Community> stream = searchExecutor.stream(new GeneralSpecification<>(dataManipulationModel),
+                StreamOptions.builder().batchSize(2).build())) {
+            // the event ends with the stream, it is not left on the thread
+            assertNull(SearchInstrumentation.current());
+            assertEquals(stream.count(), 5);
+            assertTrue(events.isEmpty());
+        }
+        assertEquals(events.size(), 1);
+        assertEquals(events.get(0).getDomainClass(), Community.class);
+        assertEquals(events.get(0).getRows(), 5);
+        assertTrue(events.get(0).getStageNanos(SearchStage.EXECUTE) > 0);
+        assertTrue(events.get(0).getStageNanos(SearchStage.FETCH) > 0);
+
+        events.clear();
+        try (Stream<Community> stream = searchExecutor.stream(new GeneralSpecification<>(dataManipulationModel))) {
+            assertEquals(stream.limit(1).count(), 1);
+        }
+        assertEquals(events.size(), 1);
+        assertEquals(events.get(0).getRows(), 5);
+    }
+
+    private void addListener(final SearchListener searchListener) {
+        listeners.add(searchListener);
+        SearchInstrumentation.addListener(searchListener);
+    }
+}
@@ -0,0 +1,122 @@
+package com.aya.search;
+
+import com.aya.search.codec.DecodeLimits;
+import com.aya.search.codec.JsonModelDecoder;
+import com.aya.search.entity.Student;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Operation;
+import com.aya.search.repository.StudentRepository;
+import com.aya.search.specification.GeneralSpecification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.aya.search.model.CollectionFilter.Elements.any;
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+import static com.aya.search.model.FilterGroup.Filter.and;
+import static com.aya.search.model.FilterGroup.Filter.not;
+import static com.aya.search.model.FilterGroup.Filter.or;
+import static com.aya.search.model.SortDataModel.Sort.asc;
+import static com.aya.search.model.SortDataModel.Sort.desc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class JsonModelDecoderTest {
+
+    private final JsonModelDecoder decoder = new JsonModelDecoder(DecodeLimits.DEFAULT);
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    @DisplayName("Decode Model Written By ObjectMapper")
+    public void test1() throws JsonProcessingException {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(and(
+                condition("gpa", Operation.GREATER_THAN, 3.5),
+                or(condition("id", Operation.IN, 1, 2, "3", null), not(condition("additionalInfo", Operation.IS_NULL))),
+                any("community.students", condition("isFullTime", Operation.IS_FALSE))));
+        dataManipulationModel.setSortModel(desc("gpa"), asc("id"));
+        dataManipulationModel.setProjection("firstName", "gpa");
+        dataManipulationModel.setFetch("community");
+        dataManipulationModel.setFacet("gpaLetter", "community");
+        String json = new ObjectMapper().writeValueAsString(dataManipulationModel);
+
+        DataManipulationModel decoded = decoder.decode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(decoded, dataManipulationModel);
+
+        decoded.setProjections(null);
+        dataManipulationModel.setProjections(null);
+        assertEquals(studentRepository.findAll(new GeneralSpecification<>(decoded)),
+                studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel)));
+    }
+
+    @Test
+    @DisplayName("Reject Invalid Payloads")
+    public void test2() {
+        assertThrows(GenerateSpecificationException.class, () -> decoder.decode("{\"criteria\": {\"fieldName\": \"gpa\""));
+        assertThrows(GenerateSpecificationException.class, () -> decoder.decode("{\"filter\": null}"));
+        assertThrows(GenerateSpecificationException.class, () -> decoder.decode("{\"criteria\": {\"fieldName\": \"gpa\", \"operation\": \"ABOUT\"}}"));
+        assertThrows(GenerateSpecificationException.class,
+                () -> decoder.decode("{\"criteria\": {\"fieldName\": \"gpa\", \"operation\": \"IN\", \"fieldValue\": [[1]]}}"));
+        assertThrows(GenerateSpecificationException.class,
+                () -> decoder.decode("{\"criteria\": {\"fieldName\": \"gpa\", \"condition\": \"AND\", \"conditions\": []}}"));
+        assertThrows(GenerateSpecificationException.class, () -> decoder.decode("{} {}"));
+    }
+
+    @Test
+    @DisplayName("Enforce Limits")
+    public void test3() {
+        JsonModelDecoder limitedDecoder = new JsonModelDecoder(DecodeLimits.builder().maxDepth(3).maxFilters(4).maxValues(3).maxStringLength(8).build());
+        String leaf = "{\"fieldName\": \"id\", \"operation\": \"EQUAL\", \"fieldValue\": [1]}";
+        limitedDecoder.decode("{\"criteria\": {\"condition\": \"NOT\", \"conditions\": [{\"condition\": \"NOT\", \"conditions\": [" + leaf + "]}]}}");
+
+        GenerateSpecificationException exception = assertThrows(GenerateSpecificationException.class, () -> limitedDecoder.decode(
+                "{\"criteria\": {\"condition\": \"NOT\", \"conditions\": [{\"condition\": \"NOT\", \"conditions\": [{\"condition\": \"NOT\", "
+                        + "\"conditions\": [" + leaf + "]}]}]}}"));
+        assertTrue(exception.getMessage().contains("depth"));
+
+        exception = assertThrows(GenerateSpecificationException.class, () -> limitedDecoder.decode(
+                "{\"criteria\": {\"condition\": \"OR\", \"conditions\": [" + String.join(",", leaf, leaf, leaf, leaf) + "]}}"));
+        assertTrue(exception.getMessage().contains("filters"));
+
+        exception = assertThrows(GenerateSpecificationException.class, () -> limitedDecoder.decode(
+                "{\"criteria\": {\"fieldName\": \"id\", \"operation\": \"IN\", \"fieldValue\": [1, 2, 3, 4]}}"));
+        assertTrue(exception.getMessage().contains("values"));
+
+        limitedDecoder.decode("{\"criteria\": {\"fieldName\": \"id\", \"operation\": \"LIKE\", \"fieldValue\": [\"12345678\"]}}");
+        exception = assertThrows(GenerateSpecificationException.class, () -> limitedDecoder.decode(
+                "{\"criteria\": {\"fieldName\": \"id\", \"operation\": \"LIKE\", \"fieldValue\": [\"123456789\"]}}"));
+        assertEquals(exception.getMessage(), "The search payload exceeds the string length limit of 8.");
+    }
+
+    @Test
+    @DisplayName("Require Filter Properties")
+    public void test4() {
+        List<String> payloads = List.of(
+                "{\"criteria\": {\"condition\": \"AND\"}}",
+                "{\"criteria\": {\"conditions\": [{\"fieldName\": \"id\", \"operation\": \"IS_NULL\"}]}}",
+                "{\"criteria\": {\"condition\": \"NOT\", \"conditions\": []}}",
+                "{\"criteria\": {\"path\": \"students\"}}",
+                "{\"criteria\": {\"quantifier\": \"ANY\", \"path\": \"students\"}}",
+                "{\"criteria\": {\"fieldName\": \"a\"}}",
+                "{\"criteria\": {\"operation\": \"IS_NULL\"}}",
+                "{\"sortDataModels\": [{\"sortOrder\": \"DESC\"}]}");
+        for (String payload : payloads) {
+            GenerateSpecificationException exception = assertThrows(GenerateSpecificationException.class, () -> decoder.decode(payload));
+            assertTrue(exception.getMessage().startsWith("Invalid search payload"), payload);
+        }
+        assertEquals(decoder.decode("{\"criteria\": {\"condition\": \"NOT\", \"conditions\": [{\"fieldName\": \"id\", "
+                + "\"operation\": \"IS_NULL\"}]}}").getCriteria(), not(condition("id", Operation.IS_NULL)));
+    }
+}
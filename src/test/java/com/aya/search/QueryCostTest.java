@@ -0,0 +1,143 @@
+package com.aya.search;
+
+import com.aya.search.cost.Admission;
+import com.aya.search.cost.AdmissionGuard;
+import com.aya.search.cost.AdmissionOptions;
+import com.aya.search.cost.CostOptions;
+import com.aya.search.cost.QueryCost;
+import com.aya.search.cost.QueryCostEstimator;
+import com.aya.search.entity.Community;
+import com.aya.search.entity.Student;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.executor.SearchExecutor;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Operation;
+import com.aya.search.specification.GeneralSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.ManagedType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static com.aya.search.model.CollectionFilter.Elements.any;
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+import static com.aya.search.model.FilterGroup.Filter.and;
+import static com.aya.search.model.SortDataModel.Sort.asc;
+import static com.aya.search.model.SortDataModel.Sort.desc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class QueryCostTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Estimate Cost")
+    public void test1() {
+        ManagedType<Student> student = entityManager.getMetamodel().managedType(Student.class);
+        QueryCostEstimator queryCostEstimator = new QueryCostEstimator(CostOptions.DEFAULT);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(and(
+                condition("community.className", Operation.LIKE, "%9%"),
+                condition("id", Operation.IN, LongStream.range(0, 100).boxed().toArray()),
+                condition("community.teacher", Operation.IS_NOT_NULL)));
+        QueryCost cost = queryCostEstimator.estimate(student, dataManipulationModel);
+        assertEquals(cost.getLeaves(), 3);
+        assertEquals(cost.getJoins(), 1);
+        assertEquals(cost.getToManyTraversals(), 0);
+        assertEquals(cost.getInValues(), 100);
+        assertEquals(cost.getScans(), 1);
+        assertEquals(cost.getUnindexedSorts(), 0);
+        assertEquals(cost.getScore(), 118, 0.001);
+
+        dataManipulationModel.setCriteria(condition("community.id", Operation.EQUAL, 1L));
+        dataManipulationModel.setSortModel(desc("lastName"), asc("gpa"), asc("id"));
+        cost = new QueryCostEstimator(CostOptions.builder().indexedPaths(Set.of("gpa")).build()).estimate(student, dataManipulationModel);
+        assertEquals(cost.getJoins(), 0);
+        assertEquals(cost.getUnindexedSorts(), 1);
+
+        QueryCostEstimator indexedEstimator = new QueryCostEstimator(CostOptions.builder().indexedPaths(Set.of("email")).build());
+        dataManipulationModel.setSortDataModels(null);
+        dataManipulationModel.setCriteria(and(condition("email", Operation.STARTS_WITH, "john"),
+                condition("email", Operation.EQUAL_IGNORE_CASE, "John.Doe@example.com")));
+        assertEquals(indexedEstimator.estimate(student, dataManipulationModel).getScans(), 0);
+        dataManipulationModel.setCriteria(and(condition("email", Operation.CONTAINS, "john"),
+                condition("lastName", Operation.STARTS_WITH, "D")));
+        assertEquals(indexedEstimator.estimate(student, dataManipulationModel).getScans(), 2);
+
+        dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(and(
+                any("students", and(condition("gpa", Operation.GREATER_THAN, 3.5), condition("community.teacher", Operation.IS_NOT_NULL))),
+                condition("students.firstName", Operation.EQUAL, "Olivia")));
+        dataManipulationModel.setFetch("students");
+        cost = queryCostEstimator.estimate(entityManager.getMetamodel().managedType(Community.class), dataManipulationModel);
+        assertEquals(cost.getLeaves(), 3);
+        assertEquals(cost.getToManyTraversals(), 3);
+        assertEquals(cost.getJoins(), 1);
+    }
+
+    @Test
+    @DisplayName("Reject Expensive Searches")
+    public void test2() {
+        ManagedType<Student> student = entityManager.getMetamodel().managedType(Student.class);
+        AdmissionGuard admissionGuard = new AdmissionGuard(CostOptions.DEFAULT, AdmissionOptions.builder().maxCost(100).build());
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("id", Operation.IN, LongStream.range(0, 2000).boxed().toArray()));
+        GenerateSpecificationException exception = assertThrows(GenerateSpecificationException.class,
+                () -> admissionGuard.admit(student, dataManipulationModel, Pageable.unpaged()));
+        assertTrue(exception.getMessage().contains("201.0"));
+
+        dataManipulationModel.setCriteria(condition("gpa", Operation.GREATER_THAN, 3.5));
+        Pageable pageable = PageRequest.of(0, 100);
+        Admission admission = admissionGuard.admit(student, dataManipulationModel, pageable);
+        assertEquals(admission.getDataManipulationModel(), dataManipulationModel);
+        assertEquals(admission.getPageable(), pageable);
+        assertNull(admission.getAppliedPolicy());
+
+        dataManipulationModel.setCriteria(condition("unknown", Operation.EQUAL, 1));
+        assertThrows(GenerateSpecificationException.class, () -> admissionGuard.admit(student, dataManipulationModel, pageable));
+    }
+
+    @Test
+    @DisplayName("Cap And Downgrade Expensive Searches")
+    public void test3() {
+        ManagedType<Student> student = entityManager.getMetamodel().managedType(Student.class);
+        AdmissionGuard capGuard = new AdmissionGuard(CostOptions.DEFAULT, AdmissionOptions.builder()
+                .maxCost(50).policy(AdmissionOptions.Policy.CAP).cappedPageSize(5).rejectCost(500).build());
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("firstName", Operation.LIKE, "%a%"));
+        Admission admission = capGuard.admit(student, dataManipulationModel, PageRequest.of(2, 10));
+        assertEquals(admission.getAppliedPolicy(), AdmissionOptions.Policy.CAP);
+        assertEquals(admission.getPageable(), PageRequest.of(4, 5));
+        assertEquals(capGuard.admit(student, dataManipulationModel, Pageable.unpaged()).getPageable(), PageRequest.of(0, 5));
+        dataManipulationModel.setCriteria(condition("id", Operation.IN, LongStream.range(0, 10000).boxed().toArray()));
+        assertThrows(GenerateSpecificationException.class, () -> capGuard.admit(student, dataManipulationModel, Pageable.unpaged()));
+
+        AdmissionGuard downgradeGuard = new AdmissionGuard(CostOptions.builder().indexedPaths(Set.of("className")).build(),
+                AdmissionOptions.builder().maxCost(30).policy(AdmissionOptions.Policy.DOWNGRADE).build());
+        DataManipulationModel communityModel = new DataManipulationModel();
+        communityModel.setCriteria(condition("className", Operation.EQUAL, "9th A"));
+        communityModel.setSortModel(asc("teacher"), asc("className"));
+        communityModel.setFetch("students");
+        Pageable pageable = PageRequest.of(0, 10);
+        admission = downgradeGuard.admit(entityManager.getMetamodel().managedType(Community.class), communityModel, pageable);
+        assertEquals(admission.getAppliedPolicy(), AdmissionOptions.Policy.DOWNGRADE);
+        assertEquals(admission.getPageable(), pageable);
+        assertEquals(admission.getCost().getScore(), 1, 0.001);
+        assertEquals(admission.getDataManipulationModel().getSortDataModels(), List.of(asc("className")));
+        assertEquals(admission.getDataManipulationModel().getFetches(), List.of());
+        assertEquals(new SearchExecutor<>(entityManager, Community.class)
+                .findAll(new GeneralSpecification<>(admission.getDataManipulationModel()), admission.getPageable()).getTotalElements(), 1);
+    }
+}
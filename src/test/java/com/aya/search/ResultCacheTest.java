@@ -0,0 +1,184 @@
+package com.aya.search;
+
+import com.aya.search.cache.CachedSearchExecutor;
+import com.aya.search.cache.ResultCache;
+import com.aya.search.cache.ResultCacheInvalidator;
+import com.aya.search.cache.ResultCacheOptions;
+import com.aya.search.entity.Community;
+import com.aya.search.entity.Student;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Operation;
+import com.aya.search.repository.CommunityRepository;
+import com.aya.search.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+import static com.aya.search.model.FilterGroup.Filter.and;
+import static com.aya.search.model.FilterGroup.Filter.not;
+import static com.aya.search.model.SortDataModel.Sort.asc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+@DataJpaTest
+class ResultCacheTest {
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Test
+    @DisplayName("Equivalent Models Share One Result")
+    public void test1() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        CachedSearchExecutor<Student> searchExecutor = new CachedSearchExecutor<>(entityManager, Student.class,
+                new ResultCache(ResultCacheOptions.DEFAULT));
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(and(condition("gpa", Operation.GREATER_THAN, 3.5), condition("isFullTime", Operation.IS_TRUE)));
+        dataManipulationModel.setSortModel(asc("id"));
+        Page<Student> students = searchExecutor.findAll(dataManipulationModel, PageRequest.of(0, 5));
+
+        DataManipulationModel equivalent = new DataManipulationModel();
+        equivalent.setCriteria(and(not(condition("gpa", Operation.LESS_THAN_EQUAL, 3.5)),
+                and(condition("isFullTime", Operation.IS_TRUE), condition("gpa", Operation.GREATER_THAN, 3.5))));
+        equivalent.setSortModel(asc("id"));
+        statistics.clear();
+        // the cached page loads its rows by primary key
+        Page<Student> cached = searchExecutor.findAll(equivalent, PageRequest.of(0, 5));
+        assertEquals(cached.getContent(), students.getContent());
+        assertEquals(cached.getTotalElements(), students.getTotalElements());
+        assertEquals(statistics.getPrepareStatementCount(), 1);
+        assertEquals(searchExecutor.count(equivalent), students.getTotalElements());
+        assertEquals(searchExecutor.count(dataManipulationModel), students.getTotalElements());
+        assertEquals(statistics.getPrepareStatementCount(), 2);
+    }
+
+    @Test
+    @DisplayName("Invalidate On Entity Events")
+    public void test2() {
+        ResultCache resultCache = new ResultCache(ResultCacheOptions.DEFAULT);
+        ResultCacheInvalidator.register(entityManager.getEntityManagerFactory(), resultCache);
+        CachedSearchExecutor<Community> communityExecutor = new CachedSearchExecutor<>(entityManager, Community.class, resultCache);
+        CachedSearchExecutor<Student> studentExecutor = new CachedSearchExecutor<>(entityManager, Student.class, resultCache);
+        DataManipulationModel communityModel = new DataManipulationModel();
+        communityModel.setCriteria(condition("students.gpa", Operation.LESS_THAN, 3.1));
+        DataManipulationModel studentModel = new DataManipulationModel();
+        studentModel.setCriteria(condition("gpa", Operation.LESS_THAN, 3.1));
+        assertEquals(communityExecutor.count(communityModel), 1);
+        assertEquals(studentExecutor.count(studentModel), 2);
+
+        // a community change does not touch the results read from students only
+        Community community = communityRepository.findAll().get(0);
+        community.setTeacher("Ms. Cache");
+        communityRepository.saveAndFlush(community);
+        assertEquals(resultCache.size(), 1);
+
+        Student student = studentRepository.findAll().stream().filter(row -> row.getGpa() == 3.4).findFirst().orElseThrow();
+        student.setGpa(3.0);
+        studentRepository.saveAndFlush(student);
+        assertEquals(resultCache.size(), 0);
+        assertEquals(communityExecutor.count(communityModel), 2);
+        assertEquals(studentExecutor.count(studentModel), 3);
+    }
+
+    @Test
+    @DisplayName("LRU And TTL Eviction")
+    public void test3() throws InterruptedException {
+        ResultCache resultCache = new ResultCache(ResultCacheOptions.builder().maximumSize(2).build());
+        CachedSearchExecutor<Student> searchExecutor = new CachedSearchExecutor<>(entityManager, Student.class, resultCache);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        for (double gpa : new double[]{3.0, 3.5, 3.8}) {
+            dataManipulationModel.setCriteria(condition("gpa", Operation.GREATER_THAN, gpa));
+            searchExecutor.count(dataManipulationModel);
+        }
+        assertEquals(resultCache.size(), 2);
+
+        resultCache = new ResultCache(ResultCacheOptions.builder().timeToLive(Duration.ofMillis(1)).build());
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        searchExecutor = new CachedSearchExecutor<>(entityManager, Student.class, resultCache);
+        searchExecutor.count(dataManipulationModel);
+        Thread.sleep(5);
+        statistics.clear();
+        searchExecutor.count(dataManipulationModel);
+        assertEquals(statistics.getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    @DisplayName("Bypass The Cache With Uncommitted Changes")
+    public void test4() {
+        ResultCache resultCache = new ResultCache(ResultCacheOptions.DEFAULT);
+        ResultCacheInvalidator.register(entityManager.getEntityManagerFactory(), resultCache);
+        CachedSearchExecutor<Student> searchExecutor = new CachedSearchExecutor<>(entityManager, Student.class, resultCache);
+        Object[] values = {3.1};
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("gpa", Operation.LESS_THAN, values));
+        assertEquals(searchExecutor.count(dataManipulationModel), 2);
+
+        // the key keeps its own copy of the values
+        values[0] = 3.5;
+        long expected = studentRepository.findAll().stream().filter(student -> student.getGpa() < 3.5).count();
+        assertEquals(searchExecutor.count(dataManipulationModel), expected);
+        assertEquals(resultCache.size(), 2);
+
+        Student student = studentRepository.findAll().stream().filter(row -> row.getGpa() == 3.8).findFirst().orElseThrow();
+        student.setGpa(3.0);
+        studentRepository.saveAndFlush(student);
+        assertEquals(resultCache.size(), 0);
+        assertEquals(searchExecutor.count(dataManipulationModel), expected + 1);
+        assertEquals(resultCache.size(), 0);
+    }
+
+    @Test
+    @DisplayName("Cached Entity Pages Read Their Eager Associations Again")
+    public void test5() {
+        ResultCache resultCache = new ResultCache(ResultCacheOptions.DEFAULT);
+        ResultCacheInvalidator.register(entityManager.getEntityManagerFactory(), resultCache);
+        CachedSearchExecutor<Student> searchExecutor = new CachedSearchExecutor<>(entityManager, Student.class, resultCache);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("gpa", Operation.GREATER_THAN, 3.5));
+        dataManipulationModel.setSortModel(asc("id"));
+        Page<Student> students = searchExecutor.findAll(dataManipulationModel, PageRequest.of(0, 5));
+        Student student = students.getContent().stream().filter(row -> row.getCommunity() != null).findFirst().orElseThrow();
+        Long communityId = student.getCommunity().getId();
+        String teacher = student.getCommunity().getTeacher();
+
+        // the community changes in another transaction, the page only depends on the students
+        setTeacher(communityId, "Ms. Cache");
+        try {
+            entityManager.clear();
+            Page<Student> cached = searchExecutor.findAll(dataManipulationModel, PageRequest.of(0, 5));
+            assertEquals(resultCache.size(), 1);
+            assertEquals(cached.getContent().stream().map(Student::getId).toList(), students.getContent().stream().map(Student::getId).toList());
+            assertNotSame(cached.getContent().get(0), students.getContent().get(0));
+            Student cachedStudent = cached.getContent().stream().filter(row -> row.getId().equals(student.getId())).findFirst().orElseThrow();
+            assertEquals(cachedStudent.getCommunity().getTeacher(), "Ms. Cache");
+        } finally {
+            setTeacher(communityId, teacher);
+        }
+    }
+
+    private void setTeacher(final Long communityId, final String teacher) {
+        EntityManager otherEntityManager = entityManager.getEntityManagerFactory().createEntityManager();
+        try {
+            otherEntityManager.getTransaction().begin();
+            otherEntityManager.find(Community.class, communityId).setTeacher(teacher);
+            otherEntityManager.getTransaction().commit();
+        } finally {
+            otherEntityManager.close();
+        }
+    }
+}
@@ -0,0 +1,667 @@
+package com.aya.search;
+
+import com.aya.search.entity.Community;
+import com.aya.search.entity.Student;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.executor.AsyncOptions;
+import com.aya.search.executor.AsyncSearchExecutor;
+import com.aya.search.executor.FacetOptions;
+import com.aya.search.executor.FanOutOptions;
+import com.aya.search.executor.SearchExecutor;
+import com.aya.search.executor.StreamOptions;
+import com.aya.search.model.AggregationModel;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.KeysetCursor;
+import com.aya.search.model.Operation;
+import com.aya.search.repository.StudentRepository;
+import com.aya.search.specification.GeneralSpecification;
+import com.aya.search.specification.JoinRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.aya.search.model.Aggregate.Function.avg;
+import static com.aya.search.model.Aggregate.Function.count;
+import static com.aya.search.model.Aggregate.Function.countDistinct;
+import static com.aya.search.model.Aggregate.Function.max;
+import static com.aya.search.model.Aggregate.Function.min;
+import static com.aya.search.model.Aggregate.Function.sum;
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+import static com.aya.search.model.FilterGroup.Filter.and;
+import static com.aya.search.model.FilterGroup.Filter.or;
+import static com.aya.search.model.SortDataModel.Sort.asc;
+import static com.aya.search.model.SortDataModel.Sort.desc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class SearchExecutorTest {
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    @DisplayName("Exists")
+    public void test1() {
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("gpa", Operation.GREATER_THAN, 3.8));
+        assertTrue(searchExecutor.exists(new GeneralSpecification<>(dataManipulationModel)));
+
+        dataManipulationModel.setCriteria(condition("gpa", Operation.GREATER_THAN, 4.0));
+        assertFalse(searchExecutor.exists(new GeneralSpecification<>(dataManipulationModel)));
+    }
+
+    @Test
+    @DisplayName("Count Up To")
+    public void test2() {
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(asc("community.teacher"));
+        dataManipulationModel.setCriteria(condition("gpa", Operation.GREATER_THAN_EQUAL, 3.8));
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        assertEquals(searchExecutor.countUpTo(studentGeneralSpecification, 3), 3);
+        assertEquals(searchExecutor.countUpTo(studentGeneralSpecification, 100), 7);
+    }
+
+    @Test
+    @DisplayName("Count Query Skips Ordering")
+    public void test3() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(asc("community.teacher"));
+        dataManipulationModel.setCriteria(condition("gpa", Operation.GREATER_THAN_EQUAL, 3.8));
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Student> root = query.from(Student.class);
+        query.select(criteriaBuilder.count(root)).where(studentGeneralSpecification.toPredicate(root, query, criteriaBuilder));
+        assertTrue(root.getJoins().isEmpty());
+        assertTrue(query.getOrderList().isEmpty());
+        assertEquals(entityManager.createQuery(query).getSingleResult(), 7L);
+    }
+
+    @Test
+    @DisplayName("Tuple Projection")
+    public void test4() {
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setProjection("id", "firstName", "community.id", "community.teacher");
+        dataManipulationModel.setSortModel(asc("id"));
+        dataManipulationModel.setCriteria(condition("gpaLetter", Operation.EQUAL, "A"));
+        List<Tuple> tuples = searchExecutor.findTuples(new GeneralSpecification<>(dataManipulationModel));
+        List<Student> students = studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel));
+        assertEquals(tuples.size(), students.size());
+        for (int i = 0; i < tuples.size(); i++) {
+            Student student = students.get(i);
+            assertEquals(tuples.get(i).get("id"), student.getId());
+            assertEquals(tuples.get(i).get("firstName"), student.getFirstName());
+            assertEquals(tuples.get(i).get("community.teacher"), student.getCommunity() == null ? null : student.getCommunity().getTeacher());
+        }
+        assertTrue(tuples.stream().anyMatch(tuple -> tuple.get("community.id") == null));
+    }
+
+    @Test
+    @DisplayName("Record Projection Page")
+    public void test5() {
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setProjection("firstName", "lastName", "gpa", "community.className");
+        dataManipulationModel.setSortModel(desc("gpa"), asc("id"));
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        Page<StudentRow> page = searchExecutor.findAll(studentGeneralSpecification, StudentRow.class, PageRequest.of(1, 5));
+        assertEquals(page.getTotalElements(), 20);
+        assertEquals(page.getContent().size(), 5);
+        List<StudentRow> rows = searchExecutor.findAll(studentGeneralSpecification, StudentRow.class);
+        assertEquals(page.getContent(), rows.subList(5, 10));
+        assertEquals(searchExecutor.count(studentGeneralSpecification), 20);
+    }
+
+    @Test
+    @DisplayName("Invalid Projection")
+    public void test6() {
+        SearchExecutor<Community> searchExecutor = new SearchExecutor<>(entityManager, Community.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setProjection("teacher", "students.firstName");
+        assertThrows(GenerateSpecificationException.class, () -> searchExecutor.findTuples(new GeneralSpecification<>(dataManipulationModel)));
+        dataManipulationModel.setProjection();
+        assertThrows(GenerateSpecificationException.class, () -> searchExecutor.findTuples(new GeneralSpecification<>(dataManipulationModel)));
+    }
+
+    @Test
+    @DisplayName("Fetch To-One Path")
+    public void test7() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("community.teacher", Operation.IS_NOT_NULL));
+
+        entityManager.clear();
+        statistics.clear();
+        assertEquals(studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel)).size(), 17);
+        assertTrue(statistics.getPrepareStatementCount() > 1);
+
+        dataManipulationModel.setFetch("community");
+        entityManager.clear();
+        statistics.clear();
+        assertEquals(studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel)).size(), 17);
+        assertEquals(statistics.getPrepareStatementCount(), 1);
+
+        Page<Student> page = studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel), PageRequest.of(1, 5));
+        assertEquals(page.getTotalElements(), 17);
+        assertEquals(page.getContent().size(), 5);
+    }
+
+    @Test
+    @DisplayName("Fetch To-Many Path")
+    public void test8() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        SearchExecutor<Community> searchExecutor = new SearchExecutor<>(entityManager, Community.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(asc("id"));
+        dataManipulationModel.setFetch("students");
+
+        entityManager.clear();
+        statistics.clear();
+        List<Community> communities = searchExecutor.findAll(new GeneralSpecification<>(dataManipulationModel));
+        assertEquals(communities.size(), 5);
+        assertEquals(statistics.getPrepareStatementCount(), 2);
+        for (Community community : communities) {
+            assertTrue(Hibernate.isInitialized(community.getStudents()));
+        }
+        assertEquals(communities.stream().mapToInt(community -> community.getStudents().size()).sum(), 17);
+
+        Page<Community> page = searchExecutor.findAll(new GeneralSpecification<>(dataManipulationModel), PageRequest.of(0, 2));
+        assertEquals(page.getTotalElements(), 5);
+        assertEquals(page.getContent().size(), 2);
+
+        dataManipulationModel.setFetch("teacher");
+        assertThrows(GenerateSpecificationException.class, () -> searchExecutor.findAll(new GeneralSpecification<>(dataManipulationModel)));
+    }
+
+    @Test
+    @DisplayName("Stream In Batches")
+    public void test9() {
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("gpa", Operation.GREATER_THAN_EQUAL, 3.5));
+        dataManipulationModel.setSortModel(asc("id"));
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        StreamOptions streamOptions = StreamOptions.builder().fetchSize(4).batchSize(3).build();
+
+        entityManager.clear();
+        List<Student> students;
+        try (Stream<Student> stream = searchExecutor.stream(studentGeneralSpecification, streamOptions)) {
+            students = stream.toList();
+        }
+        // the eager communities are detached with their students
+        assertEquals(managedEntities(), 0);
+        assertEquals(students.stream().map(Student::getId).toList(),
+                studentRepository.findAll(studentGeneralSpecification).stream().map(Student::getId).toList());
+        // every batch is detached once the next one is read
+        assertTrue(students.stream().noneMatch(entityManager::contains));
+
+        entityManager.clear();
+        try (Stream<Student> stream = searchExecutor.stream(studentGeneralSpecification, streamOptions)) {
+            assertEquals(stream.limit(2).count(), 2);
+        }
+        // the last batch is released when the stream is closed early
+        assertEquals(managedEntities(), 0);
+    }
+
+    @Test
+    @DisplayName("Stream With To-Many Fetch")
+    public void test10() {
+        SearchExecutor<Community> searchExecutor = new SearchExecutor<>(entityManager, Community.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(asc("id"));
+        dataManipulationModel.setFetch("students");
+        StreamOptions streamOptions = StreamOptions.builder().batchSize(2).build();
+
+        entityManager.clear();
+        Community managed = entityManager.find(Community.class, 1L);
+        try (Stream<Community> stream = searchExecutor.stream(new GeneralSpecification<>(dataManipulationModel), streamOptions)) {
+            List<Community> communities = stream.toList();
+            assertEquals(communities.size(), 5);
+            assertTrue(communities.stream().allMatch(community -> Hibernate.isInitialized(community.getStudents())));
+            assertEquals(communities.stream().mapToInt(community -> community.getStudents().size()).sum(), 17);
+            // the fetched students are detached with their communities, the entities managed before stay managed
+            assertTrue(communities.stream().flatMap(community -> community.getStudents().stream()).noneMatch(entityManager::contains));
+        }
+        assertTrue(entityManager.contains(managed));
+    }
+
+    @Test
+    @DisplayName("Fan Out Top-Level OR")
+    public void test11() {
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        // the branches overlap, every student is returned once
+        dataManipulationModel.setCriteria(or(
+                condition("gpa", Operation.GREATER_THAN_EQUAL, 3.5),
+                condition("firstName", Operation.STARTS_WITH, "E"),
+                condition("email", Operation.EQUAL, "john.doe@example.com")));
+        dataManipulationModel.setSortModel(desc("gpa"));
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try {
+            List<FanOutOptions> fanOutOptions = List.of(FanOutOptions.DEFAULT,
+                    FanOutOptions.builder().mode(FanOutOptions.Mode.CONCURRENT).build(),
+                    FanOutOptions.builder().mode(FanOutOptions.Mode.CONCURRENT).executor(executorService).build());
+            for (FanOutOptions options : fanOutOptions) {
+                for (int page = 0; page < 4; page++) {
+                    Page<Student> expected = studentRepository.findAll(studentGeneralSpecification,
+                            PageRequest.of(page, 3, Sort.by(Sort.Order.desc("gpa"), Sort.Order.desc("id"))));
+                    Slice<Student> slice = searchExecutor.findAllFanOut(studentGeneralSpecification, PageRequest.of(page, 3), options);
+                    assertEquals(slice.getContent().stream().map(Student::getId).toList(),
+                            expected.getContent().stream().map(Student::getId).toList());
+                    assertEquals(slice.hasNext(), expected.hasNext());
+                }
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Fan Out Without Top-Level OR")
+    public void test12() {
+        SearchExecutor<Community> searchExecutor = new SearchExecutor<>(entityManager, Community.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("className", Operation.IS_NOT_NULL));
+        dataManipulationModel.setSortModel(asc("id"));
+        dataManipulationModel.setFetch("students");
+        entityManager.clear();
+        Slice<Community> slice = searchExecutor.findAllFanOut(new GeneralSpecification<>(dataManipulationModel), PageRequest.of(1, 2),
+                FanOutOptions.DEFAULT);
+        assertEquals(slice.getContent().stream().map(Community::getId).toList(), List.of(3L, 4L));
+        assertTrue(slice.hasNext());
+        assertTrue(slice.getContent().stream().allMatch(community -> Hibernate.isInitialized(community.getStudents())));
+
+        dataManipulationModel.setCriteria(or(condition("id", Operation.EQUAL, 1L), condition("students.firstName", Operation.EQUAL, "Ayah")));
+        slice = searchExecutor.findAllFanOut(new GeneralSpecification<>(dataManipulationModel), PageRequest.of(0, 5), FanOutOptions.DEFAULT);
+        assertEquals(slice.getContent().stream().map(Community::getId).toList(), List.of(1L, 5L));
+        assertFalse(slice.hasNext());
+        assertTrue(slice.getContent().stream().allMatch(community -> Hibernate.isInitialized(community.getStudents())));
+    }
+
+    @Test
+    @DisplayName("Find Page Asynchronously")
+    public void test13() {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            AsyncSearchExecutor<Student> asyncSearchExecutor = new AsyncSearchExecutor<>(entityManager.getEntityManagerFactory(), Student.class,
+                    AsyncOptions.builder().executor(executorService).maxConcurrency(2).build());
+            DataManipulationModel dataManipulationModel = new DataManipulationModel();
+            dataManipulationModel.setCriteria(condition("gpa", Operation.GREATER_THAN_EQUAL, 3.5));
+            dataManipulationModel.setSortModel(asc("id"));
+            dataManipulationModel.setFetch("community");
+            GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+
+            Page<Student> page = asyncSearchExecutor.findAll(studentGeneralSpecification, PageRequest.of(1, 4)).join();
+            Page<Student> expected = studentRepository.findAll(studentGeneralSpecification, PageRequest.of(1, 4));
+            assertEquals(page.getContent().stream().map(Student::getId).toList(), expected.getContent().stream().map(Student::getId).toList());
+            assertEquals(page.getTotalElements(), expected.getTotalElements());
+            assertTrue(page.getContent().stream().allMatch(student -> Hibernate.isInitialized(student.getCommunity())));
+            assertEquals(asyncSearchExecutor.count(studentGeneralSpecification).join(), expected.getTotalElements());
+            assertEquals(asyncSearchExecutor.findAll(studentGeneralSpecification, Pageable.unpaged()).join().getTotalElements(),
+                    expected.getTotalElements());
+
+            dataManipulationModel.setCriteria(condition("unknown", Operation.EQUAL, 1));
+            CompletableFuture<Page<Student>> failed = asyncSearchExecutor.findAll(new GeneralSpecification<>(dataManipulationModel), PageRequest.of(0, 4));
+            CompletionException exception = assertThrows(CompletionException.class, failed::join);
+            assertTrue(exception.getCause() instanceof GenerateSpecificationException);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Cap And Cancel Asynchronous Searches")
+    public void test14() throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(6);
+        try {
+            AtomicInteger executed = new AtomicInteger();
+            Executor executor = task -> {
+                executed.incrementAndGet();
+                executorService.execute(task);
+            };
+            AsyncSearchExecutor<Student> asyncSearchExecutor = new AsyncSearchExecutor<>(entityManager.getEntityManagerFactory(), Student.class,
+                    AsyncOptions.builder().executor(executor).maxConcurrency(2).build());
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            CountDownLatch release = new CountDownLatch(1);
+            List<CompletableFuture<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(asyncSearchExecutor.submit(searchExecutor -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    return searchExecutor.count(new GeneralSpecification<>(new DataManipulationModel()));
+                }));
+            }
+            Thread.sleep(200);
+            // the searches waiting for a permit hold no thread of the executor
+            assertEquals(executed.get(), 2);
+            // the searches waiting for a permit are skipped
+            futures.get(4).cancel(true);
+            release.countDown();
+            for (int i = 0; i < 4; i++) {
+                assertEquals(futures.get(i).join(), 20);
+            }
+            assertEquals(maxRunning.get(), 2);
+            assertEquals(executed.get(), 4);
+            assertTrue(futures.get(4).isCancelled());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Count Facets")
+    public void test15() {
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("gpa", Operation.GREATER_THAN_EQUAL, 3.2));
+        dataManipulationModel.setFacet("gpaLetter", "community", "isFullTime");
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        List<Student> students = studentRepository.findAll(studentGeneralSpecification);
+        Map<String, Map<Object, Long>> expected = Map.of(
+                "gpaLetter", countBy(students, Student::getGpaLetter),
+                "community", countBy(students, student -> student.getCommunity() == null ? null : student.getCommunity().getId()),
+                "isFullTime", countBy(students, Student::isFullTime));
+
+        Map<String, Map<Object, Long>> facets = searchExecutor.findFacets(studentGeneralSpecification, FacetOptions.DEFAULT);
+        assertEquals(facets, expected);
+        assertEquals(List.copyOf(facets.keySet()), List.of("gpaLetter", "community", "isFullTime"));
+        List<Long> counts = List.copyOf(facets.get("gpaLetter").values());
+        assertEquals(counts, counts.stream().sorted(Comparator.reverseOrder()).toList());
+        assertEquals(searchExecutor.findFacets(studentGeneralSpecification, FacetOptions.builder().mode(FacetOptions.Mode.SEPARATE).build()),
+                expected);
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try {
+            AsyncSearchExecutor<Student> asyncSearchExecutor = new AsyncSearchExecutor<>(entityManager.getEntityManagerFactory(), Student.class,
+                    AsyncOptions.builder().executor(executorService).maxConcurrency(2).build());
+            assertEquals(asyncSearchExecutor.findFacets(studentGeneralSpecification, FacetOptions.DEFAULT).join(), expected);
+        } finally {
+            executorService.shutdown();
+        }
+
+        dataManipulationModel.setFacet("students");
+        assertThrows(GenerateSpecificationException.class,
+                () -> new SearchExecutor<>(entityManager, Community.class).findFacets(new GeneralSpecification<>(dataManipulationModel),
+                        FacetOptions.DEFAULT));
+    }
+
+    @Test
+    @DisplayName("Count Multi-Select Facets")
+    public void test16() {
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(and(
+                condition("gpaLetter", Operation.IN, "A", "A-"),
+                condition("isFullTime", Operation.IS_TRUE),
+                or(condition("community.id", Operation.EQUAL, 1L), condition("community", Operation.IS_NULL))));
+        dataManipulationModel.setFacet("gpaLetter", "community");
+        FacetOptions facetOptions = FacetOptions.builder().excludeOwnFilters(true).build();
+
+        DataManipulationModel withoutGpaLetter = new DataManipulationModel();
+        withoutGpaLetter.setCriteria(and(condition("isFullTime", Operation.IS_TRUE),
+                or(condition("community.id", Operation.EQUAL, 1L), condition("community", Operation.IS_NULL))));
+        DataManipulationModel withoutCommunity = new DataManipulationModel();
+        withoutCommunity.setCriteria(and(condition("gpaLetter", Operation.IN, "A", "A-"), condition("isFullTime", Operation.IS_TRUE)));
+        Map<String, Map<Object, Long>> expected = Map.of(
+                "gpaLetter", countBy(studentRepository.findAll(new GeneralSpecification<>(withoutGpaLetter)), Student::getGpaLetter),
+                "community", countBy(studentRepository.findAll(new GeneralSpecification<>(withoutCommunity)),
+                        student -> student.getCommunity() == null ? null : student.getCommunity().getId()));
+
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        assertEquals(searchExecutor.findFacets(studentGeneralSpecification, facetOptions), expected);
+        assertEquals(searchExecutor.findFacets(studentGeneralSpecification,
+                FacetOptions.builder().mode(FacetOptions.Mode.SEPARATE).excludeOwnFilters(true).build()), expected);
+        assertEquals(searchExecutor.findFacet(studentGeneralSpecification, "gpaLetter", facetOptions), expected.get("gpaLetter"));
+        // without the option the facets only count the matching students
+        assertEquals(searchExecutor.findFacet(studentGeneralSpecification, "gpaLetter", FacetOptions.DEFAULT),
+                countBy(studentRepository.findAll(studentGeneralSpecification), Student::getGpaLetter));
+    }
+
+    @Test
+    @DisplayName("Aggregate Matching Rows")
+    public void test17() {
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("gpa", Operation.GREATER_THAN_EQUAL, 3.5));
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        List<Student> students = studentRepository.findAll(studentGeneralSpecification);
+        AggregationModel aggregationModel = new AggregationModel();
+        aggregationModel.setAggregate(count(), avg("gpa"), sum("gpa"), min("gpa"), max("dateOfBirth"), countDistinct("community"),
+                count("community.teacher"));
+
+        List<Tuple> tuples = searchExecutor.aggregate(studentGeneralSpecification, aggregationModel);
+        assertEquals(tuples.size(), 1);
+        Tuple tuple = tuples.get(0);
+        assertEquals(tuple.get("count", Long.class), students.size());
+        assertEquals(tuple.get("avg(gpa)", Double.class), students.stream().mapToDouble(Student::getGpa).average().orElseThrow(), 0.0001);
+        assertEquals(tuple.get("sum(gpa)", Double.class), students.stream().mapToDouble(Student::getGpa).sum(), 0.0001);
+        assertEquals(tuple.get("min(gpa)", Double.class), students.stream().mapToDouble(Student::getGpa).min().orElseThrow(), 0.0001);
+        assertEquals(tuple.get("max(dateOfBirth)", LocalDate.class),
+                students.stream().map(Student::getDateOfBirth).max(Comparator.naturalOrder()).orElseThrow());
+        assertEquals(tuple.get("count_distinct(community)", Long.class),
+                students.stream().filter(student -> student.getCommunity() != null).map(student -> student.getCommunity().getId()).distinct().count());
+        assertEquals(tuple.get("count(community.teacher)", Long.class),
+                students.stream().filter(student -> student.getCommunity() != null && student.getCommunity().getTeacher() != null).count());
+
+        aggregationModel.setAggregate(sum("firstName"));
+        assertThrows(GenerateSpecificationException.class, () -> searchExecutor.aggregate(studentGeneralSpecification, aggregationModel));
+        aggregationModel.setAggregate(max("community.students.gpa"));
+        assertThrows(GenerateSpecificationException.class, () -> searchExecutor.aggregate(studentGeneralSpecification, aggregationModel));
+        aggregationModel.setAggregates(List.of());
+        assertThrows(GenerateSpecificationException.class, () -> searchExecutor.aggregate(studentGeneralSpecification, aggregationModel));
+    }
+
+    @Test
+    @DisplayName("Aggregate Groups")
+    public void test18() {
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("isFullTime", Operation.IS_TRUE));
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        AggregationModel aggregationModel = new AggregationModel();
+        aggregationModel.setGroupByField("community");
+        aggregationModel.setAggregate(count(), avg("gpa"));
+
+        List<Tuple> tuples = searchExecutor.aggregate(studentGeneralSpecification, aggregationModel);
+        Map<Object, Long> expected = countBy(studentRepository.findAll(studentGeneralSpecification),
+                student -> student.getCommunity() == null ? null : student.getCommunity().getId());
+        Map<Object, Long> counts = new HashMap<>();
+        tuples.forEach(tuple -> counts.put(tuple.get("community"), tuple.get("count", Long.class)));
+        assertEquals(counts, expected);
+        List<Long> communities = tuples.stream().map(tuple -> tuple.get("community", Long.class)).filter(Objects::nonNull).toList();
+        assertEquals(communities, communities.stream().sorted().toList());
+
+        dataManipulationModel.setCriteria(condition("community.id", Operation.EQUAL, 1L));
+        aggregationModel.setGroupByField("gpaLetter", "isFullTime");
+        aggregationModel.setAggregate(max("gpa"));
+        tuples = searchExecutor.aggregate(new GeneralSpecification<>(dataManipulationModel), aggregationModel);
+        // one tuple per group
+        assertEquals(tuples.size(), tuples.stream().map(tuple -> List.of(tuple.get("gpaLetter"), tuple.get("isFullTime"))).distinct().count());
+        assertTrue(tuples.stream().allMatch(tuple -> tuple.get("max(gpa)") instanceof Double));
+    }
+
+    @Test
+    @DisplayName("Cancel Unpaged Asynchronous Searches And Check Options")
+    public void test19() {
+        List<Runnable> queued = new ArrayList<>();
+        AsyncSearchExecutor<Student> asyncSearchExecutor = new AsyncSearchExecutor<>(entityManager.getEntityManagerFactory(), Student.class,
+                AsyncOptions.builder().executor(queued::add).maxConcurrency(2).build());
+        CompletableFuture<Page<Student>> page = asyncSearchExecutor.findAll(new GeneralSpecification<>(new DataManipulationModel()),
+                Pageable.unpaged());
+        page.cancel(true);
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        queued.forEach(Runnable::run);
+        // the cancelled search never runs its query
+        assertEquals(statistics.getPrepareStatementCount(), 0);
+
+        AsyncOptions otherLimit = AsyncOptions.builder().executor(queued::add).maxConcurrency(3).build();
+        assertThrows(IllegalArgumentException.class,
+                () -> new AsyncSearchExecutor<>(entityManager.getEntityManagerFactory(), Student.class, otherLimit));
+        AsyncOptions noExecutor = AsyncOptions.builder().maxConcurrency(2).build();
+        assertThrows(NullPointerException.class,
+                () -> new AsyncSearchExecutor<>(entityManager.getEntityManagerFactory(), Student.class, noExecutor));
+    }
+
+    @Test
+    @DisplayName("Aggregate Without The Cursor")
+    public void test20() {
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setSortModel(asc("gpa"));
+        dataManipulationModel.setCursor(KeysetCursor.of(3.5, 5L));
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+        AggregationModel aggregationModel = new AggregationModel();
+        aggregationModel.setAggregate(count(), min("gpa"));
+
+        // the cursor pages the rows, the aggregates cover all of them
+        Tuple tuple = searchExecutor.aggregate(studentGeneralSpecification, aggregationModel).get(0);
+        assertEquals(tuple.get("count", Long.class), 20L);
+        assertEquals(tuple.get("min(gpa)", Double.class), 3.0);
+
+        aggregationModel.setGroupByField("community.students");
+        GenerateSpecificationException exception = assertThrows(GenerateSpecificationException.class,
+                () -> searchExecutor.aggregate(studentGeneralSpecification, aggregationModel));
+        assertEquals(exception.getMessage(), "Invalid group by field community.students, it should be a path of to-one associations"
+                + " ending with a field or a to-one association.");
+    }
+
+    @Test
+    @DisplayName("Count Facets Through The Joins Of The Filter")
+    public void test21() {
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(and(condition("community.className", Operation.IS_NOT_NULL), condition("gpa", Operation.GREATER_THAN, 3.3)));
+        dataManipulationModel.setFacet("community.className", "isFullTime");
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Student> root = query.from(Student.class);
+        JoinRegistry joinRegistry = new JoinRegistry(root);
+        studentGeneralSpecification.toFilterPredicate(root, query, criteriaBuilder, null, joinRegistry);
+        joinRegistry.resolve(GeneralSpecification.getFacetPath(entityManager.getMetamodel().entity(Student.class), "community.className"),
+                JoinType.LEFT);
+        // the facet path reuses the join of the filter
+        assertEquals(root.getJoins().size(), 1);
+
+        List<Student> students = studentRepository.findAll(studentGeneralSpecification);
+        Map<String, Map<Object, Long>> expected = Map.of(
+                "community.className", countBy(students, student -> student.getCommunity().getClassName()),
+                "isFullTime", countBy(students, Student::isFullTime));
+        assertEquals(searchExecutor.findFacets(studentGeneralSpecification, FacetOptions.DEFAULT), expected);
+        assertEquals(searchExecutor.findFacets(studentGeneralSpecification, FacetOptions.builder().mode(FacetOptions.Mode.SEPARATE).build()),
+                expected);
+    }
+
+    @Test
+    @DisplayName("Reuse The Fetch Join For Criteria And Sorts")
+    public void test22() {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("community.className", Operation.IS_NOT_NULL));
+        dataManipulationModel.setSortModel(asc("community.className"), asc("id"));
+        dataManipulationModel.setFetch("community");
+        GeneralSpecification<Student> studentGeneralSpecification = new GeneralSpecification<>(dataManipulationModel);
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = criteriaBuilder.createQuery(Student.class);
+        Root<Student> root = query.from(Student.class);
+        query.where(studentGeneralSpecification.toPredicate(root, query, criteriaBuilder));
+        // the criteria and the sort field reuse the fetch join instead of joining the association again
+        assertEquals(root.getFetches().size(), 1);
+        assertEquals(root.getJoins().size(), 0);
+
+        List<Student> students = entityManager.createQuery(query).getResultList();
+        assertEquals(students.size(), 17);
+        for (Student student : students) {
+            assertTrue(Hibernate.isInitialized(student.getCommunity()));
+        }
+    }
+
+    @Test
+    @DisplayName("Count The Total Of Keyset Pages Without The Cursor")
+    public void test23() {
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(condition("community", Operation.IS_NOT_NULL));
+        dataManipulationModel.setSortModel(desc("gpa"));
+        dataManipulationModel.setCursor(KeysetCursor.first());
+        List<Integer> sizes = new ArrayList<>();
+        Page<Student> page;
+        do {
+            page = searchExecutor.findAll(new GeneralSpecification<>(dataManipulationModel), PageRequest.of(0, 6));
+            assertEquals(page.getTotalElements(), 17);
+            assertEquals(searchExecutor.count(new GeneralSpecification<>(dataManipulationModel)), 17);
+            assertEquals(studentRepository.count(new GeneralSpecification<>(dataManipulationModel)), 17);
+            sizes.add(page.getNumberOfElements());
+            if (page.hasContent()) {
+                dataManipulationModel.setCursor(KeysetCursor.after(page.getContent().get(page.getNumberOfElements() - 1), dataManipulationModel));
+            }
+        } while (page.getNumberOfElements() == 6);
+        assertEquals(sizes, List.of(6, 6, 5));
+    }
+
+    private long managedEntities() {
+        return entityManager.unwrap(SessionImplementor.class).getPersistenceContextInternal().getNumberOfManagedEntities();
+    }
+
+    private static Map<Object, Long> countBy(final List<Student> students, final Function<Student, Object> value) {
+        Map<Object, Long> counts = new HashMap<>();
+        students.forEach(student -> counts.merge(value.apply(student), 1L, Long::sum));
+        return counts;
+    }
+
+    record StudentRow(String firstName, String lastName, double gpa, String className) {
+    }
+}
@@ -0,0 +1,183 @@
+package com.aya.search;
+
+import com.aya.search.entity.Community;
+import com.aya.search.entity.Student;
+import com.aya.search.exception.GenerateSpecificationException;
+import com.aya.search.executor.SearchExecutor;
+import com.aya.search.model.Aggregate;
+import com.aya.search.model.AggregationModel;
+import com.aya.search.model.DataManipulationModel;
+import com.aya.search.model.Filter;
+import com.aya.search.model.Operation;
+import com.aya.search.repository.StudentRepository;
+import com.aya.search.schema.SchemaOptions;
+import com.aya.search.schema.SchemaPath;
+import com.aya.search.schema.SearchSchema;
+import com.aya.search.specification.GeneralSpecification;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.aya.search.model.Aggregate.Function.avg;
+import static com.aya.search.model.Aggregate.Function.count;
+import static com.aya.search.model.Aggregate.Function.max;
+import static com.aya.search.model.Aggregate.Function.sum;
+import static com.aya.search.model.CollectionFilter.Elements.any;
+import static com.aya.search.model.FilterCriteria.Condition.condition;
+import static com.aya.search.model.FilterGroup.Filter.and;
+import static com.aya.search.model.SortDataModel.Sort.asc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class SearchSchemaTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    @DisplayName("List Searchable Paths")
+    public void test1() {
+        SearchSchema searchSchema = SearchSchema.of(entityManager.getMetamodel(), SchemaOptions.DEFAULT);
+        assertEquals(searchSchema.getEntities(), Set.of(Student.class, Community.class));
+
+        SchemaPath className = searchSchema.getPath(Student.class, "community.className");
+        assertEquals(className.getJavaType(), String.class);
+        assertTrue(className.isSortable());
+        assertTrue(className.getOperations().contains(Operation.LIKE));
+
+        SchemaPath gpa = searchSchema.getPath(Student.class, "gpa");
+        assertEquals(gpa.getJavaType(), Double.class);
+        assertTrue(gpa.getOperations().contains(Operation.BETWEEN));
+        assertFalse(gpa.getOperations().contains(Operation.LIKE));
+        assertTrue(searchSchema.getPath(Student.class, "isFullTime").getOperations().contains(Operation.IS_TRUE));
+
+        SchemaPath community = searchSchema.getPath(Student.class, "community");
+        assertTrue(community.isAssociation());
+        assertEquals(community.getOperations(), Set.of(Operation.IS_NULL, Operation.IS_NOT_NULL));
+
+        SchemaPath students = searchSchema.getPath(Community.class, "students");
+        assertTrue(students.isCollection());
+        assertTrue(students.getOperations().isEmpty());
+        SchemaPath studentsGpa = searchSchema.getPath(Student.class, "community.students.gpa");
+        assertTrue(studentsGpa.isToMany());
+        assertFalse(studentsGpa.isSortable());
+        assertNull(searchSchema.getPath(Student.class, "community.students.community.id"));
+
+        SearchSchema shallowSchema = SearchSchema.of(entityManager.getMetamodel(),
+                SchemaOptions.builder().maxDepth(1).includeCollections(false).build());
+        assertNull(shallowSchema.getPath(Student.class, "community.className"));
+        assertNull(shallowSchema.getPath(Community.class, "students"));
+        assertTrue(shallowSchema.getPaths(Community.class).containsKey("className"));
+    }
+
+    @Test
+    @DisplayName("Validate Models")
+    public void test2() {
+        SearchSchema searchSchema = SearchSchema.of(entityManager.getMetamodel(), SchemaOptions.DEFAULT);
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(and(
+                condition("community.id", Operation.EQUAL, 1),
+                condition("gpa", Operation.GREATER_THAN, "2.5"),
+                condition("isFullTime", Operation.IS_NOT_NULL)));
+        dataManipulationModel.setSortModel(asc("id"));
+        dataManipulationModel.setFetch("community");
+        dataManipulationModel.setFacet("community.className");
+        searchSchema.validate(Student.class, dataManipulationModel);
+        assertEquals(studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel, searchSchema)),
+                studentRepository.findAll(new GeneralSpecification<>(dataManipulationModel)));
+
+        DataManipulationModel communityModel = new DataManipulationModel();
+        communityModel.setCriteria(any("students", condition("gpa", Operation.GREATER_THAN, 3.5)));
+        searchSchema.validate(Community.class, communityModel);
+    }
+
+    @Test
+    @DisplayName("Reject Invalid Models")
+    public void test3() {
+        SearchSchema searchSchema = SearchSchema.of(entityManager.getMetamodel(), SchemaOptions.DEFAULT);
+        List<DataManipulationModel> invalidModels = List.of(
+                criteria(condition("unknown", Operation.EQUAL, 1)),
+                criteria(condition("gpa", Operation.LIKE, "%3%")),
+                criteria(condition("gpa", Operation.EQUAL, "abc")),
+                criteria(condition("community.students.community.id", Operation.EQUAL, 1)),
+                criteria(any("community", condition("className", Operation.EQUAL, "9th A"))));
+        for (DataManipulationModel dataManipulationModel : invalidModels) {
+            assertThrows(GenerateSpecificationException.class, () -> searchSchema.validate(Student.class, dataManipulationModel));
+            GeneralSpecification<Student> specification = new GeneralSpecification<>(dataManipulationModel, searchSchema);
+            assertThrows(GenerateSpecificationException.class, () -> studentRepository.findAll(specification));
+        }
+
+        DataManipulationModel sortModel = new DataManipulationModel();
+        sortModel.setSortModel(asc("community.students.gpa"));
+        assertThrows(GenerateSpecificationException.class, () -> searchSchema.validate(Student.class, sortModel));
+        DataManipulationModel fetchModel = new DataManipulationModel();
+        fetchModel.setFetch("gpa");
+        assertThrows(GenerateSpecificationException.class, () -> searchSchema.validate(Student.class, fetchModel));
+        assertThrows(GenerateSpecificationException.class, () -> searchSchema.validate(String.class, new DataManipulationModel()));
+
+        SearchSchema restrictedSchema = SearchSchema.of(entityManager.getMetamodel(),
+                SchemaOptions.builder().excludedPath(Student.class, "community").build());
+        assertNull(restrictedSchema.getPath(Student.class, "community.className"));
+        assertTrue(restrictedSchema.getPaths(Community.class).containsKey("students.gpa"));
+        DataManipulationModel dataManipulationModel = criteria(condition("community.className", Operation.EQUAL, "9th A"));
+        searchSchema.validate(Student.class, dataManipulationModel);
+        assertThrows(GenerateSpecificationException.class, () -> restrictedSchema.validate(Student.class, dataManipulationModel));
+    }
+
+    @Test
+    @DisplayName("Validate Aggregation Models")
+    public void test4() {
+        SearchSchema searchSchema = SearchSchema.of(entityManager.getMetamodel(), SchemaOptions.DEFAULT);
+        SearchExecutor<Student> searchExecutor = new SearchExecutor<>(entityManager, Student.class);
+        GeneralSpecification<Student> specification = new GeneralSpecification<>(new DataManipulationModel(), searchSchema);
+        AggregationModel aggregationModel = aggregation(List.of("community.className"), avg("gpa"), max("dateOfBirth"), count());
+        searchSchema.validate(Student.class, aggregationModel);
+        assertEquals(searchExecutor.aggregate(specification, aggregationModel).size(), 6);
+
+        List<AggregationModel> invalidModels = List.of(
+                aggregation(List.of("community.students.gpa"), count()),
+                aggregation(List.of("unknown"), count()),
+                aggregation(List.of(), avg("firstName")),
+                aggregation(List.of(), sum("community")),
+                aggregation(List.of(), max("community.students.gpa")),
+                aggregation(List.of(), sum(null)));
+        for (AggregationModel invalidModel : invalidModels) {
+            assertThrows(GenerateSpecificationException.class, () -> searchSchema.validate(Student.class, invalidModel));
+            assertThrows(GenerateSpecificationException.class, () -> searchExecutor.aggregate(specification, invalidModel));
+        }
+
+        // paths excluded or beyond the depth can not be joined through an aggregation
+        SearchSchema restrictedSchema = SearchSchema.of(entityManager.getMetamodel(),
+                SchemaOptions.builder().maxDepth(1).build());
+        GeneralSpecification<Student> restrictedSpecification = new GeneralSpecification<>(new DataManipulationModel(), restrictedSchema);
+        assertThrows(GenerateSpecificationException.class, () -> searchExecutor.aggregate(restrictedSpecification, aggregationModel));
+        assertThrows(GenerateSpecificationException.class, () -> searchExecutor.aggregate(restrictedSpecification,
+                aggregation(List.of(), max("community.className"))));
+        assertEquals(searchExecutor.aggregate(restrictedSpecification, aggregation(List.of("community"), count())).size(), 6);
+    }
+
+    private static AggregationModel aggregation(final List<String> groupByFields, final Aggregate... aggregates) {
+        AggregationModel aggregationModel = new AggregationModel();
+        aggregationModel.setGroupByFields(groupByFields);
+        aggregationModel.setAggregate(aggregates);
+        return aggregationModel;
+    }
+
+    private static DataManipulationModel criteria(final Filter filter) {
+        DataManipulationModel dataManipulationModel = new DataManipulationModel();
+        dataManipulationModel.setCriteria(filter);
+        return dataManipulationModel;
+    }
+}